@@ -0,0 +1,51 @@
+package it.alesc.adaptiveconsistency.benchmark;
+
+import com.google.gson.Gson;
+import it.alesc.adaptiveconsistency.generator.ProblemGenerator;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+@UtilityClass
+public class BenchmarkProblems {
+    private static final String SHIPPED_PROBLEM = "/problem.json";
+    private static final double TIGHTNESS = 0.4;
+
+    /**
+     * Generates a problem which constraint graph has induced width at most the given one along
+     * its variable ordering.
+     *
+     * @param variableCount the number of variables
+     * @param domainSize the size of the domain of every variable
+     * @param density the probability of a constraint between two close variables
+     * @param inducedWidth the maximum number of previous variables a variable is constrained with
+     * @param seed the seed of the random generator
+     * @return the generated problem
+     * @see ProblemGenerator#banded
+     */
+    public static ProblemSpecification generate(int variableCount, int domainSize, double density,
+                                                int inducedWidth, long seed) {
+        return ProblemGenerator.banded(variableCount, domainSize, density, inducedWidth, TIGHTNESS, seed);
+    }
+
+    /**
+     * Reads the problem shipped with the solver.
+     *
+     * @return the shipped problem
+     */
+    public static ProblemSpecification shipped() {
+        try (Reader reader = new InputStreamReader(
+                Objects.requireNonNull(BenchmarkProblems.class.getResourceAsStream(SHIPPED_PROBLEM)),
+                StandardCharsets.UTF_8)) {
+            return new Gson().fromJson(reader, ProblemSpecification.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
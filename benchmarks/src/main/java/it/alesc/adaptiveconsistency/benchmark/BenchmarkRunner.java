@@ -0,0 +1,25 @@
+package it.alesc.adaptiveconsistency.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * It runs the benchmarks with the gc profiler enabled, so that the allocation rate
+ * is reported together with the throughput. It accepts the JMH command line options.
+ */
+public class BenchmarkRunner {
+    private static final String LOGBACK_CONFIGURATION = "-Dlogback.configurationFile=logback-benchmark.xml";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        final var options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend(LOGBACK_CONFIGURATION)
+                .build();
+        new Runner(options).run();
+    }
+}
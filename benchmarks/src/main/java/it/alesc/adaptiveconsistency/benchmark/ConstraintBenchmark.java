@@ -0,0 +1,44 @@
+package it.alesc.adaptiveconsistency.benchmark;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.Variable;
+import it.alesc.adaptiveconsistency.specification.Operator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * It measures the computation of the tuples of a constraint built from an operator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConstraintBenchmark {
+    @Param({"5", "20", "80"})
+    public int domainSize;
+    @Param({"EQUALS", "NOT_EQUALS"})
+    public Operator operator;
+
+    private Set<Variable> variables;
+    private List<String> constraintVariables;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var domain = new LinkedHashSet<String>();
+        IntStream.range(0, domainSize).forEach(i -> domain.add("v" + i));
+        variables = Set.of(new Variable("x", domain), new Variable("y", domain));
+        constraintVariables = List.of("x", "y");
+    }
+
+    @Benchmark
+    public Constraint computeTuples() {
+        return new Constraint(constraintVariables, variables, operator);
+    }
+}
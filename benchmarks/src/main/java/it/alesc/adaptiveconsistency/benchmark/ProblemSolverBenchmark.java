@@ -0,0 +1,86 @@
+package it.alesc.adaptiveconsistency.benchmark;
+
+import it.alesc.adaptiveconsistency.logic.ProblemSolver;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.csp.BucketElimination;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.logic.csp.Utils;
+import it.alesc.adaptiveconsistency.logic.csp.Variable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * It measures the hot paths of the solver on generated problems of increasing domain size,
+ * constraint density and induced width, through the public API of the solver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProblemSolverBenchmark {
+    private static final long SEED = 42L;
+
+    @Param({"12"})
+    public int variableCount;
+    @Param({"3", "5"})
+    public int domainSize;
+    @Param({"0.3", "0.7"})
+    public double density;
+    @Param({"2", "3", "4"})
+    public int inducedWidth;
+
+    private StartInformation startInformation;
+    private Variable bucketVariable;
+    private List<Variable> bucketParents;
+    private List<Constraint> bucketConstraints;
+    private CSPResolutionTracker solvedTracker;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        startInformation = StartInformation.buildStartInformation(
+                BenchmarkProblems.generate(variableCount, domainSize, density, inducedWidth, SEED));
+        final List<String> order = startInformation.variableOrder();
+        final String lastName = order.get(order.size() - 1);
+
+        // the bucket of the last variable, which is the first one processed by the solver
+        bucketConstraints = startInformation.constraints().stream()
+                .filter(constraint -> constraint.getVariables().contains(lastName))
+                .toList();
+        bucketVariable = variable(lastName);
+        bucketParents = order.stream()
+                .filter(name -> !name.equals(lastName) && bucketConstraints.stream()
+                        .anyMatch(constraint -> constraint.getVariables().contains(name)))
+                .map(this::variable)
+                .toList();
+
+        // the resolution of the problem, whose solution is extracted again from its last CSP
+        solvedTracker = ProblemSolver.solveProblem(startInformation);
+    }
+
+    @Benchmark
+    public CSPResolutionTracker solveProblem(RelationSizeCounters counters) {
+        final CSPResolutionTracker tracker = ProblemSolver.solveProblem(startInformation);
+        counters.record(tracker);
+        return tracker;
+    }
+
+    @Benchmark
+    public BucketElimination eliminateBucket() {
+        return ProblemSolver.eliminate(bucketVariable, bucketParents, bucketConstraints, SolverControl.unbounded());
+    }
+
+    @Benchmark
+    public CSPResolutionTracker extractSolution() {
+        return ProblemSolver.completeResolution(solvedTracker, SolverControl.unbounded());
+    }
+
+    private Variable variable(String name) {
+        return Utils.getVariableFromName(name, startInformation.variables()).orElseThrow();
+    }
+}
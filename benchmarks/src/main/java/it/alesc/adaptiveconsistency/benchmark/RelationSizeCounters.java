@@ -0,0 +1,27 @@
+package it.alesc.adaptiveconsistency.benchmark;
+
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The secondary results of the resolution benchmarks: the peak size of the relations
+ * computed by the solver in the iteration.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class RelationSizeCounters {
+    public long peakRelationSize;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        peakRelationSize = 0L;
+    }
+
+    public void record(CSPResolutionTracker tracker) {
+        peakRelationSize = Math.max(peakRelationSize, tracker.metrics().getPeakRelationSize());
+    }
+}
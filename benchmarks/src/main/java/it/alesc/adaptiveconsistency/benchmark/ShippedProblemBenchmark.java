@@ -0,0 +1,33 @@
+package it.alesc.adaptiveconsistency.benchmark;
+
+import it.alesc.adaptiveconsistency.logic.ProblemSolver;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * It measures the resolution of the problem shipped with the solver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShippedProblemBenchmark {
+    private StartInformation startInformation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        startInformation = StartInformation.buildStartInformation(BenchmarkProblems.shipped());
+    }
+
+    @Benchmark
+    public CSPResolutionTracker solveProblem(RelationSizeCounters counters) {
+        final CSPResolutionTracker tracker = ProblemSolver.solveProblem(startInformation);
+        counters.record(tracker);
+        return tracker;
+    }
+}
@@ -0,0 +1,47 @@
+package it.alesc.adaptiveconsistency;
+
+import it.alesc.adaptiveconsistency.distributed.BucketCoordinator;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.logic.validation.ProblemSpecificationValidator;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecificationIO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * It contains the main method of the coordinator of the distributed resolution.
+ */
+@Slf4j
+public class AdaptiveConsistencyCoordinator {
+
+	/**
+	 * @param args
+	 *            the path of the JSON problem specification followed by the workers,
+	 *            in the form <code>host:port</code>
+	 * @throws IOException if the problem cannot be read or solved
+	 */
+	public static void main(String[] args) throws IOException {
+		final ProblemSpecification specification = ProblemSpecificationIO.readJson(Path.of(args[0]));
+		final var validation = ProblemSpecificationValidator.validate(specification);
+		if (validation.isInvalid()) {
+			log.error("Invalid problem specification: {}", validation.getError().asJava());
+			System.exit(1);
+		}
+		final List<InetSocketAddress> workers = Arrays.stream(args).skip(1)
+				.map(worker -> worker.split(":", 2))
+				.map(hostAndPort -> new InetSocketAddress(hostAndPort[0], Integer.parseInt(hostAndPort[1])))
+				.toList();
+		final CSPResolutionTracker tracker = new BucketCoordinator(workers)
+				.solve(StartInformation.buildStartInformation(specification), SolverControl.unbounded());
+		log.info("Resolution {} - has solution: {} - solution: {}",
+				tracker.status(), tracker.hasSolution(), tracker.solution());
+	}
+
+}
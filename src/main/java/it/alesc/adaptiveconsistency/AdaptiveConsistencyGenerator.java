@@ -0,0 +1,89 @@
+package it.alesc.adaptiveconsistency;
+
+import it.alesc.adaptiveconsistency.generator.OrderingStrategy;
+import it.alesc.adaptiveconsistency.generator.ProblemGenerator;
+import it.alesc.adaptiveconsistency.logic.ordering.ConstraintGraph;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecificationIO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * It contains the main method of the problem generator. The arguments are in the form
+ * <code>name=value</code>:
+ * <ul>
+ *     <li><code>type</code>: random, colouring, queens, grid, tree or banded</li>
+ *     <li><code>n</code>, <code>d</code>, <code>density</code>, <code>tightness</code>, <code>rows</code>,
+ *     <code>columns</code>, <code>width</code>: the parameters of the type</li>
+ *     <li><code>seed</code>: the seed of the random generator (default 0)</li>
+ *     <li><code>ordering</code>: the name of an {@link OrderingStrategy} (default NATURAL)</li>
+ *     <li><code>format</code>: json or binary (default json)</li>
+ *     <li><code>output</code>: the path of the generated file</li>
+ * </ul>
+ */
+@Slf4j
+public class AdaptiveConsistencyGenerator {
+
+	/**
+	 * @param args
+	 *            arguments for the main method
+	 * @throws IOException if the generated file cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		final Map<String, String> arguments = Arrays.stream(args)
+				.map(argument -> argument.split("=", 2))
+				.collect(Collectors.toMap(pair -> pair[0], pair -> pair.length > 1 ? pair[1] : ""));
+		final long seed = Long.parseLong(arguments.getOrDefault("seed", "0"));
+
+		final ProblemSpecification generated = switch (arguments.getOrDefault("type", "random")) {
+			case "random" -> ProblemGenerator.randomBinary(intArgument(arguments, "n"), intArgument(arguments, "d"),
+					doubleArgument(arguments, "density"), doubleArgument(arguments, "tightness"), seed);
+			case "colouring" -> ProblemGenerator.graphColouring(intArgument(arguments, "n"), intArgument(arguments, "d"),
+					doubleArgument(arguments, "density"), seed);
+			case "queens" -> ProblemGenerator.queens(intArgument(arguments, "n"));
+			case "grid" -> ProblemGenerator.grid(intArgument(arguments, "rows"), intArgument(arguments, "columns"),
+					intArgument(arguments, "d"), doubleArgument(arguments, "tightness"), seed);
+			case "tree" -> ProblemGenerator.tree(intArgument(arguments, "n"), intArgument(arguments, "d"),
+					doubleArgument(arguments, "tightness"), seed);
+			case "banded" -> ProblemGenerator.banded(intArgument(arguments, "n"), intArgument(arguments, "d"),
+					doubleArgument(arguments, "density"), intArgument(arguments, "width"),
+					doubleArgument(arguments, "tightness"), seed);
+			default -> throw new IllegalArgumentException("Unknown problem type " + arguments.get("type"));
+		};
+		final OrderingStrategy ordering = OrderingStrategy.valueOf(
+				arguments.getOrDefault("ordering", OrderingStrategy.NATURAL.name()).toUpperCase(Locale.ROOT));
+		final ProblemSpecification specification = ProblemGenerator.withOrdering(generated, ordering, seed);
+
+		final Path output = Path.of(requiredArgument(arguments, "output"));
+		if ("binary".equals(arguments.getOrDefault("format", "json"))) {
+			ProblemSpecificationIO.writeBinary(specification, output);
+		} else {
+			ProblemSpecificationIO.writeJson(specification, output);
+		}
+		log.info("Generated {} variables and {} constraints in {} - induced width of the {} ordering: {}",
+				specification.getVariables().size(), specification.getConstraints().size(), output,
+				ordering, ConstraintGraph.of(specification).inducedWidth(specification.getVariableOrder()));
+	}
+
+	private static String requiredArgument(Map<String, String> arguments, String name) {
+		final String value = arguments.get(name);
+		if (value == null) {
+			throw new IllegalArgumentException("Missing argument " + name);
+		}
+		return value;
+	}
+
+	private static int intArgument(Map<String, String> arguments, String name) {
+		return Integer.parseInt(requiredArgument(arguments, name));
+	}
+
+	private static double doubleArgument(Map<String, String> arguments, String name) {
+		return Double.parseDouble(requiredArgument(arguments, name));
+	}
+}
@@ -0,0 +1,32 @@
+package it.alesc.adaptiveconsistency;
+
+import it.alesc.adaptiveconsistency.server.SolveServer;
+import it.alesc.adaptiveconsistency.server.SolveServerConfiguration;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * It contains the main method of the headless solve server.
+ */
+public class AdaptiveConsistencyServer {
+
+	/**
+	 * @param args
+	 *            the optional port of the server, the maximum number of concurrent
+	 *            resolutions, the maximum queue length and the request deadline in seconds
+	 * @throws IOException if the server cannot be started
+	 */
+	public static void main(String[] args) throws IOException {
+		final SolveServerConfiguration defaults = SolveServerConfiguration.defaults();
+		final var configuration = new SolveServerConfiguration(defaults.host(),
+				args.length > 0 ? Integer.parseInt(args[0]) : defaults.port(),
+				args.length > 1 ? Integer.parseInt(args[1]) : defaults.maxConcurrentSolves(),
+				args.length > 2 ? Integer.parseInt(args[2]) : defaults.maxQueueLength(),
+				args.length > 3 ? Duration.ofSeconds(Long.parseLong(args[3])) : defaults.requestDeadline());
+		final var server = new SolveServer(configuration);
+		server.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(Duration.ofSeconds(5))));
+	}
+
+}
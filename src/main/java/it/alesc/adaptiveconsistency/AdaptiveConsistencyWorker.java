@@ -0,0 +1,36 @@
+package it.alesc.adaptiveconsistency;
+
+import it.alesc.adaptiveconsistency.distributed.BucketWorker;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetAddress;
+
+/**
+ * It contains the main method of a worker of the distributed resolution.
+ */
+@Slf4j
+public class AdaptiveConsistencyWorker {
+
+	/**
+	 * @param args
+	 *            the port of the worker and, optionally, the address to listen on
+	 *            (default the loopback address)
+	 * @throws IOException if the worker cannot be started
+	 * @throws InterruptedException if the main thread is interrupted
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		final int port = Integer.parseInt(args[0]);
+		final InetAddress address = args.length > 1 ? InetAddress.getByName(args[1]) : InetAddress.getLoopbackAddress();
+		final BucketWorker worker = BucketWorker.start(address, port);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				worker.close();
+			} catch (IOException e) {
+				log.warn("{} - worker on port {} not closed", "shutdown", port, e);
+			}
+		}));
+		worker.awaitClose();
+	}
+
+}
@@ -0,0 +1,234 @@
+package it.alesc.adaptiveconsistency.distributed;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.alesc.adaptiveconsistency.logic.ProblemSolver;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.codec.CSPDecoder;
+import it.alesc.adaptiveconsistency.logic.codec.CSPEncoder;
+import it.alesc.adaptiveconsistency.logic.csp.*;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * It solves problems processing their buckets on {@link BucketWorker}s. Every worker
+ * receives a bucket as soon as the buckets sending it their projections are processed,
+ * together with the constraints of the bucket only. The projections collected from the
+ * workers are then added to the CSP in the order of the sequential solver, which also
+ * extracts the solution, so the result is the tracker of a sequential resolution without
+ * trace. Every bucket is sent with the time left before the deadline, and the connections
+ * are closed when the resolution stops, so the workers stop processing its buckets too.
+ */
+@Slf4j
+public class BucketCoordinator {
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+    private static final long POLL_MILLIS = 50;
+
+    private final List<InetSocketAddress> workers;
+
+    public BucketCoordinator(List<InetSocketAddress> workers) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("At least a worker is required");
+        }
+        this.workers = List.copyOf(workers);
+    }
+
+    /**
+     * Solves the problem on the workers.
+     *
+     * @param startInformation the problem to solve
+     * @param control the deadline and the cancellation of the resolution
+     * @return the tracker of the resolution
+     * @throws IOException if no worker is reachable or a worker fails to process a bucket
+     */
+    public CSPResolutionTracker solve(StartInformation startInformation, SolverControl control) throws IOException {
+        if (startInformation.toCSP().notSatisfiable()) {
+            return ProblemSolver.solveProblem(startInformation, control);
+        }
+
+        final var run = new Run(startInformation, EliminationSchedule.of(startInformation));
+        final ExecutorService connections = Executors.newFixedThreadPool(workers.size(),
+                new ThreadFactoryBuilder().setNameFormat("bucket-coordinator-%d").setDaemon(true).build());
+        workers.forEach(worker -> connections.execute(() -> run.serve(worker, control)));
+        try {
+            final Optional<ResolutionStatus> stopStatus = run.await(control);
+            final List<String> processed = new ArrayList<>();
+            for (String variableName : run.schedule.eliminationOrder()) {
+                if (!run.results.containsKey(variableName)) {
+                    break;
+                }
+                processed.add(variableName);
+            }
+            final String emptyBucket = run.emptyBucket;
+            if (emptyBucket != null && !processed.contains(emptyBucket)) {
+                // the buckets processed before it in the ordering are not all done, but the problem has no solution
+                processed.add(emptyBucket);
+            }
+            final CSPResolutionTracker tracker = ProblemSolver.applyEliminations(
+                    new CSPResolutionTracker(startInformation, true), processed, run.results);
+            if (stopStatus.isPresent() && emptyBucket == null) {
+                log.info("{} - resolution {} after {} steps", "solve", stopStatus.get(), tracker.lastStepIndex());
+                tracker.metrics().recordResolution();
+                return tracker.withStatus(stopStatus.get());
+            }
+            return ProblemSolver.completeResolution(tracker, control);
+        } finally {
+            run.closeConnections();
+            connections.shutdownNow();
+        }
+    }
+
+    /*
+     * The state of a distributed resolution, shared by the threads of the connections.
+     */
+    private final class Run {
+        private final EliminationSchedule schedule;
+        private final Map<String, Variable> variables;
+        private final BlockingQueue<String> ready = new LinkedBlockingQueue<>();
+        private final Map<String, List<Constraint>> received = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> pendingChildren = new HashMap<>();
+        private final Map<String, BucketElimination> results = new ConcurrentHashMap<>();
+        private final AtomicInteger remainingBuckets;
+        private final AtomicInteger liveConnections = new AtomicInteger(workers.size());
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+        private volatile String emptyBucket;
+
+        private Run(StartInformation startInformation, EliminationSchedule schedule) {
+            this.schedule = schedule;
+            this.variables = startInformation.variables().stream()
+                    .collect(Collectors.toMap(Variable::getName, Function.identity()));
+            this.remainingBuckets = new AtomicInteger(schedule.eliminationOrder().size());
+            schedule.eliminationOrder().forEach(name -> {
+                received.put(name, Collections.synchronizedList(new ArrayList<>()));
+                pendingChildren.put(name, new AtomicInteger(schedule.children().get(name)));
+                if (schedule.children().get(name) == 0) {
+                    ready.add(name);
+                }
+            });
+            if (schedule.eliminationOrder().isEmpty()) {
+                done.complete(null);
+            }
+        }
+
+        /*
+         * Waits for every bucket to be processed or for the control to stop the resolution.
+         */
+        private Optional<ResolutionStatus> await(SolverControl control) throws IOException {
+            while (true) {
+                try {
+                    done.get(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    return Optional.empty();
+                } catch (TimeoutException e) {
+                    final Optional<ResolutionStatus> stopStatus = control.stopStatus();
+                    if (stopStatus.isPresent()) {
+                        done.cancel(false);
+                        return stopStatus;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    done.cancel(false);
+                    return Optional.of(ResolutionStatus.CANCELLED);
+                } catch (ExecutionException e) {
+                    throw new IOException("Distributed resolution failed", e.getCause());
+                }
+            }
+        }
+
+        private void serve(InetSocketAddress worker, SolverControl control) {
+            final String methodName = "serve";
+            String current = null;
+            try (var socket = new Socket()) {
+                socket.connect(worker, CONNECT_TIMEOUT_MILLIS);
+                sockets.add(socket);
+                socket.setTcpNoDelay(true);
+                final var output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                final var input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                final var encoder = new CSPEncoder();
+                final var decoder = new CSPDecoder();
+                output.writeInt(BucketProtocol.PROTOCOL_VERSION);
+                while (!done.isDone()) {
+                    current = ready.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (current == null) {
+                        continue;
+                    }
+                    BucketProtocol.writeTask(output, encoder, task(current, control));
+                    final byte type = input.readByte();
+                    if (type != BucketProtocol.RESULT) {
+                        done.completeExceptionally(new IOException("Bucket of " + current + " not processed by "
+                                + worker + ": " + (type == BucketProtocol.FAILURE ? input.readUTF() : type)));
+                        return;
+                    }
+                    complete(current, BucketProtocol.readResult(input, decoder));
+                    current = null;
+                }
+                output.writeByte(BucketProtocol.CLOSE);
+                output.flush();
+            } catch (IOException e) {
+                if (done.isDone()) {
+                    return;
+                }
+                log.warn("{} - connection with worker {} failed", methodName, worker, e);
+                if (current != null) {
+                    ready.add(current);
+                }
+                if (liveConnections.decrementAndGet() == 0) {
+                    done.completeExceptionally(new IOException("No worker available", e));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /*
+         * Closes the connections, so the threads waiting for a worker stop when the
+         * resolution ends before their bucket is processed, and so do the workers.
+         */
+        private void closeConnections() {
+            for (Socket socket : sockets) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    log.debug("{} - connection not closed", "closeConnections", e);
+                }
+            }
+        }
+
+        private BucketTask task(String variableName, SolverControl control) {
+            final List<Constraint> constraints = new ArrayList<>(schedule.constraints().get(variableName));
+            constraints.addAll(received.get(variableName));
+            final List<Variable> parents = schedule.parents().get(variableName).stream().map(variables::get).toList();
+            return new BucketTask(variables.get(variableName), parents, constraints,
+                    control.remaining().orElse(null));
+        }
+
+        private void complete(String variableName, BucketElimination elimination) {
+            results.put(variableName, elimination);
+            received.remove(variableName);
+            if (elimination.projection().getCompTuples().isEmpty()) {
+                log.info("{} - empty projection of {}, the problem has no solution", "complete", variableName);
+                emptyBucket = variableName;
+                done.complete(null);
+                return;
+            }
+            final String target = schedule.targets().get(variableName);
+            if (target != null) {
+                received.get(target).add(elimination.projection());
+                if (pendingChildren.get(target).decrementAndGet() == 0) {
+                    ready.add(target);
+                }
+            }
+            log.debug("{} - bucket of {} processed", "complete", variableName);
+            if (remainingBuckets.decrementAndGet() == 0) {
+                done.complete(null);
+            }
+        }
+    }
+}
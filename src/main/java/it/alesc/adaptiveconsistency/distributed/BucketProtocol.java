@@ -0,0 +1,84 @@
+package it.alesc.adaptiveconsistency.distributed;
+
+import it.alesc.adaptiveconsistency.logic.codec.CSPDecoder;
+import it.alesc.adaptiveconsistency.logic.codec.CSPEncoder;
+import it.alesc.adaptiveconsistency.logic.csp.BucketElimination;
+import it.alesc.adaptiveconsistency.logic.csp.BucketMetrics;
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.Variable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static it.alesc.adaptiveconsistency.logic.codec.CSPDecoder.readVarInt;
+import static it.alesc.adaptiveconsistency.logic.codec.CSPEncoder.writeVarInt;
+
+/*
+ * The messages exchanged by the coordinator and a worker on a connection. The coordinator
+ * sends a task and waits for its result, so every message is a type followed by its content;
+ * the strings are interned for the whole connection by the codec. A task carries the time left
+ * before the deadline in nanoseconds, negative without deadline.
+ */
+final class BucketProtocol {
+    static final int PROTOCOL_VERSION = 2;
+    static final byte TASK = 1;
+    static final byte RESULT = 2;
+    static final byte FAILURE = 3;
+    static final byte CLOSE = 4;
+
+    private BucketProtocol() {
+    }
+
+    static void writeTask(DataOutputStream output, CSPEncoder encoder, BucketTask task) throws IOException {
+        output.writeByte(TASK);
+        encoder.writeVariable(output, task.variable());
+        writeVarInt(output, task.parents().size());
+        for (Variable parent : task.parents()) {
+            encoder.writeVariable(output, parent);
+        }
+        writeVarInt(output, task.constraints().size());
+        for (Constraint constraint : task.constraints()) {
+            encoder.writeConstraint(output, constraint);
+        }
+        output.writeLong(task.timeout() == null ? -1 : Math.max(task.timeout().toNanos(), 0));
+        output.flush();
+    }
+
+    static BucketTask readTask(DataInputStream input, CSPDecoder decoder) throws IOException {
+        final Variable variable = decoder.readVariable(input);
+        final int parentCount = readVarInt(input);
+        final List<Variable> parents = new ArrayList<>(parentCount);
+        for (int i = 0; i < parentCount; i++) {
+            parents.add(decoder.readVariable(input));
+        }
+        final int constraintCount = readVarInt(input);
+        final List<Constraint> constraints = new ArrayList<>(constraintCount);
+        for (int i = 0; i < constraintCount; i++) {
+            constraints.add(decoder.readConstraint(input));
+        }
+        final long timeoutNanos = input.readLong();
+        return new BucketTask(variable, parents, constraints, timeoutNanos < 0 ? null : Duration.ofNanos(timeoutNanos));
+    }
+
+    static void writeResult(DataOutputStream output, CSPEncoder encoder, BucketElimination elimination)
+            throws IOException {
+        output.writeByte(RESULT);
+        encoder.writeConstraint(output, elimination.projection());
+        final BucketMetrics metrics = elimination.metrics();
+        output.writeLong(metrics.elapsedNanos());
+        output.writeLong(metrics.generatedTuples());
+        output.writeLong(metrics.acceptedTuples());
+        output.writeLong(metrics.projectedTuples());
+        output.flush();
+    }
+
+    static BucketElimination readResult(DataInputStream input, CSPDecoder decoder) throws IOException {
+        final Constraint projection = decoder.readConstraint(input);
+        return new BucketElimination(projection,
+                new BucketMetrics(input.readLong(), input.readLong(), input.readLong(), input.readLong()));
+    }
+}
@@ -0,0 +1,23 @@
+package it.alesc.adaptiveconsistency.distributed;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.Variable;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * It is the processing of a bucket sent to a worker.
+ *
+ * @param variable the variable of the bucket
+ * @param parents the parents of the variable
+ * @param constraints the constraints of the bucket, including the projections it received
+ * @param timeout the time left before the deadline of the resolution, <code>null</code> without deadline
+ */
+public record BucketTask(
+        Variable variable,
+        List<Variable> parents,
+        List<Constraint> constraints,
+        Duration timeout
+) {
+}
@@ -0,0 +1,152 @@
+package it.alesc.adaptiveconsistency.distributed;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.alesc.adaptiveconsistency.logic.ProblemSolver;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.codec.CSPDecoder;
+import it.alesc.adaptiveconsistency.logic.codec.CSPEncoder;
+import it.alesc.adaptiveconsistency.logic.exceptions.ResolutionStoppedException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * It processes the buckets sent by a {@link BucketCoordinator}. Every connection is
+ * served by its own thread, one bucket at a time, until the deadline sent with the
+ * bucket or until the coordinator closes the connection.
+ */
+@Slf4j
+public class BucketWorker implements Closeable {
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("bucket-worker-%d").setDaemon(true).build());
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    private BucketWorker(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    /**
+     * Starts a worker listening on the specified port of the specified address.
+     *
+     * @param address the address to listen on
+     * @param port the port to listen on, 0 for any free port
+     * @return the started worker
+     * @throws IOException if the port cannot be bound
+     */
+    public static BucketWorker start(InetAddress address, int port) throws IOException {
+        final var worker = new BucketWorker(new ServerSocket(port, 0, address));
+        worker.connections.execute(worker::acceptConnections);
+        log.info("{} - bucket worker listening on {}", "start", worker.serverSocket.getLocalSocketAddress());
+        return worker;
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Waits until the worker is closed.
+     *
+     * @throws InterruptedException if the current thread is interrupted
+     */
+    public void awaitClose() throws InterruptedException {
+        closed.await();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            serverSocket.close();
+            connections.shutdownNow();
+        } finally {
+            closed.countDown();
+        }
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                connections.execute(() -> serve(socket));
+            } catch (SocketException e) {
+                log.debug("{} - server socket closed", "acceptConnections");
+            } catch (IOException e) {
+                log.error("{} - connection not accepted", "acceptConnections", e);
+            }
+        }
+    }
+
+    /*
+     * Reads the tasks of the coordinator while their buckets are processed by other threads:
+     * the coordinator waits for a result before sending the next task, so any other message
+     * or the closing of the connection means that it stopped the resolution, and the bucket
+     * being processed is cancelled.
+     */
+    private void serve(Socket socket) {
+        final String methodName = "serve";
+        SolverControl control = SolverControl.unbounded();
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            final var input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            final var output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            final int version = input.readInt();
+            if (version != BucketProtocol.PROTOCOL_VERSION) {
+                log.warn("{} - unsupported protocol version {} from {}", methodName, version,
+                        socket.getRemoteSocketAddress());
+                return;
+            }
+            final var encoder = new CSPEncoder();
+            final var decoder = new CSPDecoder();
+            byte type = input.readByte();
+            while (type == BucketProtocol.TASK) {
+                final BucketTask task = BucketProtocol.readTask(input, decoder);
+                final SolverControl taskControl = task.timeout() == null ? SolverControl.unbounded()
+                        : SolverControl.withTimeout(task.timeout());
+                control = taskControl;
+                connections.execute(() -> process(task, taskControl, output, encoder));
+                type = input.readByte();
+            }
+        } catch (EOFException e) {
+            log.debug("{} - connection closed by the coordinator", methodName);
+        } catch (IOException e) {
+            log.warn("{} - connection with the coordinator failed", methodName, e);
+        } finally {
+            control.cancel();
+        }
+    }
+
+    /*
+     * Processes the bucket and sends its result. Nothing is sent if the processing stopped,
+     * as the coordinator stopped the resolution or reached the same deadline.
+     */
+    private void process(BucketTask task, SolverControl control, DataOutputStream output, CSPEncoder encoder) {
+        final String methodName = "process";
+        final String variableName = task.variable().getName();
+        try {
+            synchronized (output) {
+                try {
+                    BucketProtocol.writeResult(output, encoder, ProblemSolver.eliminate(task.variable(),
+                            task.parents(), task.constraints(), control));
+                    log.debug("{} - bucket of {} processed", methodName, variableName);
+                } catch (ResolutionStoppedException e) {
+                    log.info("{} - bucket of {} stopped: {}", methodName, variableName, e.getStatus());
+                } catch (RuntimeException e) {
+                    log.error("{} - bucket of {} not processed", methodName, variableName, e);
+                    output.writeByte(BucketProtocol.FAILURE);
+                    output.writeUTF(String.valueOf(e.getMessage()));
+                    output.flush();
+                }
+            }
+        } catch (IOException e) {
+            log.debug("{} - result of {} not sent", methodName, variableName, e);
+        }
+    }
+}
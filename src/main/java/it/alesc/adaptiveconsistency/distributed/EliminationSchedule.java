@@ -0,0 +1,77 @@
+package it.alesc.adaptiveconsistency.distributed;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.logic.csp.Variable;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * It is the structure of the buckets of a resolution, computed before processing them:
+ * every constraint is placed in the bucket of its latest variable in the ordering and the
+ * projection of a bucket is sent to the bucket of its latest parent. A bucket can be
+ * processed as soon as the buckets sending it their projections are processed, so the
+ * buckets of disjoint branches are independent.
+ *
+ * @param eliminationOrder the variables in the order of processing of the sequential solver
+ * @param parents the parents of every variable, in the order of the resolution
+ * @param targets the variable receiving the projection of every bucket, if any
+ * @param constraints the constraints of the problem in every bucket
+ * @param children the number of buckets sending their projection to every bucket
+ */
+public record EliminationSchedule(
+        List<String> eliminationOrder,
+        Map<String, List<String>> parents,
+        Map<String, String> targets,
+        Map<String, List<Constraint>> constraints,
+        Map<String, Integer> children
+) {
+
+    public static EliminationSchedule of(StartInformation startInformation) {
+        final Set<String> variableNames = startInformation.variables().stream()
+                .map(Variable::getName).collect(Collectors.toSet());
+        final List<String> variableOrder = startInformation.variableOrder().stream()
+                .filter(variableNames::contains).toList();
+        final Map<String, Integer> positions = IntStream.range(0, variableOrder.size()).boxed()
+                .collect(Collectors.toMap(variableOrder::get, Function.identity()));
+        final Comparator<String> byPosition = Comparator.comparing(positions::get);
+
+        final Map<String, List<Constraint>> constraints = new HashMap<>();
+        final Map<String, Set<String>> scopes = new HashMap<>();
+        variableOrder.forEach(name -> {
+            constraints.put(name, new ArrayList<>());
+            scopes.put(name, new HashSet<>());
+        });
+        startInformation.constraints().stream()
+                .filter(constraint -> !constraint.getVariables().isEmpty())
+                .forEach(constraint -> {
+                    final String latest = constraint.getVariables().stream().max(byPosition).orElseThrow();
+                    constraints.get(latest).add(constraint);
+                    scopes.get(latest).addAll(constraint.getVariables());
+                });
+
+        final List<String> eliminationOrder = new ArrayList<>(variableOrder);
+        Collections.reverse(eliminationOrder);
+        final Map<String, List<String>> parents = new HashMap<>();
+        final Map<String, String> targets = new HashMap<>();
+        final Map<String, Integer> children = new HashMap<>();
+        variableOrder.forEach(name -> children.put(name, 0));
+        eliminationOrder.forEach(name -> {
+            final List<String> variableParents = scopes.get(name).stream()
+                    .filter(parent -> !parent.equals(name))
+                    .sorted(byPosition)
+                    .toList();
+            parents.put(name, variableParents);
+            if (!variableParents.isEmpty()) {
+                final String target = variableParents.get(variableParents.size() - 1);
+                targets.put(name, target);
+                scopes.get(target).addAll(variableParents);
+                children.merge(target, 1, Integer::sum);
+            }
+        });
+        return new EliminationSchedule(List.copyOf(eliminationOrder), parents, targets, constraints, children);
+    }
+}
@@ -0,0 +1,31 @@
+package it.alesc.adaptiveconsistency.generator;
+
+import it.alesc.adaptiveconsistency.logic.ordering.ConstraintGraph;
+import it.alesc.adaptiveconsistency.logic.ordering.OrderingHeuristics;
+
+import java.util.List;
+
+/**
+ * The strategies to compute the variable ordering of a generated problem.
+ */
+public enum OrderingStrategy {
+    /**
+     * The order in which the generator creates the variables, which is the one with a
+     * controlled induced width for the structured problems.
+     */
+    NATURAL,
+    RANDOM,
+    MIN_DEGREE,
+    MIN_FILL,
+    MAX_CARDINALITY;
+
+    public List<String> order(ConstraintGraph graph, long seed) {
+        return switch (this) {
+            case NATURAL -> List.copyOf(graph.variables());
+            case RANDOM -> OrderingHeuristics.random(graph, seed);
+            case MIN_DEGREE -> OrderingHeuristics.minDegree(graph);
+            case MIN_FILL -> OrderingHeuristics.minFill(graph);
+            case MAX_CARDINALITY -> OrderingHeuristics.maxCardinality(graph);
+        };
+    }
+}
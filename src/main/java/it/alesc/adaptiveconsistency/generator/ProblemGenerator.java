@@ -0,0 +1,257 @@
+package it.alesc.adaptiveconsistency.generator;
+
+import it.alesc.adaptiveconsistency.logic.ordering.ConstraintGraph;
+import it.alesc.adaptiveconsistency.specification.Constraint;
+import it.alesc.adaptiveconsistency.specification.Operator;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import it.alesc.adaptiveconsistency.specification.Variable;
+import lombok.experimental.UtilityClass;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * It generates reproducible problems: the same parameters and seed always produce the same
+ * problem. The variables are named <code>x0, x1, ...</code> and the ordering of the generated
+ * problems is the natural one, which can be changed with {@link #withOrdering}.
+ * <p>
+ * The specification supports only the <code>EQUALS</code> and <code>NOT_EQUALS</code>
+ * operators, so every constraint forbids either the pairs of equal values or the pairs
+ * of different values.
+ */
+@UtilityClass
+public class ProblemGenerator {
+    private static final String VARIABLE_PREFIX = "x";
+    private static final String VALUE_PREFIX = "v";
+
+    /**
+     * Generates a random binary CSP following the model B: exactly <code>density * n(n-1)/2</code>
+     * constraints between distinct pairs of variables chosen uniformly. As a constraint can only
+     * be an equality, which forbids <code>d(d-1)</code> pairs of values, or a difference, which
+     * forbids <code>d</code> pairs, the tightness is the expected fraction of forbidden pairs:
+     * every constraint is an equality with the probability that gives that expectation.
+     *
+     * @param variableCount the number of variables
+     * @param domainSize the size of the domain of every variable
+     * @param density the fraction of the pairs of variables that are constrained
+     * @param tightness the expected fraction of the pairs of values forbidden by a constraint
+     * @param seed the seed of the random generator
+     * @return the generated problem
+     * @throws IllegalArgumentException if the density is not between 0 and 1
+     */
+    public static ProblemSpecification randomBinary(int variableCount, int domainSize, double density,
+                                                    double tightness, long seed) {
+        requireProbability("density", density);
+        final var random = new Random(seed);
+        final double equalsProbability = equalsProbability(domainSize, tightness);
+        final long pairCount = (long) variableCount * (variableCount - 1) / 2;
+        final long constraintCount = Math.round(density * pairCount);
+        final List<Constraint> constraints = randomPairs(variableCount, constraintCount, random).stream()
+                .map(pair -> constraint(pair[0], pair[1], randomOperator(random, equalsProbability)))
+                .toList();
+        return problem(variableCount, domainSize, constraints);
+    }
+
+    /**
+     * Generates a random graph colouring problem: every edge of a random graph is a difference constraint.
+     *
+     * @param variableCount the number of vertices
+     * @param colours the number of colours
+     * @param edgeProbability the probability of an edge between two vertices
+     * @param seed the seed of the random generator
+     * @return the generated problem
+     * @throws IllegalArgumentException if the edge probability is not between 0 and 1
+     */
+    public static ProblemSpecification graphColouring(int variableCount, int colours, double edgeProbability,
+                                                      long seed) {
+        requireProbability("edge probability", edgeProbability);
+        final var random = new Random(seed);
+        final long pairCount = (long) variableCount * (variableCount - 1) / 2;
+        final List<Constraint> constraints = randomPairs(variableCount, Math.round(edgeProbability * pairCount), random)
+                .stream()
+                .map(pair -> constraint(pair[0], pair[1], Operator.NOT_EQUALS))
+                .toList();
+        return problem(variableCount, colours, constraints);
+    }
+
+    /**
+     * Generates a problem in the style of the n-queens one: a variable for every row which value
+     * is the column of its queen and a difference constraint for every pair of rows. The diagonals
+     * cannot be expressed with the available operators, so the problem is the all-different
+     * constraint over the variables, which has the same constraint graph.
+     *
+     * @param queens the number of queens
+     * @return the generated problem
+     */
+    public static ProblemSpecification queens(int queens) {
+        final List<Constraint> constraints = new ArrayList<>();
+        for (int i = 0; i < queens; i++) {
+            for (int j = i + 1; j < queens; j++) {
+                constraints.add(constraint(i, j, Operator.NOT_EQUALS));
+            }
+        }
+        return problem(queens, queens, constraints);
+    }
+
+    /**
+     * Generates a grid of variables where every variable is constrained with the ones on its
+     * right and below it. Along the natural (row-major) ordering the induced width is the number
+     * of columns.
+     *
+     * @param rows the number of rows
+     * @param columns the number of columns
+     * @param domainSize the size of the domain of every variable
+     * @param tightness the expected fraction of the pairs of values forbidden by a constraint
+     * @param seed the seed of the random generator
+     * @return the generated problem
+     */
+    public static ProblemSpecification grid(int rows, int columns, int domainSize, double tightness, long seed) {
+        final var random = new Random(seed);
+        final double equalsProbability = equalsProbability(domainSize, tightness);
+        final List<Constraint> constraints = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                final int variable = row * columns + column;
+                if (column + 1 < columns) {
+                    constraints.add(constraint(variable, variable + 1, randomOperator(random, equalsProbability)));
+                }
+                if (row + 1 < rows) {
+                    constraints.add(constraint(variable, variable + columns, randomOperator(random, equalsProbability)));
+                }
+            }
+        }
+        return problem(rows * columns, domainSize, constraints);
+    }
+
+    /**
+     * Generates a problem which constraint graph is a random tree: every variable is constrained
+     * with one of the previous ones. Along the natural ordering the induced width is 1.
+     *
+     * @param variableCount the number of variables
+     * @param domainSize the size of the domain of every variable
+     * @param tightness the expected fraction of the pairs of values forbidden by a constraint
+     * @param seed the seed of the random generator
+     * @return the generated problem
+     */
+    public static ProblemSpecification tree(int variableCount, int domainSize, double tightness, long seed) {
+        final var random = new Random(seed);
+        final double equalsProbability = equalsProbability(domainSize, tightness);
+        final List<Constraint> constraints = IntStream.range(1, variableCount)
+                .mapToObj(variable -> constraint(random.nextInt(variable), variable,
+                        randomOperator(random, equalsProbability)))
+                .toList();
+        return problem(variableCount, domainSize, constraints);
+    }
+
+    /**
+     * Generates a problem which induced width along the natural ordering is at most the given
+     * one: every variable is constrained with each of the previous <code>inducedWidth</code>
+     * variables with the given probability.
+     *
+     * @param variableCount the number of variables
+     * @param domainSize the size of the domain of every variable
+     * @param density the probability of a constraint between two close variables
+     * @param inducedWidth the maximum number of previous variables a variable is constrained with
+     * @param tightness the expected fraction of the pairs of values forbidden by a constraint
+     * @param seed the seed of the random generator
+     * @return the generated problem
+     */
+    public static ProblemSpecification banded(int variableCount, int domainSize, double density,
+                                              int inducedWidth, double tightness, long seed) {
+        final var random = new Random(seed);
+        final double equalsProbability = equalsProbability(domainSize, tightness);
+        final List<Constraint> constraints = new ArrayList<>();
+        for (int i = 1; i < variableCount; i++) {
+            for (int j = Math.max(0, i - inducedWidth); j < i; j++) {
+                if (random.nextDouble() < density) {
+                    constraints.add(constraint(j, i, randomOperator(random, equalsProbability)));
+                }
+            }
+        }
+        return problem(variableCount, domainSize, constraints);
+    }
+
+    /**
+     * Returns a copy of the specified problem with the ordering computed by the given strategy.
+     *
+     * @param specification the problem
+     * @param strategy the ordering strategy
+     * @param seed the seed of the random generator, used by the random strategy
+     * @return the problem with the new ordering
+     */
+    public static ProblemSpecification withOrdering(ProblemSpecification specification,
+                                                    OrderingStrategy strategy, long seed) {
+        final List<String> variableOrder = strategy == OrderingStrategy.NATURAL
+                ? specification.getVariableOrder()
+                : strategy.order(ConstraintGraph.of(specification), seed);
+        return new ProblemSpecification(specification.getVariables(), specification.getConstraints(), variableOrder);
+    }
+
+    /*
+     * Returns the probability of an equality constraint that gives the specified expected
+     * tightness: an equality forbids d(d-1) of the d^2 pairs and a difference forbids d pairs.
+     */
+    private static double equalsProbability(int domainSize, double tightness) {
+        final double equalsTightness = 1.0 - 1.0 / domainSize;
+        final double notEqualsTightness = 1.0 / domainSize;
+        if (equalsTightness == notEqualsTightness) {
+            return 0.5;
+        }
+        final double probability = (tightness - notEqualsTightness) / (equalsTightness - notEqualsTightness);
+        return Math.min(1.0, Math.max(0.0, probability));
+    }
+
+    private static void requireProbability(String name, double value) {
+        if (!(value >= 0 && value <= 1)) {
+            throw new IllegalArgumentException("The " + name + " must be between 0 and 1, not " + value);
+        }
+    }
+
+    private static Operator randomOperator(Random random, double equalsProbability) {
+        return random.nextDouble() < equalsProbability ? Operator.EQUALS : Operator.NOT_EQUALS;
+    }
+
+    /*
+     * Returns the specified number of distinct pairs of variables chosen uniformly: the pairs
+     * are sampled when they are few, otherwise all the pairs are shuffled.
+     */
+    private static List<int[]> randomPairs(int variableCount, long pairCount, Random random) {
+        final long allPairs = (long) variableCount * (variableCount - 1) / 2;
+        if (pairCount * 2 > allPairs) {
+            final List<int[]> pairs = new ArrayList<>();
+            for (int i = 0; i < variableCount; i++) {
+                for (int j = i + 1; j < variableCount; j++) {
+                    pairs.add(new int[]{i, j});
+                }
+            }
+            Collections.shuffle(pairs, random);
+            return pairs.subList(0, (int) pairCount);
+        }
+
+        final Set<Long> chosen = new LinkedHashSet<>();
+        while (chosen.size() < pairCount) {
+            final int first = random.nextInt(variableCount);
+            final int second = random.nextInt(variableCount);
+            if (first != second) {
+                chosen.add((long) Math.min(first, second) * variableCount + Math.max(first, second));
+            }
+        }
+        return chosen.stream()
+                .map(key -> new int[]{(int) (key / variableCount), (int) (key % variableCount)})
+                .toList();
+    }
+
+    private static Constraint constraint(int first, int second, Operator operator) {
+        return new Constraint(VARIABLE_PREFIX + first, VARIABLE_PREFIX + second, operator);
+    }
+
+    private static ProblemSpecification problem(int variableCount, int domainSize, List<Constraint> constraints) {
+        final Set<String> domain = new LinkedHashSet<>();
+        IntStream.range(0, domainSize).forEach(value -> domain.add(VALUE_PREFIX + value));
+        final List<String> names = IntStream.range(0, variableCount).mapToObj(i -> VARIABLE_PREFIX + i).toList();
+        final List<Variable> variables = names.stream()
+                .map(name -> new Variable(name, Collections.unmodifiableSet(domain)))
+                .toList();
+        return new ProblemSpecification(variables, constraints, names);
+    }
+}
@@ -6,8 +6,10 @@ import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 
 @UtilityClass
 public class ComputationTextBuilder {
@@ -29,6 +31,10 @@ public class ComputationTextBuilder {
                             
                             
             Il problema non ha soluzioni""";
+    public static final String APPROXIMATED_END = """
+                            
+                            
+            Nessuna inconsistenza trovata dalla risoluzione approssimata, ma nessuna soluzione garantita""";
     public static final String ITERATION_FORMAT = """
             
             
@@ -37,34 +43,63 @@ public class ComputationTextBuilder {
             CSP aggiornato:
                 Variabili:%s
                 Vincoli:%s""";
+    public static final String UNTRACED_ITERATION_FORMAT = """
+            
+            
+            Iterazione n°%d
+            Variabile: %s
+            CSP aggiornato non registrato (risoluzione senza traccia)""";
 
     public static String print(CSPResolutionTracker cspResolutionTracker) {
         if (cspResolutionTracker == null) {
             return StringUtils.EMPTY;
         }
 
-        return printStartInformation(cspResolutionTracker.startInformation()) +
-                printIterations(cspResolutionTracker.iterations()) +
-                printEnding(cspResolutionTracker.hasSolution(), cspResolutionTracker.solution());
+        final var writer = new StringWriter();
+        try {
+            write(cspResolutionTracker, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the computation of the specified tracker one step at a time, so the whole
+     * text is never built in memory.
+     *
+     * @param cspResolutionTracker the tracker of the resolution
+     * @param writer the writer of the text
+     * @throws IOException if the text cannot be written
+     */
+    public static void write(CSPResolutionTracker cspResolutionTracker, Writer writer) throws IOException {
+        writer.write(printStartInformation(cspResolutionTracker.startInformation()));
+        writer.write(COMPUTATION_HEADER);
+        for (CSPResolutionStep iteration : cspResolutionTracker.iterations()) {
+            writer.write(printIteration(iteration));
+        }
+        writer.write(printEnding(cspResolutionTracker));
     }
 
-    private static String printStartInformation(StartInformation startInformation) {
+    public static String printStartInformation(StartInformation startInformation) {
         return String.format(START_INFORMATION_FORMAT,
                 startInformation.variables(), startInformation.constraints(), startInformation.variableOrder());
     }
 
-    private static String printIterations(List<CSPResolutionStep> iterations) {
-        return iterations.stream()
-                .map(iteration -> String.format(ITERATION_FORMAT,
-                        iteration.number(), iteration.variable(),
-                        iteration.updatedCSP().variables(), iteration.updatedCSP().constraints()))
-                .reduce(COMPUTATION_HEADER,
-                        String::concat);
+    public static String printIteration(CSPResolutionStep iteration) {
+        if (iteration.updatedCSP() == null) {
+            return String.format(UNTRACED_ITERATION_FORMAT, iteration.number(), iteration.variable());
+        }
+        return String.format(ITERATION_FORMAT, iteration.number(), iteration.variable(),
+                iteration.updatedCSP().variables(), iteration.updatedCSP().constraints());
     }
 
-    private static String printEnding(boolean hasSolution, Map<String, String> solution) {
-        return hasSolution
-                ? String.format(SOLUTION_PATTERN, solution)
+    public static String printEnding(CSPResolutionTracker cspResolutionTracker) {
+        if (!cspResolutionTracker.exact()) {
+            return APPROXIMATED_END;
+        }
+        return cspResolutionTracker.hasSolution()
+                ? String.format(SOLUTION_PATTERN, cspResolutionTracker.solution())
                 : NO_SOLUTION_END;
     }
 }
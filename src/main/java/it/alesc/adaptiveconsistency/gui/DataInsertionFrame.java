@@ -2,6 +2,7 @@ package it.alesc.adaptiveconsistency.gui;
 
 import com.google.gson.Gson;
 import io.vavr.control.Try;
+import it.alesc.adaptiveconsistency.logic.SolverOptions;
 import it.alesc.adaptiveconsistency.logic.validation.ProblemSpecificationValidator;
 import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
 import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
@@ -34,6 +35,7 @@ public class DataInsertionFrame extends JFrame {
 	private final JTextField sourceFileText = new JTextField();
 	private final JButton sourceFileButton = new JButton("Scegli");
 	private final JFileChooser sourceFileChooser = new JFileChooser();
+	private final JCheckBox presolveCheckBox = new JCheckBox("Semplifica il problema");
 	private final JButton startButton = new JButton("Procedi");
 
 	/**
@@ -70,6 +72,9 @@ public class DataInsertionFrame extends JFrame {
 		sourceFileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
 		sourceFileChooser.setFileFilter(new FileNameExtensionFilter("JSON files (json, txt)", "json", "txt"));
 
+		presolveCheckBox.setToolTipText("Riduce il problema prima di risolverlo");
+		mainPanel.add(presolveCheckBox);
+
 		startButton.addActionListener(new StartListener());
 		mainPanel.add(startButton);
 
@@ -104,7 +109,8 @@ public class DataInsertionFrame extends JFrame {
 
 			dispose();
 			var startInformation = StartInformation.buildStartInformation(specificationValidation.get());
-			ResultFrame nextFrame = new ResultFrame(startInformation);
+			ResultFrame nextFrame = new ResultFrame(startInformation,
+					SolverOptions.exact().withPresolve(presolveCheckBox.isSelected()));
 			nextFrame.solveProblem();
 			nextFrame.setVisible(true);
 		}
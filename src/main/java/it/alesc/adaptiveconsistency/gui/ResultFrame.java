@@ -1,33 +1,49 @@
 package it.alesc.adaptiveconsistency.gui;
 
 import it.alesc.adaptiveconsistency.logic.ProblemSolver;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.SolverOptions;
 import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
 import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
 
+import lombok.extern.slf4j.Slf4j;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Serial;
+import java.util.concurrent.ExecutionException;
 
 /**
- * It is the window where the progression of the computation is shown. It allows
- * the user to save the text displayed in a file.
+ * It is the window where the progression of the computation is shown. The steps
+ * are listed and the text of a step is built only when it is displayed, so large
+ * computations are shown without rendering them whole. It allows the user to
+ * search the computation and to save it in a file.
  * 
  * @author Alessandro Schio
  * @version 2.0 09 Jan 2014
  * 
  */
+@Slf4j
 public class ResultFrame extends JFrame {
 	@Serial
 	private static final long serialVersionUID = -5266436189112789407L;
+	private static final String PROTOTYPE_ENTRY = "Iterazione n°000000 - Variabile: XXXXXXXXXXXX - Vincoli: 000000";
 	private final StartInformation startingInfo;
+	private final transient SolverOptions options;
+	private final JList<String> stepList = new JList<>();
 	private final JTextArea computationArea = new JTextArea();
+	private final JTextField searchText = new JTextField(25);
+	private final JButton searchButton = new JButton("Cerca");
 	private final JMenuItem saveMenuItem = new JMenuItem("Salva computazione");
 	private final JMenuBar resultFrameMenuBar = new JMenuBar();
+	private transient CSPResolutionTracker cspResolutionTracker;
+	private transient TraceListModel traceModel;
 
 	/**
 	 * The main constructor of the class. It requires the information obtained
@@ -38,8 +54,23 @@ public class ResultFrame extends JFrame {
 	 */
 	public ResultFrame(
 			final StartInformation startingInfo) {
+		this(startingInfo, SolverOptions.exact());
+	}
+
+	/**
+	 * Builds the window of the resolution with the specified options, e.g.
+	 * with the presolve of the problem.
+	 *
+	 * @param startingInfo
+	 *            the information that is result of parsing the source file
+	 * @param options
+	 *            the options of the resolution
+	 */
+	public ResultFrame(
+			final StartInformation startingInfo, final SolverOptions options) {
 		super("Risoluzione CSP");
 		this.startingInfo = startingInfo;
+		this.options = options;
 		createFrame();
 		setDefaultCloseOperation(DISPOSE_ON_CLOSE);
 	}
@@ -49,21 +80,90 @@ public class ResultFrame extends JFrame {
 
 		computationArea.setEditable(false);
 		computationArea.setFont(new Font(null, Font.PLAIN, 14));
+		computationArea.setLineWrap(true);
 		computationArea.setWrapStyleWord(true);
 
-		var mainPanel = new JScrollPane(computationArea);
+		// a prototype gives every row the same size, so the list lays out and
+		// renders only the rows in view
+		stepList.setPrototypeCellValue(PROTOTYPE_ENTRY);
+		stepList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		stepList.addListSelectionListener(e -> {
+			if (!e.getValueIsAdjusting()) {
+				showSelectedEntry();
+			}
+		});
+
+		var searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		searchPanel.add(new JLabel("Cerca"));
+		searchPanel.add(searchText);
+		searchPanel.add(searchButton);
+		searchText.addActionListener(e -> search());
+		searchButton.addActionListener(e -> search());
+
+		var mainPanel = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT,
+				new JScrollPane(stepList), new JScrollPane(computationArea));
 
 		saveMenuItem.addActionListener(new SaveListener());
 
 		resultFrameMenuBar.add(saveMenuItem);
 		setJMenuBar(resultFrameMenuBar);
 
-		add(mainPanel);
+		add(searchPanel, BorderLayout.NORTH);
+		add(mainPanel, BorderLayout.CENTER);
 	}
 
 	public void solveProblem() {
-		final CSPResolutionTracker cspResolutionTracker = ProblemSolver.solveProblem(startingInfo);
-		computationArea.setText(ComputationTextBuilder.print(cspResolutionTracker));
+		cspResolutionTracker = ProblemSolver.solveProblem(startingInfo, options, SolverControl.unbounded());
+		traceModel = new TraceListModel(cspResolutionTracker);
+		stepList.setModel(traceModel);
+		stepList.setSelectedIndex(traceModel.getSize() - 1);
+	}
+
+	private void showSelectedEntry() {
+		final int index = stepList.getSelectedIndex();
+		computationArea.setText(index < 0 ? "" : traceModel.detail(index));
+		computationArea.setCaretPosition(0);
+	}
+
+	/*
+	 * Selects the next entry containing the searched text. The entries are
+	 * formatted one at a time out of the event dispatch thread.
+	 */
+	private void search() {
+		final String text = searchText.getText();
+		if (traceModel == null || text.isBlank()) {
+			return;
+		}
+		final int after = stepList.getSelectedIndex();
+		searchButton.setEnabled(false);
+		new SwingWorker<Integer, Void>() {
+			@Override
+			protected Integer doInBackground() {
+				return traceModel.find(text, after);
+			}
+
+			@Override
+			protected void done() {
+				searchButton.setEnabled(true);
+				final int index;
+				try {
+					index = get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				} catch (ExecutionException e) {
+					log.error("Error while searching {}", text, e.getCause());
+					return;
+				}
+				if (index < 0) {
+					JOptionPane.showMessageDialog(ResultFrame.this, "Nessun risultato per \"" + text + "\"",
+							"Ricerca", JOptionPane.INFORMATION_MESSAGE);
+					return;
+				}
+				stepList.setSelectedIndex(index);
+				stepList.ensureIndexIsVisible(index);
+			}
+		}.execute();
 	}
 
 	private class SaveListener implements ActionListener {
@@ -78,8 +178,10 @@ public class ResultFrame extends JFrame {
 
 			File selFile = fileChooser.getSelectedFile();
 			try (FileWriter fileWriter = getFileWriter(selFile)) {
-				if (fileWriter != null) {
-					fileWriter.write(computationArea.getText());
+				if (fileWriter != null && cspResolutionTracker != null) {
+					final var writer = new BufferedWriter(fileWriter);
+					ComputationTextBuilder.write(cspResolutionTracker, writer);
+					writer.flush();
 				}
 			} catch (IOException ex) {
 				ex.printStackTrace();
@@ -0,0 +1,88 @@
+package it.alesc.adaptiveconsistency.gui;
+
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionStep;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.swing.*;
+import java.io.Serial;
+
+/**
+ * It is the model of the list of the entries of a computation: the start information,
+ * the steps of the resolution and its ending. It is backed by the steps of the tracker,
+ * so an entry is formatted only when the list asks for it, i.e. when it is displayed.
+ */
+class TraceListModel extends AbstractListModel<String> {
+    @Serial
+    private static final long serialVersionUID = 4121840371938622045L;
+    private static final String START_ENTRY = "Informazioni iniziali";
+    private static final String END_ENTRY = "Risultato";
+    private static final String STEP_ENTRY_FORMAT = "Iterazione n°%d - Variabile: %s - Vincoli: %d";
+    private static final String UNTRACED_STEP_ENTRY_FORMAT = "Iterazione n°%d - Variabile: %s";
+    private static final String APPROXIMATED_SUFFIX = " (approssimata)";
+
+    private final transient CSPResolutionTracker tracker;
+
+    TraceListModel(CSPResolutionTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public int getSize() {
+        return tracker.iterations().size() + 2;
+    }
+
+    /**
+     * Returns the one-line summary of the entry at the specified index.
+     */
+    @Override
+    public String getElementAt(int index) {
+        if (index == 0) {
+            return START_ENTRY;
+        }
+        if (index == getSize() - 1) {
+            return END_ENTRY;
+        }
+        final CSPResolutionStep step = step(index);
+        final String summary = step.updatedCSP() == null
+                ? String.format(UNTRACED_STEP_ENTRY_FORMAT, step.number(), step.variable())
+                : String.format(STEP_ENTRY_FORMAT, step.number(), step.variable(),
+                step.updatedCSP().constraints().size());
+        return step.approximated() ? summary + APPROXIMATED_SUFFIX : summary;
+    }
+
+    /**
+     * Returns the whole text of the entry at the specified index.
+     */
+    String detail(int index) {
+        if (index == 0) {
+            return ComputationTextBuilder.printStartInformation(tracker.startInformation());
+        }
+        if (index == getSize() - 1) {
+            return ComputationTextBuilder.printEnding(tracker).strip();
+        }
+        return ComputationTextBuilder.printIteration(step(index)).strip();
+    }
+
+    /**
+     * Returns the index of the first entry after the specified one whose text contains the
+     * specified text, starting again from the first entry after the last one.
+     *
+     * @return the index of the matching entry or -1 if no entry contains the text
+     */
+    int find(String text, int after) {
+        final int size = getSize();
+        for (int i = 1; i <= size; i++) {
+            final int index = (after + i) % size;
+            if (StringUtils.containsIgnoreCase(getElementAt(index), text)
+                    || StringUtils.containsIgnoreCase(detail(index), text)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private CSPResolutionStep step(int index) {
+        return tracker.iterations().get(index - 1);
+    }
+}
@@ -0,0 +1,73 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/*
+ * The partition of the functions over some variables, e.g. the constraints or the cost
+ * functions of a problem, in buckets by the position of their latest variable in the
+ * ordering. The parents of a variable are the other variables of its bucket.
+ */
+final class BucketPartition<T> {
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final Function<T, List<String>> scope;
+    private final List<List<T>> buckets = new ArrayList<>();
+    /*
+     * The functions without variables or with a variable outside the ordering, which no
+     * bucket processes.
+     */
+    private final List<T> unplaced = new ArrayList<>();
+
+    BucketPartition(List<String> ordering, Function<T, List<String>> scope) {
+        this.scope = scope;
+        for (int i = 0; i < ordering.size(); i++) {
+            positions.put(ordering.get(i), i);
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    List<T> bucket(String name) {
+        return buckets.get(positions.get(name));
+    }
+
+    /*
+     * Returns the variables before the specified one sharing a function with it, in the
+     * order of the ordering.
+     */
+    List<String> parents(String name) {
+        return bucket(name).stream()
+                .flatMap(function -> scope.apply(function).stream())
+                .filter(parent -> !parent.equals(name))
+                .distinct()
+                .sorted(Comparator.comparing(positions::get))
+                .toList();
+    }
+
+    void add(T function) {
+        bucketOf(scope.apply(function)).add(function);
+    }
+
+    /*
+     * Returns the bucket of the latest variable of the scope, or the unplaced functions.
+     */
+    List<T> bucketOf(List<String> variables) {
+        int latest = -1;
+        for (String name : variables) {
+            final Integer position = positions.get(name);
+            if (position == null) {
+                return unplaced;
+            }
+            latest = Math.max(latest, position);
+        }
+        return latest < 0 ? unplaced : buckets.get(latest);
+    }
+
+    List<T> unplaced() {
+        return unplaced;
+    }
+
+    Stream<T> functions() {
+        return Stream.concat(buckets.stream().flatMap(List::stream), unplaced.stream());
+    }
+}
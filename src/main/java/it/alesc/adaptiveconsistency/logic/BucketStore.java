@@ -0,0 +1,87 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.logic.csp.CSP;
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.Variable;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/*
+ * The working store of an elimination: the variables and the constraints of the CSP, the
+ * constraints partitioned in buckets by the position of their latest variable in the ordering.
+ * It is updated in place, so a step touches only the bucket it processes and the one receiving
+ * its projection, and the immutable CSP is built only when a snapshot is asked for.
+ */
+final class BucketStore {
+    private final Map<String, Variable> variables = new LinkedHashMap<>();
+    private final BucketPartition<Constraint> partition;
+
+    private BucketStore(List<String> ordering) {
+        partition = new BucketPartition<>(ordering, Constraint::getVariables);
+    }
+
+    static BucketStore of(CSP csp, List<String> ordering) {
+        final var store = new BucketStore(ordering);
+        csp.variables().forEach(variable -> store.variables.put(variable.getName(), variable));
+        csp.constraints().forEach(store::add);
+        return store;
+    }
+
+    Optional<Variable> variable(String name) {
+        return Optional.ofNullable(variables.get(name));
+    }
+
+    List<Constraint> bucket(String name) {
+        return Collections.unmodifiableList(partition.bucket(name));
+    }
+
+    /*
+     * Returns the variables before the specified one sharing a constraint with it, in the
+     * order of the ordering: they are the variables of the constraints of its bucket.
+     */
+    List<Variable> parents(String name) {
+        return partition.parents(name).stream()
+                .map(variables::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /*
+     * Returns the constraints over the same variables as the specified scope, in any order.
+     */
+    List<Constraint> sameScope(List<String> scope) {
+        return partition.bucketOf(scope).stream()
+                .filter(constraint -> CollectionUtils.isPermutation(constraint.getVariables(), scope))
+                .toList();
+    }
+
+    void add(Constraint constraint) {
+        partition.add(constraint);
+    }
+
+    void replace(Constraint constraint, Constraint replacement) {
+        final List<Constraint> bucket = partition.bucketOf(constraint.getVariables());
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == constraint) {
+                bucket.set(i, replacement);
+                return;
+            }
+        }
+        bucket.add(replacement);
+    }
+
+    void restrict(String name, Set<String> domain) {
+        variables.put(name, new Variable(name, domain));
+    }
+
+    Stream<Constraint> constraints() {
+        return partition.functions();
+    }
+
+    CSP snapshot() {
+        final Set<Constraint> constraints = new LinkedHashSet<>();
+        constraints().forEach(constraints::add);
+        return new CSP(new LinkedHashSet<>(variables.values()), constraints);
+    }
+}
@@ -0,0 +1,258 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.logic.codec.CSPDecoder;
+import it.alesc.adaptiveconsistency.logic.codec.CSPEncoder;
+import it.alesc.adaptiveconsistency.logic.csp.*;
+import it.alesc.adaptiveconsistency.logic.exceptions.ResolutionStoppedException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * It is a problem compiled once into the bucket tree of its adaptive consistency, which
+ * answers many queries under assumptions, i.e. restrictions of the domains of some
+ * variables. A query reprocesses only the buckets of the assumed variables and the ones
+ * receiving their projections, towards the root of the tree: the other buckets are still
+ * directionally consistent, so the solution is then assigned without backtracking. The
+ * network is immutable, so concurrent queries can share it.
+ */
+@Slf4j
+public final class CompiledNetwork {
+    private static final int MAGIC = 0x4143434E;
+    private static final int VERSION = 1;
+
+    private final List<String> variableOrder;
+    private final Map<String, Integer> positions;
+    private final Map<String, Bucket> buckets;
+    private final boolean satisfiable;
+
+    private CompiledNetwork(List<String> variableOrder, Map<String, Bucket> buckets, boolean satisfiable) {
+        this.variableOrder = List.copyOf(variableOrder);
+        this.buckets = Map.copyOf(buckets);
+        this.satisfiable = satisfiable;
+        final Map<String, Integer> variablePositions = new HashMap<>();
+        for (int i = 0; i < variableOrder.size(); i++) {
+            variablePositions.put(variableOrder.get(i), i);
+        }
+        this.positions = Map.copyOf(variablePositions);
+    }
+
+    /**
+     * Compiles the specified problem solving it and building the bucket tree of the CSP reached.
+     *
+     * @param startInformation the problem to compile
+     * @param control the deadline and the cancellation of the compilation
+     * @return the compiled network
+     * @throws ResolutionStoppedException if the control stops the resolution
+     */
+    public static CompiledNetwork compile(StartInformation startInformation, SolverControl control) {
+        final CSPResolutionTracker tracker = ProblemSolver.solveProblem(startInformation,
+                SolverOptions.exact().withTrace(false), control);
+        if (tracker.isStopped()) {
+            throw new ResolutionStoppedException(tracker.status());
+        }
+        final BucketTree bucketTree = ProblemSolver.buildBucketTree(tracker);
+        log.info("{} - compiled {} buckets with {} tuples, satisfiable: {}", "compile",
+                bucketTree.buckets().size(), bucketTree.size(), tracker.hasSolution());
+        return new CompiledNetwork(bucketTree.variableOrder(), bucketTree.buckets(), tracker.hasSolution());
+    }
+
+    public List<String> variableOrder() {
+        return variableOrder;
+    }
+
+    public boolean satisfiable() {
+        return satisfiable;
+    }
+
+    Bucket bucket(String variableName) {
+        return buckets.get(variableName);
+    }
+
+    /**
+     * Returns a solution of the problem in which every assumed variable takes one of its
+     * assumed values.
+     *
+     * @param assumptions the allowed values of the assumed variables
+     * @return a solution satisfying the assumptions or empty if there is none
+     * @throws IllegalArgumentException if an assumed variable is not a variable of the problem
+     */
+    public Optional<Map<String, String>> solve(Map<String, ? extends Collection<String>> assumptions) {
+        final Map<String, Set<String>> allowed = new HashMap<>();
+        assumptions.forEach((name, values) -> {
+            if (!buckets.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown variable: " + name);
+            }
+            allowed.put(name, new HashSet<>(values));
+        });
+        if (!satisfiable) {
+            return Optional.empty();
+        }
+        return restrict(allowed).map(this::assign);
+    }
+
+    /**
+     * Checks whether the problem has a solution satisfying the specified assumptions.
+     *
+     * @param assumptions the allowed values of the assumed variables
+     * @return <code>true</code> if a solution satisfies the assumptions, <code>false</code> otherwise
+     */
+    public boolean satisfiable(Map<String, ? extends Collection<String>> assumptions) {
+        return solve(assumptions).isPresent();
+    }
+
+    /*
+     * Reprocesses the buckets of the assumed variables and their ancestors from the
+     * last one in the ordering: the relation of a bucket loses the tuples with a value
+     * not assumed and the ones whose projection was not kept by the buckets sending
+     * their projections to it. Returns the reprocessed relations or empty if one of
+     * them has no tuple left.
+     */
+    private Optional<Map<String, Set<List<String>>>> restrict(Map<String, Set<String>> assumptions) {
+        final String methodName = "restrict";
+        final NavigableMap<Integer, String> affected = new TreeMap<>(Comparator.reverseOrder());
+        for (String name : assumptions.keySet()) {
+            String current = name;
+            while (current != null && affected.putIfAbsent(positions.get(current), current) == null) {
+                current = buckets.get(current).parentBucketVariable().orElse(null);
+            }
+        }
+
+        final Map<String, Set<List<String>>> relations = new HashMap<>();
+        final Map<String, List<Constraint>> projections = new HashMap<>();
+        for (String name : affected.values()) {
+            final Bucket bucket = buckets.get(name);
+            final List<String> scope = bucket.relation().getVariables();
+            final List<Constraint> received = projections.getOrDefault(name, List.of());
+            final List<ProjectionPlan> plans = received.stream()
+                    .map(projection -> ProjectionPlan.of(scope, projection.getVariables()))
+                    .toList();
+            final Set<List<String>> tuples = new HashSet<>();
+            for (List<String> tuple : bucket.relation().getCompTuples()) {
+                if (assumed(tuple, scope, assumptions) && kept(tuple, plans, received)) {
+                    tuples.add(tuple);
+                }
+            }
+            if (tuples.isEmpty()) {
+                log.debug("{} - no tuple of the bucket of {} satisfies {}", methodName, name, assumptions);
+                return Optional.empty();
+            }
+            relations.put(name, tuples);
+            bucket.parentBucketVariable().ifPresent(parent -> projections
+                    .computeIfAbsent(parent, key -> new ArrayList<>())
+                    .add(new Constraint(bucket.parents(), project(tuples, scope.size()))));
+        }
+        return Optional.of(relations);
+    }
+
+    /*
+     * Assigns the variables along the ordering, each one with the value of the first
+     * tuple of its bucket agreeing with the values of its parents.
+     */
+    private Map<String, String> assign(Map<String, Set<List<String>>> relations) {
+        final Map<String, String> solution = new TreeMap<>();
+        for (String name : variableOrder) {
+            final Bucket bucket = buckets.get(name);
+            final List<String> parents = bucket.parents();
+            final List<String> tuple = relations.getOrDefault(name, bucket.relation().getCompTuples()).stream()
+                    .filter(candidate -> agrees(candidate, parents, solution))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException(
+                            "The bucket of " + name + " has no tuple agreeing with " + solution));
+            solution.put(name, tuple.get(0));
+        }
+        return solution;
+    }
+
+    private static boolean assumed(List<String> tuple, List<String> scope, Map<String, Set<String>> assumptions) {
+        for (int i = 0; i < scope.size(); i++) {
+            final Set<String> values = assumptions.get(scope.get(i));
+            if (values != null && !values.contains(tuple.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean kept(List<String> tuple, List<ProjectionPlan> plans, List<Constraint> projections) {
+        for (int i = 0; i < plans.size(); i++) {
+            if (!plans.get(i).accepts(tuple, projections.get(i).getCompTuples())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean agrees(List<String> tuple, List<String> parents, Map<String, String> solution) {
+        for (int i = 0; i < parents.size(); i++) {
+            if (!tuple.get(i + 1).equals(solution.get(parents.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<List<String>> project(Set<List<String>> tuples, int arity) {
+        final ProjectionPlan plan = ProjectionPlan.dropping(1, arity);
+        final Set<List<String>> projection = new HashSet<>();
+        for (List<String> tuple : tuples) {
+            if (!plan.accepts(tuple, projection)) {
+                projection.add(plan.project(tuple));
+            }
+        }
+        return projection;
+    }
+
+    /**
+     * Writes the network to the specified file.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeBoolean(satisfiable);
+            final var encoder = new CSPEncoder();
+            encoder.writeStrings(output, variableOrder);
+            for (String name : variableOrder) {
+                final Bucket bucket = buckets.get(name);
+                encoder.writeStrings(output, bucket.parents());
+                encoder.writeConstraint(output, bucket.relation());
+            }
+        }
+    }
+
+    /**
+     * Reads the network written to the specified file by {@link #write}.
+     *
+     * @param path the path of the file
+     * @return the compiled network
+     * @throws IOException if the file cannot be read or it is not a compiled network
+     */
+    public static CompiledNetwork read(Path path) throws IOException {
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC) {
+                throw new StreamCorruptedException(path + " is not a compiled network");
+            }
+            final int version = input.readInt();
+            if (version != VERSION) {
+                throw new StreamCorruptedException("Unsupported compiled network version " + version);
+            }
+            final boolean satisfiable = input.readBoolean();
+            final var decoder = new CSPDecoder();
+            final List<String> variableOrder = decoder.readStrings(input);
+            final Map<String, Bucket> buckets = new HashMap<>();
+            for (String name : variableOrder) {
+                final List<String> parents = decoder.readStrings(input);
+                buckets.put(name, new Bucket(name, parents, decoder.readConstraint(input)));
+            }
+            log.info("{} - read {} buckets from {}", "read", buckets.size(), path);
+            return new CompiledNetwork(variableOrder, buckets, satisfiable);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.logic.csp.Variable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/*
+ * The conditioning of a problem on a cycle cutset: the consistent assignments of the cutset,
+ * handed out in batches, and the forest left by the cutset, whose domains every assignment
+ * restricts through the constraints between the cutset and the forest.
+ */
+final class Conditioning {
+    private static final int BATCH_SIZE = 64;
+
+    private final List<String> cutset;
+    private final List<List<String>> cutsetDomains;
+    private final List<Constraint> cutsetConstraints;
+    private final Map<String, List<Constraint>> bridges;
+    private final Map<String, Set<String>> forestDomains;
+    private final TreeNetwork forest;
+    private final int[] odometer;
+    private boolean exhausted;
+
+    private Conditioning(List<String> cutset, List<List<String>> cutsetDomains, List<Constraint> cutsetConstraints,
+                         Map<String, List<Constraint>> bridges, Map<String, Set<String>> forestDomains,
+                         TreeNetwork forest) {
+        this.cutset = cutset;
+        this.cutsetDomains = cutsetDomains;
+        this.cutsetConstraints = cutsetConstraints;
+        this.bridges = bridges;
+        this.forestDomains = forestDomains;
+        this.forest = forest;
+        this.odometer = new int[cutset.size()];
+        this.exhausted = cutsetDomains.stream().anyMatch(List::isEmpty);
+    }
+
+    static Conditioning of(StartInformation startInformation, List<String> cutset) {
+        final Set<String> cutsetNames = new HashSet<>(cutset);
+        final Map<String, Variable> variables = startInformation.variables().stream()
+                .collect(Collectors.toMap(Variable::getName, variable -> variable));
+        final List<Constraint> cutsetConstraints = new ArrayList<>();
+        final List<Constraint> forestConstraints = new ArrayList<>();
+        final Map<String, List<Constraint>> bridges = new HashMap<>();
+        for (Constraint constraint : startInformation.constraints()) {
+            final long inCutset = constraint.getVariables().stream().filter(cutsetNames::contains).count();
+            if (inCutset == 2) {
+                cutsetConstraints.add(constraint);
+            } else if (inCutset == 0) {
+                forestConstraints.add(constraint);
+            } else {
+                constraint.getVariables().stream().filter(cutsetNames::contains).forEach(name ->
+                        bridges.computeIfAbsent(name, key -> new ArrayList<>()).add(constraint));
+            }
+        }
+
+        final List<String> forestOrder = startInformation.variableOrder().stream()
+                .filter(name -> !cutsetNames.contains(name)).toList();
+        final Set<Variable> forestVariables = forestOrder.stream().map(variables::get)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        final List<String> ordering = TreeSolver.treeOrdering(
+                        new StartInformation(forestVariables, new HashSet<>(forestConstraints), forestOrder))
+                .orElseThrow(() -> new IllegalArgumentException("The variables outside the cutset are not a forest"));
+        final Map<String, Set<String>> forestDomains = new HashMap<>();
+        forestVariables.forEach(variable -> forestDomains.put(variable.getName(), variable.getDomain()));
+        final List<List<String>> cutsetDomains = cutset.stream()
+                .map(name -> List.copyOf(variables.get(name).getDomain())).toList();
+        return new Conditioning(cutset, cutsetDomains, cutsetConstraints, bridges, forestDomains,
+                TreeNetwork.of(forestConstraints, ordering));
+    }
+
+    /*
+     * Conditions the forest on the assignments of the cutset until one of them extends to a
+     * solution, which completes the specified future, or until there are no assignments left.
+     */
+    void search(CompletableFuture<Map<String, String>> found, AtomicLong conditioned, SolverControl control) {
+        List<Map<String, String>> batch = nextBatch(control);
+        while (!found.isDone() && !batch.isEmpty()) {
+            for (Map<String, String> assignment : batch) {
+                control.checkpoint();
+                conditioned.incrementAndGet();
+                final Optional<Map<String, Set<String>>> domains = condition(assignment);
+                if (domains.isPresent() && forest.propagate(domains.get(), control)) {
+                    final TreeMap<String, String> solution = forest.assign(domains.get(), control);
+                    solution.putAll(assignment);
+                    found.complete(solution);
+                    return;
+                }
+            }
+            batch = nextBatch(control);
+        }
+    }
+
+    /*
+     * Returns the next consistent assignments of the cutset, advancing the odometer over the
+     * domains of the cutset variables.
+     */
+    private synchronized List<Map<String, String>> nextBatch(SolverControl control) {
+        final List<Map<String, String>> batch = new ArrayList<>();
+        while (!exhausted && batch.size() < BATCH_SIZE) {
+            control.tick();
+            final Map<String, String> assignment = new HashMap<>();
+            for (int i = 0; i < cutset.size(); i++) {
+                assignment.put(cutset.get(i), cutsetDomains.get(i).get(odometer[i]));
+            }
+            if (cutsetConstraints.stream().allMatch(constraint -> constraint.getCompTuples().contains(
+                    constraint.getVariables().stream().map(assignment::get).toList()))) {
+                batch.add(assignment);
+            }
+            advance();
+        }
+        return batch;
+    }
+
+    private void advance() {
+        int i = odometer.length - 1;
+        while (i >= 0 && ++odometer[i] == cutsetDomains.get(i).size()) {
+            odometer[i] = 0;
+            i--;
+        }
+        exhausted = i < 0;
+    }
+
+    /*
+     * Returns the domains of the forest restricted to the values compatible with the
+     * assignment of the cutset, or empty if a domain becomes empty.
+     */
+    private Optional<Map<String, Set<String>>> condition(Map<String, String> assignment) {
+        final Map<String, Set<String>> domains = new HashMap<>(forestDomains);
+        for (Map.Entry<String, String> entry : assignment.entrySet()) {
+            for (Constraint constraint : bridges.getOrDefault(entry.getKey(), List.of())) {
+                final int cutsetPosition = constraint.getVariables().indexOf(entry.getKey());
+                final String variable = constraint.getVariables().get(1 - cutsetPosition);
+                final Set<String> restricted = domains.get(variable).stream()
+                        .filter(value -> constraint.getCompTuples().contains(cutsetPosition == 0
+                                ? List.of(entry.getValue(), value) : List.of(value, entry.getValue())))
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+                if (restricted.isEmpty()) {
+                    return Optional.empty();
+                }
+                domains.put(variable, restricted);
+            }
+        }
+        return Optional.of(domains);
+    }
+}
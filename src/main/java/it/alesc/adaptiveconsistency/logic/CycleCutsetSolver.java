@@ -0,0 +1,160 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.logic.csp.*;
+import it.alesc.adaptiveconsistency.logic.exceptions.ResolutionStoppedException;
+import it.alesc.adaptiveconsistency.logic.ordering.ConstraintGraph;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * It solves a problem by cycle-cutset conditioning: the variables of a cutset, whose removal
+ * leaves a forest, are assigned in every consistent way and, for every assignment, the forest
+ * with the domains conditioned by it is solved by directional arc consistency as the
+ * {@link TreeSolver} does. The memory stays linear in the size of the problem, while the time
+ * is exponential only in the size of the cutset. The assignments are shared by several workers.
+ */
+@Slf4j
+public class CycleCutsetSolver {
+    private final Executor executor;
+    private final int parallelism;
+
+    /**
+     * @param executor the executor of the workers
+     * @param parallelism the number of workers conditioning the forest at the same time
+     */
+    public CycleCutsetSolver(Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be positive: " + parallelism);
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns a cycle cutset of the constraint graph of the specified problem: the variables
+     * with at most one neighbour are removed as long as there are some, then the variable with
+     * the most neighbours enters the cutset and is removed, until no variable is left.
+     *
+     * @param startInformation the problem
+     * @return the cutset, in the ordering of the problem, or empty if the constraints are not binary
+     */
+    public static Optional<List<String>> cutset(StartInformation startInformation) {
+        if (!isBinary(startInformation)) {
+            return Optional.empty();
+        }
+        final ConstraintGraph graph = ConstraintGraph.of(startInformation);
+        final Map<String, Set<String>> adjacency = new LinkedHashMap<>();
+        graph.variables().forEach(variable -> adjacency.put(variable, new HashSet<>(graph.neighbours(variable))));
+        final Set<String> cutset = new HashSet<>();
+        final Deque<String> leaves = adjacency.keySet().stream()
+                .filter(variable -> adjacency.get(variable).size() <= 1)
+                .collect(Collectors.toCollection(ArrayDeque::new));
+        while (!adjacency.isEmpty()) {
+            while (!leaves.isEmpty()) {
+                final String leaf = leaves.pop();
+                if (adjacency.containsKey(leaf)) {
+                    remove(adjacency, leaf, leaves);
+                }
+            }
+            adjacency.keySet().stream()
+                    .max(Comparator.comparingInt(variable -> adjacency.get(variable).size()))
+                    .ifPresent(hub -> {
+                        cutset.add(hub);
+                        remove(adjacency, hub, leaves);
+                    });
+        }
+        return Optional.of(startInformation.variableOrder().stream().filter(cutset::contains).toList());
+    }
+
+    public CSPResolutionTracker solve(StartInformation startInformation, SolverControl control) {
+        return solveAsync(startInformation, control).join();
+    }
+
+    /**
+     * Solves the specified problem by conditioning on its cutset. The tracker has no steps,
+     * only the solution found by the first worker that finds one.
+     *
+     * @param startInformation the problem to solve, whose constraints must be binary
+     * @param control the deadline and the cancellation of the resolution
+     * @return the future tracker of the resolution
+     */
+    public CompletableFuture<CSPResolutionTracker> solveAsync(StartInformation startInformation,
+                                                              SolverControl control) {
+        final String methodName = "solveAsync";
+        final List<String> cutset = cutset(startInformation)
+                .orElseThrow(() -> new IllegalArgumentException("The constraints must be binary"));
+        if (startInformation.toCSP().notSatisfiable()) {
+            final var tracker = new CSPResolutionTracker(startInformation, false);
+            tracker.metrics().recordResolution();
+            return CompletableFuture.completedFuture(tracker.complete());
+        }
+        final var conditioning = Conditioning.of(startInformation, cutset);
+        log.info("{} - cutset of {} variables: {}", methodName, cutset.size(), cutset);
+
+        final long start = System.nanoTime();
+        final SolverControl workersControl = control.child();
+        final var found = new CompletableFuture<Map<String, String>>();
+        final var running = new AtomicInteger(parallelism);
+        final var stopped = new AtomicReference<ResolutionStatus>();
+        final var conditioned = new AtomicLong();
+        for (int i = 0; i < parallelism; i++) {
+            executor.execute(() -> {
+                try {
+                    conditioning.search(found, conditioned, workersControl);
+                } catch (ResolutionStoppedException e) {
+                    stopped.compareAndSet(null, e.getStatus());
+                } catch (RuntimeException e) {
+                    found.completeExceptionally(e);
+                } finally {
+                    if (running.decrementAndGet() == 0) {
+                        found.complete(null);
+                    }
+                }
+            });
+        }
+
+        return found.handle((solution, error) -> {
+            workersControl.cancel();
+            log.info("{} - {} cutset assignments conditioned", methodName, conditioned.get());
+            if (error != null) {
+                throw new CompletionException(error);
+            }
+            final var tracker = new CSPResolutionTracker(startInformation, solution != null || stopped.get() != null);
+            tracker.metrics().recordSolution(System.nanoTime() - start);
+            tracker.metrics().recordResolution();
+            if (solution != null) {
+                log.info("{} - solution: {}", methodName, solution);
+                return tracker.addSolution(solution);
+            }
+            if (stopped.get() != null) {
+                return tracker.withStatus(stopped.get());
+            }
+            log.info("{} - the problem has no solution", methodName);
+            return tracker.complete();
+        });
+    }
+
+    private static boolean isBinary(StartInformation startInformation) {
+        return startInformation.constraints().stream()
+                .allMatch(constraint -> constraint.getVariables().size() == 2
+                        && !constraint.getVariables().get(0).equals(constraint.getVariables().get(1)));
+    }
+
+    private static void remove(Map<String, Set<String>> adjacency, String variable, Deque<String> leaves) {
+        for (String neighbour : adjacency.remove(variable)) {
+            final Set<String> neighbours = adjacency.get(neighbour);
+            neighbours.remove(variable);
+            if (neighbours.size() <= 1) {
+                leaves.push(neighbour);
+            }
+        }
+    }
+}
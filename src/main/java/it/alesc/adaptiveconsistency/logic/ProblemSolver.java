@@ -3,14 +3,24 @@ package it.alesc.adaptiveconsistency.logic;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
-import io.vavr.Tuple;
 import io.vavr.Tuple2;
 import it.alesc.adaptiveconsistency.logic.csp.*;
+import it.alesc.adaptiveconsistency.logic.exceptions.ResolutionStoppedException;
+import it.alesc.adaptiveconsistency.logic.jfr.BucketEvent;
+import it.alesc.adaptiveconsistency.logic.jfr.ConsistencyEvent;
+import it.alesc.adaptiveconsistency.logic.jfr.SolutionEvent;
+import it.alesc.adaptiveconsistency.logic.jfr.UpdateCSPEvent;
+import it.alesc.adaptiveconsistency.logic.mdd.MddRelation;
+import it.alesc.adaptiveconsistency.logic.presolve.Presolver;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -27,79 +37,630 @@ import java.util.stream.Stream;
 @UtilityClass
 public class ProblemSolver {
 	private static final String START_METHOD_LOG_FORMAT = "Start method {}";
+	private static final int ADAPTIVE_MIN_TUPLES = 1024;
 
 	public static CSPResolutionTracker solveProblem(StartInformation startInformation) {
+		return solveProblem(startInformation, SolverControl.unbounded());
+	}
+
+	/**
+	 * Solves the problem until its end or until the specified control stops it.
+	 * A stopped resolution returns the tracker of the steps done, whose status
+	 * tells why it stopped.
+	 *
+	 * @param startInformation the problem to solve
+	 * @param control the deadline and the cancellation of the resolution
+	 * @return the tracker of the resolution
+	 */
+	public static CSPResolutionTracker solveProblem(StartInformation startInformation, SolverControl control) {
+		return solveProblem(startInformation, SolverOptions.exact(), control);
+	}
+
+	/**
+	 * Solves the problem with the specified options until its end or until the
+	 * specified control stops it. A problem whose ordering has width 1, i.e. whose
+	 * constraint graph is a forest visited from its roots, is solved along its
+	 * ordering by the {@link TreeSolver}, which honours the trace of the options;
+	 * a forest along another ordering can be reordered by {@link TreeSolver#treeOrdering}.
+	 * With a bounded i-bound the resolution is
+	 * approximated: a problem found not satisfiable has no solution, but one that
+	 * is not may have none as well, so {@link CSPResolutionTracker#exact()} tells
+	 * whether the result can be trusted. With the presolve the problem is reduced
+	 * first and the resolution is the one of the reduced problem.
+	 *
+	 * @param startInformation the problem to solve
+	 * @param options the options of the resolution
+	 * @param control the deadline and the cancellation of the resolution
+	 * @return the tracker of the resolution
+	 */
+	public static CSPResolutionTracker solveProblem(StartInformation startInformation, SolverOptions options,
+													SolverControl control) {
+		if (options.presolve()) {
+			return Presolver.defaults().solve(startInformation, options.withPresolve(false), control);
+		}
 		if (startInformation.toCSP().notSatisfiable()) {
 			log.info("{} - CSP (variables={} constraints={}) not satisfiable",
 					"solve", startInformation.variables(), startInformation.constraints());
-			return new CSPResolutionTracker(startInformation, false);
+			return finished(new CSPResolutionTracker(startInformation, false).complete());
+		}
+		final List<String> variableOrder = startInformation.variableOrder();
+		if (TreeSolver.treeOrdering(startInformation).filter(variableOrder::equals).isPresent()) {
+			log.info("{} - constraint graph of width 1 along {}", "solve", variableOrder);
+			return TreeSolver.solve(startInformation, variableOrder, options, control);
+		}
+
+		return eliminate(new CSPResolutionTracker(startInformation, true), options, control);
+	}
+
+	/**
+	 * Continues the resolution tracked by the specified tracker, e.g. one that was
+	 * stopped or restored from a checkpoint, from the bucket following its last step.
+	 *
+	 * @param tracker the tracker of the partial resolution
+	 * @param control the deadline and the cancellation of the resolution
+	 * @return the tracker of the resolution
+	 */
+	public static CSPResolutionTracker resume(CSPResolutionTracker tracker, SolverControl control) {
+		return resume(tracker, SolverOptions.exact(), control);
+	}
+
+	/**
+	 * Continues the resolution tracked by the specified tracker with the specified options.
+	 *
+	 * @param tracker the tracker of the partial resolution
+	 * @param options the options of the rest of the resolution
+	 * @param control the deadline and the cancellation of the resolution
+	 * @return the tracker of the resolution
+	 */
+	public static CSPResolutionTracker resume(CSPResolutionTracker tracker, SolverOptions options,
+											  SolverControl control) {
+		log.info("{} - resuming after {} steps", "resume", tracker.lastStepIndex());
+		if (tracker.iterations().isEmpty()) {
+			return solveProblem(tracker.startInformation(), options, control);
 		}
+		return eliminate(tracker.withStatus(ResolutionStatus.RUNNING), options, control);
+	}
 
-		return Lists.reverse(startInformation.variableOrder()).stream()
-				.reduce(new CSPResolutionTracker(startInformation, true),
-						ProblemSolver::nextIteration,
+	/*
+	 * Processes the buckets following the last step of the tracker on a working
+	 * store of the CSP reached, which is updated in place: a step without trace
+	 * records no CSP, so the last one gets the snapshot of the store to extract
+	 * the solution or to resume from it.
+	 */
+	private static CSPResolutionTracker eliminate(CSPResolutionTracker initialTracker, SolverOptions options,
+												  SolverControl control) {
+		final List<String> eliminationOrder = Lists.reverse(initialTracker.variablesOrder());
+		final BucketStore store = BucketStore.of(new CSP(initialTracker.lastStepVariables(),
+				initialTracker.lastStepConstraints()), initialTracker.variablesOrder());
+		return eliminationOrder.subList(Math.min(initialTracker.lastStepIndex(), eliminationOrder.size()),
+						eliminationOrder.size()).stream()
+				.reduce(initialTracker,
+						(tracker, variableName) -> nextIteration(tracker, store, variableName, options, control),
 						(tuple2, tuple22) -> tuple22)
-				.finish(tracker -> computeSolution(tracker, startInformation.variableOrder()));
+				.finish(tracker -> tracker.lastStepIndex() > 0
+						&& tracker.iterations().get(tracker.lastStepIndex() - 1).updatedCSP() == null
+						? tracker.withLastStepCSP(store.snapshot()) : tracker)
+				.finish(tracker -> computeSolution(tracker, initialTracker.variablesOrder(), control))
+				.finish(ProblemSolver::finished);
+	}
+
+	/**
+	 * Solves the problem asynchronously on the specified executor. Cancelling the
+	 * returned future cancels the control, so the resolution stops at its next check.
+	 *
+	 * @param startInformation the problem to solve
+	 * @param control the deadline and the cancellation of the resolution
+	 * @param executor the executor of the resolution
+	 * @return the future tracker of the resolution
+	 */
+	public static CompletableFuture<CSPResolutionTracker> solveProblemAsync(StartInformation startInformation,
+																			SolverControl control,
+																			Executor executor) {
+		return solveProblemAsync(startInformation, SolverOptions.exact(), control, executor);
+	}
+
+	/**
+	 * Solves the problem with the specified options asynchronously on the specified executor.
+	 *
+	 * @param startInformation the problem to solve
+	 * @param options the options of the resolution
+	 * @param control the deadline and the cancellation of the resolution
+	 * @param executor the executor of the resolution
+	 * @return the future tracker of the resolution
+	 */
+	public static CompletableFuture<CSPResolutionTracker> solveProblemAsync(StartInformation startInformation,
+																			SolverOptions options,
+																			SolverControl control,
+																			Executor executor) {
+		final CompletableFuture<CSPResolutionTracker> future = CompletableFuture.supplyAsync(
+				() -> solveProblem(startInformation, options, control), executor);
+		future.whenComplete((tracker, error) -> {
+			if (error instanceof CancellationException) {
+				control.cancel();
+			}
+		});
+		return future;
 	}
 
 	private static CSPResolutionTracker nextIteration(CSPResolutionTracker cspResolutionTracker,
-													  String variableName) {
-		final String methodName = "nextIteration";
-		final int iterationNumber = cspResolutionTracker.lastStepIndex() + 1;
-		if (!cspResolutionTracker.hasSolution()) {
+													  BucketStore store, String variableName,
+													  SolverOptions options, SolverControl control) {
+		if (!cspResolutionTracker.hasSolution() || cspResolutionTracker.isStopped()) {
 			return cspResolutionTracker;
 		}
 
+		try {
+			control.checkpoint();
+			return processBucket(cspResolutionTracker, store, variableName, options, control);
+		} catch (ResolutionStoppedException e) {
+			log.info("{} - resolution {} at variable {} after {} steps", "nextIteration",
+					e.getStatus(), variableName, cspResolutionTracker.lastStepIndex());
+			return cspResolutionTracker.withStatus(e.getStatus());
+		}
+	}
+
+	private static CSPResolutionTracker processBucket(CSPResolutionTracker cspResolutionTracker,
+													  BucketStore store, String variableName,
+													  SolverOptions options, SolverControl control) {
+		final String methodName = "nextIteration";
+		final int iterationNumber = cspResolutionTracker.lastStepIndex() + 1;
 		log.debug("{} - Start iteration #{} variable: {}", methodName, iterationNumber, variableName);
-		final Set<Variable> variables = cspResolutionTracker.lastStepVariables();
-		final Set<Constraint> constraints = cspResolutionTracker.lastStepConstraints();
-		final Optional<Variable> variable = Utils.getVariableFromName(variableName, variables);
+		final Optional<Variable> variable = store.variable(variableName);
 		if (variable.isEmpty()) {
 			return cspResolutionTracker;
 		}
 
-		final List<Variable> parents = getParents(variable.get(), variables, cspResolutionTracker);
+		final var bucketEvent = new BucketEvent();
+		bucketEvent.begin();
+		final long start = System.nanoTime();
+		final List<Variable> parents = store.parents(variableName);
+		final List<Constraint> constraints = store.bucket(variableName);
 		log.debug("{} - iteration #{} - parents: {}", methodName, iterationNumber, parents);
-		Constraint newConstraint = consistency(variable.get(), parents, constraints);
-		log.debug("{} - iteration #{} - consistency constraint: {}",
-				methodName, iterationNumber, newConstraint);
-		var consistentCSP = updateCSP(new CSP(variables, constraints), newConstraint);
+		final List<Elimination> eliminations = parents.size() > options.iBound()
+				? miniBucketConsistency(variable.get(), parents, constraints, options, control)
+				: List.of(consistency(variable.get(), parents, constraints, options.relations(), control));
+		final boolean approximated = eliminations.size() > 1;
+		if (approximated) {
+			log.debug("{} - iteration #{} - bucket split into {} mini-buckets",
+					methodName, iterationNumber, eliminations.size());
+		}
+		boolean notSatisfiable = false;
+		long generatedTuples = 0;
+		long acceptedTuples = 0;
+		long projectedTuples = 0;
+		for (Elimination elimination : eliminations) {
+			final Constraint newConstraint = elimination.constraint();
+			log.debug("{} - iteration #{} - consistency constraint: {}",
+					methodName, iterationNumber, newConstraint);
+			final var updateEvent = new UpdateCSPEvent();
+			updateEvent.begin();
+			final boolean emptied = update(store, newConstraint);
+			updateEvent.record(variableName, newConstraint, store::constraints);
+			notSatisfiable |= newConstraint.getCompTuples().isEmpty() || emptied;
+			generatedTuples += elimination.generatedTuples();
+			acceptedTuples += elimination.acceptedTuples();
+			projectedTuples += newConstraint.getCompTuples().size();
+		}
+		// the listeners get the CSP of every step, e.g. to checkpoint its changes
+		final CSP consistentCSP = options.trace() || control.hasListeners() ? store.snapshot() : null;
 		log.debug("{} - iteration #{} - updatedCSP: {}", methodName, iterationNumber, consistentCSP);
-		final boolean notSatisfiable = consistentCSP.notSatisfiable(newConstraint.getVariables());
 		if (notSatisfiable) {
 			log.info("{} - iteration #{} - updatedCSP not satisfiable",	methodName, iterationNumber);
 		}
-		var step = new CSPResolutionStep(iterationNumber, variableName, consistentCSP);
-		return cspResolutionTracker.addStep(step, !notSatisfiable);
+		final var metrics = new BucketMetrics(System.nanoTime() - start, generatedTuples,
+				acceptedTuples, projectedTuples);
+		cspResolutionTracker.metrics().recordBucket(metrics.elapsedNanos(), metrics.generatedTuples(),
+				metrics.acceptedTuples(), metrics.projectedTuples());
+		bucketEvent.record(iterationNumber, variableName, parents.size(), metrics.generatedTuples(),
+				metrics.acceptedTuples(), metrics.projectedTuples(), !notSatisfiable);
+		var step = new CSPResolutionStep(iterationNumber, variableName, consistentCSP, metrics, approximated);
+		final CSPResolutionTracker updatedTracker = cspResolutionTracker.addStep(step, !notSatisfiable);
+		control.stepCompleted(cspResolutionTracker, updatedTracker);
+		return updatedTracker;
+	}
+
+	/**
+	 * Processes the bucket of the specified variable: joins the constraints applicable
+	 * to the variable and its parents and projects the result onto the parents. It is
+	 * independent of the rest of the resolution, so it can run on another process.
+	 *
+	 * @param variable the variable of the bucket
+	 * @param parents the parents of the variable, in the order of the resolution
+	 * @param constraints the constraints of the bucket
+	 * @param control the deadline and the cancellation of the processing
+	 * @return the projected constraint and the counters of the processing
+	 */
+	public static BucketElimination eliminate(Variable variable, List<Variable> parents,
+											  Collection<Constraint> constraints, SolverControl control) {
+		final long start = System.nanoTime();
+		final Elimination elimination = consistency(variable, parents, constraints, RelationFormat.HASH_SET,
+				control);
+		final Constraint projection = elimination.constraint();
+		return new BucketElimination(projection, new BucketMetrics(System.nanoTime() - start,
+				elimination.generatedTuples(), elimination.acceptedTuples(), projection.getCompTuples().size()));
 	}
 
-	private List<Variable> getParents(final Variable variable,
-									  final Set<Variable> variables,
-									  final CSPResolutionTracker cspResolutionTracker) {
-		return cspResolutionTracker.variablesOrder().stream()
-				.takeWhile(variableName -> !StringUtils.equals(variableName, variable.getName()))
-				.filter(v -> existConstraintBetween(List.of(v, variable.getName()), cspResolutionTracker.lastStepConstraints()))
-				.map(name -> Utils.getVariableFromName(name, variables))
-				.filter(Optional::isPresent)
-				.map(Optional::get)
+	/**
+	 * Adds to the resolution the step of the specified variable, whose bucket was
+	 * processed elsewhere, e.g. by {@link #eliminate}.
+	 *
+	 * @param tracker the tracker of the resolution
+	 * @param variableName the variable of the processed bucket
+	 * @param elimination the result of the processing of the bucket
+	 * @return the tracker with the new step
+	 */
+	public static CSPResolutionTracker applyElimination(CSPResolutionTracker tracker, String variableName,
+														BucketElimination elimination) {
+		if (!tracker.hasSolution() || tracker.isStopped()) {
+			return tracker;
+		}
+		final Constraint projection = elimination.projection();
+		final CSP consistentCSP = updateCSP(new CSP(tracker.lastStepVariables(), tracker.lastStepConstraints()),
+				projection);
+		final BucketMetrics metrics = elimination.metrics();
+		tracker.metrics().recordBucket(metrics.elapsedNanos(), metrics.generatedTuples(),
+				metrics.acceptedTuples(), metrics.projectedTuples());
+		final var step = new CSPResolutionStep(tracker.lastStepIndex() + 1, variableName, consistentCSP, metrics);
+		return tracker.addStep(step, !projection.getCompTuples().isEmpty()
+				&& !consistentCSP.notSatisfiable(projection.getVariables()));
+	}
+
+	/**
+	 * Adds to the resolution the steps of the specified variables, in their order, whose
+	 * buckets were processed elsewhere, e.g. by {@link #eliminate}. The projections are
+	 * added to a working store as in a resolution without trace, so only the last step
+	 * records its CSP instead of every step holding a copy of the whole CSP.
+	 *
+	 * @param tracker the tracker of the resolution
+	 * @param variableNames the variables of the processed buckets
+	 * @param eliminations the results of the processing of the buckets, by variable
+	 * @return the tracker with the new steps
+	 */
+	public static CSPResolutionTracker applyEliminations(CSPResolutionTracker tracker, List<String> variableNames,
+														 Map<String, BucketElimination> eliminations) {
+		final BucketStore store = BucketStore.of(new CSP(tracker.lastStepVariables(), tracker.lastStepConstraints()),
+				tracker.variablesOrder());
+		CSPResolutionTracker updatedTracker = tracker;
+		for (String variableName : variableNames) {
+			if (!updatedTracker.hasSolution() || updatedTracker.isStopped()) {
+				break;
+			}
+			final BucketElimination elimination = eliminations.get(variableName);
+			final Constraint projection = elimination.projection();
+			final boolean emptied = update(store, projection);
+			final BucketMetrics metrics = elimination.metrics();
+			updatedTracker.metrics().recordBucket(metrics.elapsedNanos(), metrics.generatedTuples(),
+					metrics.acceptedTuples(), metrics.projectedTuples());
+			final var step = new CSPResolutionStep(updatedTracker.lastStepIndex() + 1, variableName, null, metrics);
+			updatedTracker = updatedTracker.addStep(step, !projection.getCompTuples().isEmpty() && !emptied);
+		}
+		return updatedTracker.lastStepIndex() > tracker.lastStepIndex()
+				? updatedTracker.withLastStepCSP(store.snapshot()) : updatedTracker;
+	}
+
+	/**
+	 * Extracts the solution of a resolution whose buckets were all processed.
+	 *
+	 * @param tracker the tracker of the resolution
+	 * @param control the deadline and the cancellation of the extraction
+	 * @return the tracker with the solution
+	 */
+	public static CSPResolutionTracker completeResolution(CSPResolutionTracker tracker, SolverControl control) {
+		return finished(computeSolution(tracker, tracker.variablesOrder(), control));
+	}
+
+	/*
+	 * Records the end of the resolution in its metrics, whatever its outcome.
+	 */
+	private static CSPResolutionTracker finished(CSPResolutionTracker tracker) {
+		tracker.metrics().recordResolution();
+		return tracker;
+	}
+
+	private Elimination consistency(final Variable variable, final List<Variable> parents,
+			final Collection<Constraint> constraints, final RelationFormat format, final SolverControl control) {
+		if (format == RelationFormat.DECISION_DIAGRAM) {
+			return diagramConsistency(variable, parents, constraints, control);
+		}
+		final var event = new ConsistencyEvent();
+		event.begin();
+		final BucketJoin join = bucketTuples(variable, parents, constraints, control);
+		final Set<List<String>> projTuples = project(join.tuples(), parents.size(), format);
+		event.record(variable.getName(), parents.size(), join.applicableConstraints(),
+				join.generatedTuples(), join.tuples().size(), projTuples.size());
+
+		return new Elimination(new Constraint(getNamesFromVariables(parents), projTuples),
+				join.generatedTuples(), join.tuples().size());
+	}
+
+	/*
+	 * Processes the bucket on decision diagrams: the join is the conjunction of
+	 * the constraints extended to the parents and the variable, so no tuple is
+	 * enumerated, and the variable is projected away on the diagram of the join.
+	 * The variables of the join follow the ordering, the variable being the
+	 * latest, so the projections of the buckets, over parents in the same order,
+	 * are extended on their diagrams. The join generates no tuple, so its tuples
+	 * are counted as both generated and accepted.
+	 */
+	private Elimination diagramConsistency(final Variable variable, final List<Variable> parents,
+			final Collection<Constraint> constraints, final SolverControl control) {
+		final var event = new ConsistencyEvent();
+		event.begin();
+		final List<Constraint> applicableConstr = getApplicableConstraints(
+				constraints, variable.getName(), getNamesFromVariables(parents));
+		final List<Variable> allVar = Stream.concat(parents.stream(), Stream.of(variable)).toList();
+		final List<String> scope = getNamesFromVariables(allVar);
+		final List<Set<String>> domains = allVar.stream().map(Variable::getDomain).toList();
+		MddRelation join = MddRelation.extend(Set.of(List.of()), List.of(), scope, domains);
+		for (Constraint constraint : applicableConstr) {
+			control.checkpoint();
+			join = join.and(MddRelation.extend(constraint.getCompTuples(), constraint.getVariables(), scope, domains));
+		}
+		control.checkpoint();
+		final MddRelation projTuples = join.project(parents.size());
+		event.record(variable.getName(), parents.size(), applicableConstr.size(),
+				join.size(), join.size(), projTuples.size());
+
+		return new Elimination(new Constraint(getNamesFromVariables(parents), projTuples),
+				join.size(), join.size());
+	}
+
+	/*
+	 * Projects the join of a bucket onto the parents, i.e. removes the value of
+	 * the variable, the first of every tuple, and stores the projection in the
+	 * specified format. The adaptive format keeps the decision diagram of the
+	 * relations with at least ADAPTIVE_MIN_TUPLES tuples whose diagram has
+	 * less than half the references of the set of tuples.
+	 */
+	private Set<List<String>> project(final List<List<String>> tuples, final int parentCount,
+			final RelationFormat format) {
+		final ProjectionPlan plan = ProjectionPlan.dropping(1, parentCount + 1);
+		final Set<List<String>> projTuples = new HashSet<>();
+		for (List<String> tuple : tuples) {
+			if (!plan.accepts(tuple, projTuples)) {
+				projTuples.add(plan.project(tuple));
+			}
+		}
+		if (format == RelationFormat.ADAPTIVE && projTuples.size() >= ADAPTIVE_MIN_TUPLES) {
+			final MddRelation diagram = MddRelation.of(projTuples, parentCount);
+			if (diagram.edgeCount() * 2 < (long) projTuples.size() * parentCount) {
+				return diagram;
+			}
+		}
+		return projTuples;
+	}
+
+	/*
+	 * Splits the bucket of the variable into mini-buckets whose scopes, the
+	 * variable excluded, have at most iBound variables and projects every
+	 * mini-bucket separately. Every constraint, from the largest one, goes into
+	 * the first mini-bucket that can hold it; a constraint larger than the bound
+	 * gets a mini-bucket of its own.
+	 */
+	private List<Elimination> miniBucketConsistency(final Variable variable, final List<Variable> parents,
+			final Collection<Constraint> constraints, final SolverOptions options, final SolverControl control) {
+		final int iBound = options.iBound();
+		final List<Constraint> applicableConstr = getApplicableConstraints(constraints, variable.getName(),
+				getNamesFromVariables(parents)).stream()
+				.sorted(Comparator.comparing((Constraint constraint) -> constraint.getVariables().size()).reversed())
+				.toList();
+		final List<Set<String>> scopes = new ArrayList<>();
+		final List<List<Constraint>> miniBuckets = new ArrayList<>();
+		for (Constraint constraint : applicableConstr) {
+			final Set<String> constraintParents = constraint.getVariables().stream()
+					.filter(name -> !StringUtils.equals(name, variable.getName()))
+					.collect(Collectors.toSet());
+			final int index = IntStream.range(0, scopes.size())
+					.filter(i -> Sets.union(scopes.get(i), constraintParents).size() <= iBound)
+					.findFirst()
+					.orElseGet(() -> {
+						scopes.add(new HashSet<>());
+						miniBuckets.add(new ArrayList<>());
+						return scopes.size() - 1;
+					});
+			scopes.get(index).addAll(constraintParents);
+			miniBuckets.get(index).add(constraint);
+		}
+		return IntStream.range(0, miniBuckets.size())
+				.mapToObj(i -> consistency(variable,
+						parents.stream().filter(parent -> scopes.get(i).contains(parent.getName())).toList(),
+						miniBuckets.get(i), options.relations(), control))
 				.toList();
 	}
 
-	private Constraint consistency(final Variable variable,
-			final List<Variable> parents, final Set<Constraint> constraints) {
+	/*
+	 * Returns the tuples over the variable followed by its parents that satisfy
+	 * every constraint of the specified set applicable to them, i.e. the join
+	 * of the bucket of the variable. The tuples are filtered while they are
+	 * enumerated, so only the accepted ones are allocated.
+	 */
+	private BucketJoin bucketTuples(final Variable variable,
+			final List<Variable> parents, final Collection<Constraint> constraints, final SolverControl control) {
 		List<Constraint> applicableConstr = getApplicableConstraints(
 				constraints, variable.getName(), getNamesFromVariables(parents));
-		List<Variable> allVar = CollectionUtils.listOf(variable, parents);
-		List<List<String>> allTuples = getAllTuples(allVar);
-		List<List<String>> compTuples = filterTuples(allTuples,
-				getNamesFromVariables(allVar), applicableConstr);
-		final Map<Integer, Integer> positions = IntStream.range(1, allVar.size()).boxed()
-				.collect(Collectors.toMap(i -> i - 1, Function.identity()));
-		Set<List<String>> projTuples = compTuples.stream()
-				.map(tuple -> projectTuple(tuple, positions))
-				.collect(Collectors.toSet());
+		final List<Variable> allVar = CollectionUtils.listOf(variable, parents);
+		final List<ProjectionPlan> plans = plans(getNamesFromVariables(allVar), applicableConstr);
+		final List<List<String>> tuples = new ArrayList<>();
+		final long generatedTuples = enumerateTuples(allVar, control, tuple -> {
+			if (isAcceptable(tuple, plans, applicableConstr)) {
+				tuples.add(List.copyOf(tuple));
+			}
+		});
+		return new BucketJoin(tuples, generatedTuples, applicableConstr.size());
+	}
+
+	public static OptimizationResult optimize(WeightedCSP problem) {
+		return optimize(problem, SolverControl.unbounded());
+	}
 
-		return new Constraint(getNamesFromVariables(parents), projTuples);
+	/**
+	 * Finds a solution of minimum cost of the specified weighted problem by min-sum
+	 * bucket elimination along its ordering: the bucket of every variable, from the
+	 * last one, is summarized by the function of its parents giving the minimum cost
+	 * of the bucket over the values of the variable. The solution is then assigned
+	 * along the ordering without backtracking, every variable taking the value of
+	 * minimum cost of its bucket given the values of its parents.
+	 *
+	 * @param problem the weighted problem
+	 * @param control the deadline and the cancellation of the optimization
+	 * @return a solution of minimum cost with its cost
+	 */
+	public static OptimizationResult optimize(WeightedCSP problem, SolverControl control) {
+		final String methodName = "optimize";
+		log.info(START_METHOD_LOG_FORMAT, methodName);
+		final Map<String, Variable> variables = problem.variables().stream()
+				.collect(Collectors.toMap(Variable::getName, Function.identity()));
+		final var partition = new BucketPartition<>(problem.variableOrder(), CostFunction::variables);
+		problem.functions().forEach(partition::add);
+		try {
+			for (String variableName : Lists.reverse(problem.variableOrder())) {
+				control.checkpoint();
+				final List<Variable> parents = partition.parents(variableName).stream().map(variables::get).toList();
+				final CostFunction message = minSum(variables.get(variableName), parents,
+						partition.bucket(variableName), control);
+				log.debug("{} - variable {} - minimum costs over {}: {} tuples",
+						methodName, variableName, message.variables(), message.costs().size());
+				if (message.costs().isEmpty()) {
+					log.info("{} - the problem has no solution", methodName);
+					return new OptimizationResult(ResolutionStatus.COMPLETED, null, null);
+				}
+				partition.add(message);
+			}
+
+			control.checkpoint();
+			final Map<String, String> solution = new TreeMap<>();
+			for (String variableName : problem.variableOrder()) {
+				solution.put(variableName, minimumCostValue(variables.get(variableName),
+						partition.parents(variableName), partition.bucket(variableName), solution));
+			}
+			final long cost = partition.unplaced().stream()
+					.filter(function -> function.variables().isEmpty())
+					.mapToLong(function -> function.costs().get(List.of()))
+					.sum();
+			log.info("End method {} - result: {} cost: {}", methodName, solution, cost);
+			return new OptimizationResult(ResolutionStatus.COMPLETED, solution, cost);
+		} catch (ResolutionStoppedException e) {
+			log.info("{} - optimization {}", methodName, e.getStatus());
+			return new OptimizationResult(e.getStatus(), null, null);
+		}
+	}
+
+	/*
+	 * Returns the function of the parents giving, for every tuple of their values,
+	 * the minimum cost of the functions of the bucket over the values of the
+	 * variable: the tuples for which no value is allowed are not allowed.
+	 */
+	private CostFunction minSum(final Variable variable, final List<Variable> parents,
+			final List<CostFunction> functions, final SolverControl control) {
+		final List<String> scope = getNamesFromVariables(CollectionUtils.listOf(variable, parents));
+		final List<ProjectionPlan> plans = costPlans(scope, functions);
+		final List<String> tuple = new ArrayList<>(Collections.nCopies(scope.size(), (String) null));
+		final Map<List<String>, Long> costs = new HashMap<>();
+		enumerateTuples(parents, control, parentTuple -> {
+			for (int i = 0; i < parentTuple.size(); i++) {
+				tuple.set(i + 1, parentTuple.get(i));
+			}
+			Long minimum = null;
+			for (String value : variable.getDomain()) {
+				control.tick();
+				tuple.set(0, value);
+				final Long cost = bucketCost(tuple, plans, functions);
+				if (cost != null && (minimum == null || cost < minimum)) {
+					minimum = cost;
+				}
+			}
+			if (minimum != null) {
+				costs.put(List.copyOf(parentTuple), minimum);
+			}
+		});
+		return new CostFunction(getNamesFromVariables(parents), costs);
+	}
+
+	private String minimumCostValue(final Variable variable, final List<String> parents,
+			final List<CostFunction> functions, final Map<String, String> solution) {
+		final List<String> scope = CollectionUtils.listOf(variable.getName(), parents);
+		final List<ProjectionPlan> plans = costPlans(scope, functions);
+		final List<String> tuple = new ArrayList<>(scope.size());
+		tuple.add(null);
+		parents.forEach(parent -> tuple.add(solution.get(parent)));
+		String best = null;
+		long minimum = Long.MAX_VALUE;
+		for (String value : variable.getDomain()) {
+			tuple.set(0, value);
+			final Long cost = bucketCost(tuple, plans, functions);
+			if (cost != null && cost < minimum) {
+				best = value;
+				minimum = cost;
+			}
+		}
+		if (best == null) {
+			throw new IllegalStateException("No value of " + variable.getName() + " is allowed by " + solution);
+		}
+		return best;
+	}
+
+	private List<ProjectionPlan> costPlans(final List<String> scope, final List<CostFunction> functions) {
+		final List<ProjectionPlan> plans = new ArrayList<>(functions.size());
+		for (CostFunction function : functions) {
+			plans.add(ProjectionPlan.of(scope, function.variables()));
+		}
+		return plans;
+	}
+
+	/*
+	 * Returns the sum of the costs of the tuple in the functions, or null if a
+	 * function does not allow it.
+	 */
+	private Long bucketCost(final List<String> tuple, final List<ProjectionPlan> plans,
+			final List<CostFunction> functions) {
+		long total = 0;
+		for (int i = 0; i < plans.size(); i++) {
+			final Long cost = plans.get(i).valueOf(tuple, functions.get(i).costs());
+			if (cost == null) {
+				return null;
+			}
+			total += cost;
+		}
+		return total;
+	}
+
+	/**
+	 * Builds the bucket tree of the CSP reached by the specified tracker. Every
+	 * constraint is placed in the bucket of its latest variable in the ordering
+	 * and the relation of a bucket is the join of its constraints over the
+	 * variable and its parents.
+	 *
+	 * @param tracker the tracker of the resolution
+	 * @return the bucket tree of the last CSP of the tracker
+	 */
+	public static BucketTree buildBucketTree(CSPResolutionTracker tracker) {
+		final List<String> variableOrder = tracker.variablesOrder();
+		final Map<String, Integer> positions = IntStream.range(0, variableOrder.size()).boxed()
+				.collect(Collectors.toMap(variableOrder::get, Function.identity()));
+		final Map<String, Variable> variables = tracker.lastStepVariables().stream()
+				.collect(Collectors.toMap(Variable::getName, Function.identity()));
+		final Map<String, List<Constraint>> bucketConstraints = tracker.lastStepConstraints().stream()
+				.filter(constraint -> !constraint.getVariables().isEmpty())
+				.collect(Collectors.groupingBy(constraint -> constraint.getVariables().stream()
+						.max(Comparator.comparing(positions::get)).orElseThrow()));
+
+		final Map<String, Bucket> buckets = new LinkedHashMap<>();
+		variableOrder.forEach(name -> {
+			final List<Constraint> constraints = bucketConstraints.getOrDefault(name, List.of());
+			final List<Variable> parents = constraints.stream()
+					.flatMap(constraint -> constraint.getVariables().stream())
+					.filter(parentName -> !StringUtils.equals(parentName, name))
+					.distinct()
+					.sorted(Comparator.comparing(positions::get))
+					.map(variables::get)
+					.toList();
+			final Variable variable = variables.get(name);
+			final Set<List<String>> tuples = new HashSet<>(bucketTuples(variable, parents, constraints,
+					SolverControl.unbounded()).tuples());
+			final List<String> scope = getNamesFromVariables(CollectionUtils.listOf(variable, parents));
+			buckets.put(name, new Bucket(name, getNamesFromVariables(parents), new Constraint(scope, tuples)));
+		});
+		return new BucketTree(variableOrder, buckets);
 	}
 
 	/*
@@ -144,11 +705,66 @@ public class ProblemSolver {
 		final Stream<Constraint> permutedConstraintsStream = permutedConstraints.stream()
 				.map(cspConstraint -> new Tuple2<>(cspConstraint, permuteConstraint(constraint, cspConstraint.getVariables())))
 				.filter(t -> t._1.getVariables().equals(t._2.getVariables()))
-				.map(t -> new Constraint(t._1.getVariables(), Sets.intersection(t._1.getCompTuples(), t._2.getCompTuples())));
+				.map(t -> new Constraint(t._1.getVariables(), intersect(t._1.getCompTuples(), t._2.getCompTuples())));
 		var newConstraints =  Stream.concat(permutedConstraintsStream, constraintStream).collect(Collectors.toSet());
 		return new CSP(consistentCSP.variables(), newConstraints);
 	}
 
+	/*
+	 * Updates the store with the specified constraint in the same three ways
+	 * as updateCSP: only the domain of a unary constraint's variable or the
+	 * bucket of the constraint's latest variable is touched. Returns whether
+	 * the updated domain or relation is empty.
+	 */
+	private boolean update(final BucketStore store, final Constraint constraint) {
+		final List<String> scope = constraint.getVariables();
+		if (scope.isEmpty()) {
+			return false;
+		}
+		if (scope.size() == 1) {
+			final Optional<Variable> variable = store.variable(scope.get(0));
+			if (variable.isEmpty()) {
+				return false;
+			}
+			final var domain = constraint.getCompTuples().stream().map(list -> list.get(0)).collect(Collectors.toSet());
+			final Set<String> restricted = Sets.intersection(domain, variable.get().getDomain());
+			store.restrict(variable.get().getName(), restricted);
+			return restricted.isEmpty();
+		}
+
+		final List<Constraint> permutedConstraints = store.sameScope(scope);
+		if (permutedConstraints.isEmpty()) {
+			store.add(constraint);
+			return constraint.getCompTuples().isEmpty();
+		}
+		boolean empty = false;
+		for (Constraint cspConstraint : permutedConstraints) {
+			// a diagram keeps the order of its variables, the set of tuples is permuted instead
+			final var intersection = constraint.getCompTuples() instanceof MddRelation
+					&& !(cspConstraint.getCompTuples() instanceof MddRelation)
+					? new Constraint(scope, intersect(constraint.getCompTuples(),
+							permuteConstraint(cspConstraint, scope).getCompTuples()))
+					: new Constraint(cspConstraint.getVariables(), intersect(cspConstraint.getCompTuples(),
+							permuteConstraint(constraint, cspConstraint.getVariables()).getCompTuples()));
+			store.replace(cspConstraint, intersection);
+			empty |= intersection.getCompTuples().isEmpty();
+		}
+		return empty;
+	}
+
+	/*
+	 * Returns the tuples of both relations: the conjunction of the diagrams if
+	 * the first is a decision diagram, the other being turned into a diagram if
+	 * it is not, a view of the intersection otherwise.
+	 */
+	private Set<List<String>> intersect(Set<List<String>> first, Set<List<String>> second) {
+		if (first instanceof MddRelation firstDiagram) {
+			return firstDiagram.and(second instanceof MddRelation secondDiagram ? secondDiagram
+					: MddRelation.of(second, firstDiagram.arity()));
+		}
+		return Sets.intersection(first, second);
+	}
+
 	private CSP computeCSPSingleVariable(CSP consistentCSP, Constraint constraint) {
 		String variableName = constraint.getVariables().get(0);
 		var domain = constraint.getCompTuples().stream().map(list -> list.get(0)).collect(Collectors.toSet());
@@ -161,40 +777,77 @@ public class ProblemSolver {
 		return new CSP(newVariables, consistentCSP.constraints());
 	}
 
-	private static CSPResolutionTracker computeSolution(CSPResolutionTracker tracker, List<String> variableOrder) {
+	private static CSPResolutionTracker computeSolution(CSPResolutionTracker tracker, List<String> variableOrder,
+													   SolverControl control) {
 		final String methodName = "getSolution";
 		log.info(START_METHOD_LOG_FORMAT, methodName);
+		if (tracker.isStopped()) {
+			return tracker;
+		}
 		if (!tracker.hasSolution()) {
 			log.info("{} - the problem has no solution", methodName);
-			return tracker;
+			return tracker.complete();
 		}
 
+		try {
+			control.checkpoint();
+			return extractSolution(tracker, variableOrder, control);
+		} catch (ResolutionStoppedException e) {
+			log.info("{} - resolution {} during the extraction of the solution", methodName, e.getStatus());
+			return tracker.withStatus(e.getStatus());
+		}
+	}
+
+	private static CSPResolutionTracker extractSolution(CSPResolutionTracker tracker, List<String> variableOrder,
+													   SolverControl control) {
+		final String methodName = "getSolution";
+
+		final var event = new SolutionEvent();
+		event.begin();
+		final long start = System.nanoTime();
 		final Set<Variable> variables = tracker.lastStepVariables();
 		final Map<String, String> solution = variableOrder.stream()
 				.peek(variableName -> log.debug("{} - processing variable {}", methodName, variableName))
 				.map((String name) -> Utils.getVariableFromName(name, variables))
 				.filter(Optional::isPresent).map(Optional::get)
 				.reduce(Maps.newTreeMap(),
-						(solution1, variable) -> getSolutionForVariable(solution1, variable, tracker.lastStepConstraints()),
+						(solution1, variable) -> getSolutionForVariable(solution1, variable,
+								tracker.lastStepConstraints(), control),
 						(v1, v2) -> v2);
+		tracker.metrics().recordSolution(System.nanoTime() - start);
+		event.record(variables.size(), tracker.lastStepConstraints().size(), solution.size());
+		if (tracker.approximated() && solution.size() < variables.size()) {
+			log.info("{} - the approximated resolution found no solution: {}", methodName, solution);
+			return tracker.complete();
+		}
 		log.info("End method {} - result: {}", methodName, solution);
 		return tracker.addSolution(solution);
 	}
 
-	private TreeMap<String, String> getSolutionForVariable(TreeMap<String, String> solution,
-														   Variable variable,
-														   Set<Constraint> constraints) {
+	private static TreeMap<String, String> getSolutionForVariable(TreeMap<String, String> solution,
+																  Variable variable,
+																  Set<Constraint> constraints,
+																  SolverControl control) {
 		final String methodName = "getSolutionForVariable";
 		final List<String> solutionVariables = Lists.newArrayList(solution.keySet());
 		final List<String> allVariables = CollectionUtils.listOf(solutionVariables, variable.getName());
 		List<Constraint> appConstraints = getApplicableConstraints(	constraints, variable.getName(), solutionVariables);
 		log.debug("{} - variable {} - applicable constraints: {}",
 				methodName, variable.getName(), appConstraints);
+		final List<ProjectionPlan> plans = plans(allVariables, appConstraints);
+		final List<String> tuple = new ArrayList<>(solution.values());
+		tuple.add(null);
 		final Optional<String> solutionValue = variable.getDomain().stream()
-				.peek(value -> log.debug("{} - variable {} - processing value: {}",
-						methodName, variable.getName(), value))
-				.filter(value -> isAcceptable(CollectionUtils.listOf(solution.values(), value),
-						allVariables, appConstraints))
+				.peek(value -> {
+					if (log.isDebugEnabled()) {
+						log.debug("{} - variable {} - processing value: {}", methodName, variable.getName(), value);
+					}
+				})
+				.peek(value -> control.tick())
+				.filter(value -> {
+					tuple.set(tuple.size() - 1, value);
+					return isAcceptable(tuple, plans, appConstraints);
+				})
 				.findFirst();
 		var updatedSolution = Maps.newTreeMap(solution);
 		solutionValue.ifPresent(value -> {
@@ -206,12 +859,8 @@ public class ProblemSolver {
 	}
 
 
-	private boolean existConstraintBetween(final List<String> names, Set<Constraint> constraints) {
-		return constraints.stream().anyMatch(constraint -> constraint.getVariables().containsAll(names));
-	}
-
 	private List<Constraint> getApplicableConstraints(
-			final Set<Constraint> constraints, final String variableName,
+			final Collection<Constraint> constraints, final String variableName,
 			final List<String> parentsNames) {
 		final List<String> namesList = CollectionUtils.listOf(variableName, parentsNames);
 		return constraints.stream()
@@ -220,69 +869,72 @@ public class ProblemSolver {
 				.toList();
 	}
 
-	private List<List<String>> getAllTuples(final List<Variable> variables) {
-		if (variables.isEmpty()) {
-			return List.of(List.of());
+	/*
+	 * Enumerates the tuples over the variables like an odometer: the value of
+	 * the last variable changes first and, when its domain is exhausted, it
+	 * starts again and the previous variable moves to its next value. The
+	 * tuples are written in a single buffer, so the action gets a view of it
+	 * which it must copy to keep the tuple. Returns the number of tuples.
+	 */
+	private static long enumerateTuples(final List<Variable> variables, final SolverControl control,
+			final Consumer<List<String>> action) {
+		final int arity = variables.size();
+		final String[][] domains = new String[arity][];
+		for (int i = 0; i < arity; i++) {
+			domains[i] = variables.get(i).getDomain().toArray(String[]::new);
+			if (domains[i].length == 0) {
+				return 0;
+			}
 		}
 
-		Set<String> firstVarDomain = variables.get(0).getDomain();
-		List<Variable> varTail = variables.subList(1, variables.size());
-
-		List<List<String>> subProbTuples = getAllTuples(varTail);
-		log.debug("all tuples for {}: {}", varTail, subProbTuples);
-		return CollectionUtils.cartesianProduct(List.copyOf(firstVarDomain), subProbTuples).stream()
-				.map(t -> CollectionUtils.listOf(t._1, t._2)).toList();
-	}
-
-	private List<List<String>> filterTuples(final List<List<String>> allTuples,
-			final List<String> variableNames, final List<Constraint> constraints) {
-		final String methodName = "filterTuples";
-		if (constraints.isEmpty() || allTuples.isEmpty()) {
-			return allTuples;
+		final int[] indexes = new int[arity];
+		final String[] values = new String[arity];
+		for (int i = 0; i < arity; i++) {
+			values[i] = domains[i][0];
 		}
-
-		Constraint firstConstraint = constraints.get(0);
-		List<Constraint> constraintsTail = constraints.subList(1, constraints.size());
-		List<List<String>> filteredTail = filterTuples(allTuples, variableNames, constraintsTail);
-		log.debug("{} - variablesNamesPositions for list {} and {}",
-				methodName, variableNames, firstConstraint.getVariables());
-		Map<Integer, Integer> varNamePos = variablesNamesPositions(variableNames, firstConstraint.getVariables());
-		log.debug("{} - variablesNamesPositions: {}", methodName, varNamePos);
-		return filteredTail.stream().filter(tuple -> isAcceptable(tuple, varNamePos, firstConstraint)).toList();
-	}
-
-	private boolean isAcceptable(final List<String> tuple,
-								 final List<String> variableNames, final List<Constraint> constraints) {
-		return constraints.stream()
-				.map(constraint -> Tuple.of(constraint, constraintVariablesPosition(variableNames, constraint)))
-				.allMatch(t -> isAcceptable(tuple, t._2, t._1));
-	}
-
-	private Map<Integer, Integer> constraintVariablesPosition(List<String> variableNames, Constraint constraint) {
-		log.debug("{} - variablesNamesPositions for list {} and {}",
-				"constraintVariablesPosition", variableNames, constraint.getVariables());
-		Map<Integer, Integer> varNamePos = variablesNamesPositions(variableNames, constraint.getVariables());
-		log.debug("{} - variablesNamesPositions: {}", "constraintVariablesPosition", varNamePos);
-		return varNamePos;
-	}
-
-	private boolean isAcceptable(final List<String> tuple,
-								 Map<Integer, Integer> varNamePos, final Constraint constraint) {
-		final String methodName = "isAcceptable";
-		List<String> projTuple = projectTuple(tuple, varNamePos);
-		log.debug("{} - project tuple {} -> {}", methodName, tuple, projTuple);
-		return constraint.getCompTuples().stream().anyMatch(projTuple::equals);
+		final List<String> tuple = Arrays.asList(values);
+		long count = 0;
+		int position;
+		do {
+			control.tick();
+			action.accept(tuple);
+			count++;
+			position = arity - 1;
+			while (position >= 0 && ++indexes[position] == domains[position].length) {
+				indexes[position] = 0;
+				values[position] = domains[position][0];
+				position--;
+			}
+			if (position >= 0) {
+				values[position] = domains[position][indexes[position]];
+			}
+		} while (position >= 0);
+		return count;
 	}
 
-	private Map<Integer, Integer> variablesNamesPositions(final List<String> variableNames,
-														  final List<String> constraintNames) {
-		return IntStream.range(0, constraintNames.size()).boxed()
-				.collect(Collectors.toMap(Function.identity(), j -> variableNames.indexOf(constraintNames.get(j))));
+	/*
+	 * Compiles the projections of the tuples over the specified variables onto
+	 * the scopes of the constraints, once for all the tuples checked.
+	 */
+	private List<ProjectionPlan> plans(final List<String> variableNames, final List<Constraint> constraints) {
+		final List<ProjectionPlan> plans = new ArrayList<>(constraints.size());
+		for (Constraint constraint : constraints) {
+			plans.add(ProjectionPlan.of(variableNames, constraint.getVariables()));
+		}
+		return plans;
 	}
 
-	private static List<String> projectTuple(List<String> tuple, Map<Integer, Integer> positions) {
-		return positions.entrySet().stream().sorted(Map.Entry.comparingByKey())
-				.map(entry -> tuple.get(entry.getValue())).toList();
+	private boolean isAcceptable(final List<String> tuple, final List<ProjectionPlan> plans,
+								 final List<Constraint> constraints) {
+		for (int i = 0; i < plans.size(); i++) {
+			if (!plans.get(i).accepts(tuple, constraints.get(i).getCompTuples())) {
+				if (log.isDebugEnabled()) {
+					log.debug("{} - tuple {} rejected by {}", "isAcceptable", tuple, constraints.get(i));
+				}
+				return false;
+			}
+		}
+		return true;
 	}
 
 	private Constraint permuteConstraint(final Constraint constraint,
@@ -291,27 +943,22 @@ public class ProblemSolver {
 			return constraint;
 		}
 
-		Map<Integer, Integer> permutationMap = computePermutationMap(
-				constraint.getVariables(), variablesNames);
-		Set<List<String>> permTuples = constraint.getCompTuples().stream()
-				.map(tuple -> permuteTuple(tuple, permutationMap)).collect(Collectors.toSet());
+		final ProjectionPlan plan = ProjectionPlan.of(constraint.getVariables(), variablesNames);
+		final Set<List<String>> permTuples = new HashSet<>();
+		for (List<String> tuple : constraint.getCompTuples()) {
+			permTuples.add(plan.project(tuple));
+		}
 
 		return new Constraint(variablesNames, permTuples);
 	}
 
-	private List<String> permuteTuple(List<String> tuple, Map<Integer, Integer> permutationMap) {
-		return permutationMap.entrySet().stream().sorted(Map.Entry.comparingByValue())
-				.map(entry -> tuple.get(entry.getKey())).toList();
+	private List<String> getNamesFromVariables(final List<Variable> variables) {
+		return variables.stream().map(Variable::getName).toList();
 	}
 
-	private <T> Map<Integer, Integer> computePermutationMap(
-			final List<T> sourceList, final List<T> objectList) {
-		 return IntStream.range(0, sourceList.size())
-				.filter(i -> objectList.contains(sourceList.get(i))).boxed()
-				.collect(Collectors.toMap(Function.identity(), i -> objectList.indexOf(sourceList.get(i))));
+	private record BucketJoin(List<List<String>> tuples, long generatedTuples, int applicableConstraints) {
 	}
 
-	private List<String> getNamesFromVariables(final List<Variable> variables) {
-		return variables.stream().map(Variable::getName).toList();
+	private record Elimination(Constraint constraint, long generatedTuples, long acceptedTuples) {
 	}
 }
@@ -0,0 +1,88 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * The projection of the tuples over a scope onto another scope, compiled once into
+ * the positions of the target variables in the source scope: the value at index i
+ * of a projected tuple is the value at positions[i] of the source tuple. It checks
+ * the membership of a projection through a view reused for every tuple, so the
+ * check allocates nothing: a plan must not be shared between threads.
+ */
+final class ProjectionPlan {
+    private final int[] positions;
+    private final ProjectionView view = new ProjectionView();
+
+    private ProjectionPlan(int[] positions) {
+        this.positions = positions;
+    }
+
+    /*
+     * Returns the plan projecting the tuples over the source scope onto the target
+     * one, whose variables must all be in the source scope.
+     */
+    static ProjectionPlan of(List<String> source, List<String> target) {
+        final int[] positions = new int[target.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = source.indexOf(target.get(i));
+        }
+        return new ProjectionPlan(positions);
+    }
+
+    /*
+     * Returns the plan keeping the values from the specified position on, i.e. the
+     * projection removing the first variables of a scope.
+     */
+    static ProjectionPlan dropping(int first, int arity) {
+        final int[] positions = new int[arity - first];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = first + i;
+        }
+        return new ProjectionPlan(positions);
+    }
+
+    /*
+     * Returns the projection of the tuple as a new immutable list, to be stored.
+     */
+    List<String> project(List<String> tuple) {
+        final String[] values = new String[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            values[i] = tuple.get(positions[i]);
+        }
+        return List.of(values);
+    }
+
+    /*
+     * Checks whether the projection of the tuple belongs to the relation.
+     */
+    boolean accepts(List<String> tuple, Set<List<String>> relation) {
+        view.tuple = tuple;
+        return relation.contains(view);
+    }
+
+    /*
+     * Returns the value of the projection of the tuple in the function, or null if the
+     * function has none.
+     */
+    <V> V valueOf(List<String> tuple, Map<List<String>, V> function) {
+        view.tuple = tuple;
+        return function.get(view);
+    }
+
+    private final class ProjectionView extends AbstractList<String> {
+        private List<String> tuple;
+
+        @Override
+        public String get(int index) {
+            return tuple.get(positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package it.alesc.adaptiveconsistency.logic;
+
+/**
+ * The storage of the relations projected by the buckets.
+ */
+public enum RelationFormat {
+    /**
+     * A hash set of tuples.
+     */
+    HASH_SET,
+    /**
+     * A reduced multi-valued decision diagram: the join of a bucket is also built as a
+     * diagram, conjoining its constraints, so its tuples are never enumerated.
+     */
+    DECISION_DIAGRAM,
+    /**
+     * The decision diagram for the relations it compresses better than the hash set,
+     * the hash set for the others.
+     */
+    ADAPTIVE
+}
@@ -0,0 +1,18 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+
+/**
+ * It is notified by the solver at the end of the processing of every bucket. It is
+ * called on the thread of the resolution, so it must not block it.
+ */
+@FunctionalInterface
+public interface ResolutionListener {
+    /**
+     * Called when a step of the resolution is completed.
+     *
+     * @param previous the tracker before the step
+     * @param current the tracker whose last step is the completed one
+     */
+    void stepCompleted(CSPResolutionTracker previous, CSPResolutionTracker current);
+}
@@ -0,0 +1,50 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionStep;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.specification.ConstraintResult;
+import it.alesc.adaptiveconsistency.specification.ResolutionResult;
+import it.alesc.adaptiveconsistency.specification.ResolutionStepResult;
+import it.alesc.adaptiveconsistency.specification.Variable;
+import lombok.experimental.UtilityClass;
+
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * It converts the result of a resolution in its serializable representation.
+ */
+@UtilityClass
+public class ResolutionResultMapper {
+    public static ResolutionResult toResult(CSPResolutionTracker tracker, boolean includeTrace) {
+        final List<ResolutionStepResult> trace = includeTrace
+                ? tracker.iterations().stream().map(ResolutionResultMapper::toStepResult).toList()
+                : null;
+        return new ResolutionResult(tracker.status().name(), tracker.hasSolution(), tracker.exact(),
+                tracker.solution(), trace);
+    }
+
+    /*
+     * A step without its CSP, i.e. of a resolution without trace, has no variables and constraints.
+     */
+    private static ResolutionStepResult toStepResult(CSPResolutionStep step) {
+        if (step.updatedCSP() == null) {
+            return new ResolutionStepResult(step.number(), step.variable(), null, null);
+        }
+        final List<Variable> variables = step.updatedCSP().variables().stream()
+                .sorted(Comparator.comparing(it.alesc.adaptiveconsistency.logic.csp.Variable::getName))
+                .map(variable -> new Variable(variable.getName(), new LinkedHashSet<>(variable.getDomain())))
+                .toList();
+        final List<ConstraintResult> constraints = step.updatedCSP().constraints().stream()
+                .map(ResolutionResultMapper::toConstraintResult)
+                .sorted(Comparator.comparing(constraint -> constraint.getVariables().toString()))
+                .toList();
+        return new ResolutionStepResult(step.number(), step.variable(), variables, constraints);
+    }
+
+    private static ConstraintResult toConstraintResult(Constraint constraint) {
+        return new ConstraintResult(constraint.getVariables(), List.copyOf(constraint.getCompTuples()));
+    }
+}
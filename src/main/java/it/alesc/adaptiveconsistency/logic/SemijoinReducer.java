@@ -0,0 +1,72 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.logic.csp.*;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * This class implements the top-down semijoin pass over the bucket tree produced
+ * by the adaptive consistency. Processing the buckets along the variable ordering,
+ * the relation of every bucket is reduced to the tuples which projection on the
+ * parents belongs to the (already reduced) relation of its parent bucket. After the
+ * pass every tuple of every bucket extends to a solution of the CSP.
+ */
+@Slf4j
+@UtilityClass
+public class SemijoinReducer {
+    /**
+     * Reduces the bucket tree of the CSP reached by the specified tracker.
+     *
+     * @param tracker the tracker of a resolution
+     * @return the reduced bucket tree with the relation sizes before and after the reduction
+     */
+    public static SemijoinReduction reduce(CSPResolutionTracker tracker) {
+        return reduce(ProblemSolver.buildBucketTree(tracker));
+    }
+
+    /**
+     * Reduces the specified bucket tree.
+     *
+     * @param bucketTree the bucket tree to reduce
+     * @return the reduced bucket tree with the relation sizes before and after the reduction
+     */
+    public static SemijoinReduction reduce(BucketTree bucketTree) {
+        final String methodName = "reduce";
+        final Map<String, Bucket> reducedBuckets = new LinkedHashMap<>();
+        final List<RelationReduction> reductions = new ArrayList<>();
+        for (String variableName : bucketTree.variableOrder()) {
+            final Bucket bucket = bucketTree.bucket(variableName);
+            final Bucket reducedBucket = bucket.parentBucketVariable()
+                    .map(reducedBuckets::get)
+                    .map(parentBucket -> semijoin(bucket, parentBucket))
+                    .orElse(bucket);
+            reducedBuckets.put(variableName, reducedBucket);
+            reductions.add(new RelationReduction(variableName, bucket.size(), reducedBucket.size()));
+        }
+
+        final SemijoinReduction reduction = new SemijoinReduction(
+                new BucketTree(bucketTree.variableOrder(), reducedBuckets), reductions);
+        log.info("{} - relation sizes: before={} after={}", methodName, reduction.sizeBefore(), reduction.sizeAfter());
+        return reduction;
+    }
+
+    /*
+     * Returns the bucket with the tuples of the specified bucket which projection
+     * on the parents is a projection of a tuple of the parent bucket.
+     */
+    private static Bucket semijoin(Bucket bucket, Bucket parentBucket) {
+        final List<String> parentVariables = parentBucket.relation().getVariables();
+        final int[] positions = bucket.parents().stream().mapToInt(parentVariables::indexOf).toArray();
+        final Set<List<String>> parentProjections = parentBucket.relation().getCompTuples().stream()
+                .map(tuple -> Arrays.stream(positions).mapToObj(tuple::get).toList())
+                .collect(Collectors.toSet());
+        final Set<List<String>> tuples = bucket.relation().getCompTuples().stream()
+                .filter(tuple -> parentProjections.contains(tuple.subList(1, tuple.size())))
+                .collect(Collectors.toSet());
+        return new Bucket(bucket.variable(), bucket.parents(),
+                new Constraint(bucket.relation().getVariables(), tuples));
+    }
+}
@@ -0,0 +1,202 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import com.google.common.collect.Lists;
+import it.alesc.adaptiveconsistency.logic.csp.Bucket;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * It draws uniformly random solutions from a compiled network. Every tuple of a bucket is
+ * annotated once, from the last bucket of the ordering, with the number of the extensions of
+ * the tuple to the variables of the buckets below it in the bucket tree, i.e. the product of
+ * the counts of its children buckets for the values of the tuple. A sample assigns the
+ * variables along the ordering, each one with a tuple agreeing with the values of its
+ * parents drawn with a probability proportional to its count, so every solution is drawn
+ * with the same probability without enumerating them. The sampler is immutable, so
+ * concurrent threads can share it.
+ */
+@Slf4j
+public final class SolutionSampler {
+    private final List<String> variableOrder;
+    private final Map<String, Bucket> buckets;
+    /*
+     * The tuples of every bucket with a positive count, grouped by the values of the parents.
+     */
+    private final Map<String, Map<List<String>, Group>> groups;
+    private final BigInteger solutionCount;
+
+    private SolutionSampler(List<String> variableOrder, Map<String, Bucket> buckets,
+                            Map<String, Map<List<String>, Group>> groups, BigInteger solutionCount) {
+        this.variableOrder = variableOrder;
+        this.buckets = buckets;
+        this.groups = groups;
+        this.solutionCount = solutionCount;
+    }
+
+    /**
+     * Annotates the buckets of the specified network with the counts of their tuples.
+     *
+     * @param network the compiled network
+     * @return the sampler of the solutions of the network
+     */
+    public static SolutionSampler of(CompiledNetwork network) {
+        final List<String> variableOrder = network.variableOrder();
+        if (!network.satisfiable()) {
+            // the elimination stopped at the first empty relation, so the buckets are not counted
+            return new SolutionSampler(variableOrder, Map.of(), Map.of(), BigInteger.ZERO);
+        }
+        final Map<String, Bucket> buckets = new HashMap<>();
+        final Map<String, List<Bucket>> children = new HashMap<>();
+        for (String name : variableOrder) {
+            final Bucket bucket = network.bucket(name);
+            buckets.put(name, bucket);
+            bucket.parentBucketVariable().ifPresent(parent ->
+                    children.computeIfAbsent(parent, key -> new ArrayList<>()).add(bucket));
+        }
+
+        final Map<String, Map<List<String>, Group>> groups = new HashMap<>();
+        BigInteger solutionCount = BigInteger.ONE;
+        for (String name : Lists.reverse(variableOrder)) {
+            final Map<List<String>, Group> bucketGroups = count(buckets.get(name),
+                    children.getOrDefault(name, List.of()), groups);
+            groups.put(name, bucketGroups);
+            if (buckets.get(name).parents().isEmpty()) {
+                final Group root = bucketGroups.get(List.of());
+                solutionCount = solutionCount.multiply(root == null ? BigInteger.ZERO : root.total());
+            }
+        }
+        log.info("{} - {} solutions", "of", solutionCount);
+        return new SolutionSampler(variableOrder, Map.copyOf(buckets), Map.copyOf(groups), solutionCount);
+    }
+
+    public BigInteger solutionCount() {
+        return solutionCount;
+    }
+
+    /**
+     * Draws a uniformly random solution.
+     *
+     * @param random the source of randomness, which must not be shared between threads
+     * @return the solution or empty if the network has no solution
+     */
+    public Optional<Map<String, String>> sample(RandomGenerator random) {
+        if (solutionCount.signum() == 0) {
+            return Optional.empty();
+        }
+        final Map<String, String> solution = new TreeMap<>();
+        final List<String> parentValues = new ArrayList<>();
+        for (String name : variableOrder) {
+            parentValues.clear();
+            buckets.get(name).parents().forEach(parent -> parentValues.add(solution.get(parent)));
+            final Group group = groups.get(name).get(parentValues);
+            solution.put(name, group.draw(random));
+        }
+        return Optional.of(solution);
+    }
+
+    /**
+     * Draws the specified number of independent uniformly random solutions in parallel.
+     * The samples depend only on the seed, whatever the number of threads drawing them.
+     *
+     * @param count the number of solutions to draw
+     * @param seed the seed of the random generators
+     * @return the solutions, none if the network has no solution
+     */
+    public List<Map<String, String>> samples(int count, long seed) {
+        if (solutionCount.signum() == 0) {
+            return List.of();
+        }
+        final long[] seeds = new SplittableRandom(seed).longs(count).toArray();
+        return IntStream.range(0, count).parallel()
+                .mapToObj(i -> sample(new SplittableRandom(seeds[i])).orElseThrow())
+                .toList();
+    }
+
+    /*
+     * Counts the extensions of the tuples of the bucket: the count of a tuple is the
+     * product of the counts of its children buckets for its values, i.e. the sums of
+     * the counts of their tuples agreeing with it.
+     */
+    private static Map<List<String>, Group> count(Bucket bucket, List<Bucket> children,
+                                                  Map<String, Map<List<String>, Group>> groups) {
+        final List<String> scope = bucket.relation().getVariables();
+        final List<ProjectionPlan> plans = children.stream()
+                .map(child -> ProjectionPlan.of(scope, child.parents()))
+                .toList();
+        final ProjectionPlan parents = ProjectionPlan.dropping(1, scope.size());
+        final Map<List<String>, GroupBuilder> builders = new HashMap<>();
+        for (List<String> tuple : bucket.relation().getCompTuples()) {
+            BigInteger tupleCount = BigInteger.ONE;
+            for (int i = 0; i < plans.size() && tupleCount.signum() > 0; i++) {
+                final Group childGroup = plans.get(i).valueOf(tuple, groups.get(children.get(i).variable()));
+                tupleCount = childGroup == null ? BigInteger.ZERO : tupleCount.multiply(childGroup.total());
+            }
+            if (tupleCount.signum() > 0) {
+                builders.computeIfAbsent(parents.project(tuple), key -> new GroupBuilder())
+                        .add(tuple.get(0), tupleCount);
+            }
+        }
+        final Map<List<String>, Group> bucketGroups = new HashMap<>();
+        builders.forEach((parentValues, builder) -> bucketGroups.put(parentValues, builder.build()));
+        return bucketGroups;
+    }
+
+    /*
+     * Returns a uniformly random integer between 0 (included) and the bound (excluded),
+     * drawing random bits until they are below the bound.
+     */
+    private static BigInteger uniform(BigInteger bound, RandomGenerator random) {
+        final int bits = bound.bitLength();
+        final byte[] bytes = new byte[(bits + 7) / 8];
+        BigInteger value;
+        do {
+            random.nextBytes(bytes);
+            value = new BigInteger(1, bytes).shiftRight(bytes.length * 8 - bits);
+        } while (value.compareTo(bound) >= 0);
+        return value;
+    }
+
+    /*
+     * The values of the variable of a bucket agreeing with some values of its parents,
+     * with the cumulative counts of their tuples.
+     */
+    private record Group(String[] values, BigInteger[] cumulativeCounts) {
+        BigInteger total() {
+            return cumulativeCounts[cumulativeCounts.length - 1];
+        }
+
+        String draw(RandomGenerator random) {
+            final BigInteger target = uniform(total(), random);
+            int low = 0;
+            int high = values.length - 1;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (target.compareTo(cumulativeCounts[middle]) < 0) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return values[low];
+        }
+    }
+
+    private static final class GroupBuilder {
+        private final List<String> values = new ArrayList<>();
+        private final List<BigInteger> cumulativeCounts = new ArrayList<>();
+
+        void add(String value, BigInteger count) {
+            values.add(value);
+            cumulativeCounts.add(cumulativeCounts.isEmpty() ? count
+                    : cumulativeCounts.get(cumulativeCounts.size() - 1).add(count));
+        }
+
+        Group build() {
+            return new Group(values.toArray(String[]::new), cumulativeCounts.toArray(BigInteger[]::new));
+        }
+    }
+}
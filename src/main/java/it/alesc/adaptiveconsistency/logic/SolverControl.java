@@ -0,0 +1,169 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.ResolutionStatus;
+import it.alesc.adaptiveconsistency.logic.exceptions.ResolutionStoppedException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * It bounds a resolution with a deadline and lets it be cancelled. The solver
+ * checks it at every bucket and inside the loops over the tuples, so a stopped
+ * resolution ends within the processing of a few tuples. A resolution also stops
+ * when its thread is interrupted. The control also notifies its {@link ResolutionListener}s
+ * of every completed step.
+ */
+public final class SolverControl {
+    /*
+     * The number of ticks between two reads of the clock in the tuple loops.
+     */
+    private static final int DEADLINE_CHECK_INTERVAL = 64;
+
+    private final long deadline;
+    private final boolean bounded;
+    private final SolverControl parent;
+    private volatile boolean cancelled;
+    private int ticks;
+    private final List<ResolutionListener> listeners = new CopyOnWriteArrayList<>();
+
+    private SolverControl(long deadline, boolean bounded, SolverControl parent) {
+        this.deadline = deadline;
+        this.bounded = bounded;
+        this.parent = parent;
+    }
+
+    /**
+     * Returns a control without deadline.
+     *
+     * @return a control without deadline
+     */
+    public static SolverControl unbounded() {
+        return new SolverControl(0, false, null);
+    }
+
+    /**
+     * Returns a control whose deadline is the specified time from now.
+     *
+     * @param timeout the maximum duration of the resolution
+     * @return the control
+     */
+    public static SolverControl withTimeout(Duration timeout) {
+        return withDeadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Returns a control with the specified deadline.
+     *
+     * @param deadlineNanos the deadline, as a value of {@link System#nanoTime()}
+     * @return the control
+     */
+    public static SolverControl withDeadline(long deadlineNanos) {
+        return new SolverControl(deadlineNanos, true, null);
+    }
+
+    /**
+     * Returns a control with the same deadline as this one, which is cancelled when this
+     * one is but can also be cancelled on its own, e.g. to stop one of several resolutions.
+     *
+     * @return the child control
+     */
+    public SolverControl child() {
+        return new SolverControl(deadline, bounded, this);
+    }
+
+    /**
+     * Adds a listener notified of every completed step.
+     *
+     * @param listener the listener
+     * @return this control
+     */
+    public SolverControl onStep(ResolutionListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Removes a listener added by {@link #onStep}, e.g. when the resource it writes to is closed.
+     *
+     * @param listener the listener
+     * @return this control
+     */
+    public SolverControl removeListener(ResolutionListener listener) {
+        listeners.remove(listener);
+        return this;
+    }
+
+    boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    void stepCompleted(CSPResolutionTracker previous, CSPResolutionTracker current) {
+        listeners.forEach(listener -> listener.stepCompleted(previous, current));
+    }
+
+    /**
+     * Requests the resolution to stop.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || parent != null && parent.isCancelled();
+    }
+
+    /**
+     * Returns the state the resolution must stop with, if any.
+     *
+     * @return {@link ResolutionStatus#CANCELLED} or {@link ResolutionStatus#TIMED_OUT} if the
+     * resolution must stop, empty otherwise
+     */
+    public Optional<ResolutionStatus> stopStatus() {
+        if (isCancelled() || Thread.currentThread().isInterrupted()) {
+            return Optional.of(ResolutionStatus.CANCELLED);
+        }
+        if (bounded && System.nanoTime() - deadline >= 0) {
+            return Optional.of(ResolutionStatus.TIMED_OUT);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the time left before the deadline, e.g. to pass it to another process.
+     *
+     * @return the time left, negative if the deadline passed, empty without deadline
+     */
+    public Optional<Duration> remaining() {
+        return bounded ? Optional.of(Duration.ofNanos(deadline - System.nanoTime())) : Optional.empty();
+    }
+
+    /**
+     * Stops the resolution if it was cancelled or it exceeded its deadline.
+     *
+     * @throws ResolutionStoppedException if the resolution must stop
+     */
+    public void checkpoint() {
+        final Optional<ResolutionStatus> status = stopStatus();
+        if (status.isPresent()) {
+            throw new ResolutionStoppedException(status.get());
+        }
+    }
+
+    /**
+     * Same as {@link #checkpoint()}, but reads the clock only once every
+     * {@value #DEADLINE_CHECK_INTERVAL} calls, so it can be called for every tuple.
+     *
+     * @throws ResolutionStoppedException if the resolution must stop
+     */
+    public void tick() {
+        if (isCancelled()) {
+            throw new ResolutionStoppedException(ResolutionStatus.CANCELLED);
+        }
+        if (++ticks % DEADLINE_CHECK_INTERVAL == 0) {
+            checkpoint();
+        }
+    }
+}
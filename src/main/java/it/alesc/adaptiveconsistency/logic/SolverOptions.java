@@ -0,0 +1,87 @@
+package it.alesc.adaptiveconsistency.logic;
+
+/**
+ * It contains the options of a resolution. A problem solved by the {@link TreeSolver} honours
+ * only the trace and the presolve: its buckets are never split and project no relation.
+ *
+ * @param iBound the maximum number of variables of a constraint projected by a bucket: a bucket whose
+ *               projection would be larger is split into mini-buckets, whose projections are recorded
+ *               separately, so the memory of a bucket is bounded by d^iBound but the inference is no
+ *               longer complete
+ * @param relations the storage of the relations projected by the buckets
+ * @param trace whether every step records the CSP it reached: without the trace only the
+ *              last step does, which is enough to extract the solution or to resume, unless
+ *              the control of the resolution has listeners, which get the CSP of every step
+ * @param presolve whether the problem is reduced by the default {@link it.alesc.adaptiveconsistency.logic.presolve.Presolver} before the
+ *                 resolution: the steps are then the ones of the reduced problem, while the
+ *                 solution is over the variables of the original one
+ */
+public record SolverOptions(int iBound, RelationFormat relations, boolean trace, boolean presolve) {
+    /**
+     * The bound of the exact resolution, which never splits a bucket.
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    public SolverOptions {
+        if (iBound < 1) {
+            throw new IllegalArgumentException("The i-bound must be positive: " + iBound);
+        }
+    }
+
+    public SolverOptions(int iBound) {
+        this(iBound, RelationFormat.HASH_SET, true, false);
+    }
+
+    /**
+     * Returns the options of the exact resolution, i.e. adaptive consistency.
+     *
+     * @return the options of the exact resolution
+     */
+    public static SolverOptions exact() {
+        return new SolverOptions(UNBOUNDED);
+    }
+
+    /**
+     * Returns the options of the approximate resolution with the specified i-bound.
+     *
+     * @param iBound the maximum number of variables of a projected constraint
+     * @return the options of the mini-bucket resolution
+     */
+    public static SolverOptions miniBuckets(int iBound) {
+        return new SolverOptions(iBound);
+    }
+
+    /**
+     * Returns these options with the specified storage of the projected relations.
+     *
+     * @param format the storage of the relations
+     * @return the new options
+     */
+    public SolverOptions withRelations(RelationFormat format) {
+        return new SolverOptions(iBound, format, trace, presolve);
+    }
+
+    /**
+     * Returns these options with or without the trace of the resolution.
+     *
+     * @param trace whether every step records the CSP it reached
+     * @return the new options
+     */
+    public SolverOptions withTrace(boolean trace) {
+        return new SolverOptions(iBound, relations, trace, presolve);
+    }
+
+    /**
+     * Returns these options with or without the presolve of the problem.
+     *
+     * @param presolve whether the problem is reduced before the resolution
+     * @return the new options
+     */
+    public SolverOptions withPresolve(boolean presolve) {
+        return new SolverOptions(iBound, relations, trace, presolve);
+    }
+
+    public boolean isExact() {
+        return iBound == UNBOUNDED;
+    }
+}
@@ -0,0 +1,108 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/*
+ * The binary constraints of a forest arranged along an ordering in which every variable has
+ * at most one neighbour before it, its parent. The constraints between a variable and its
+ * parent are kept with the variable.
+ */
+record TreeNetwork(List<String> ordering, Map<String, String> parents, Map<String, List<Constraint>> edges) {
+    static TreeNetwork of(Collection<Constraint> constraints, List<String> ordering) {
+        final Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ordering.size(); i++) {
+            positions.put(ordering.get(i), i);
+        }
+        final Map<String, String> parents = new HashMap<>();
+        final Map<String, List<Constraint>> edges = new HashMap<>();
+        for (Constraint constraint : constraints) {
+            final String first = constraint.getVariables().get(0);
+            final String second = constraint.getVariables().get(1);
+            final boolean firstIsParent = positions.get(first) < positions.get(second);
+            final String child = firstIsParent ? second : first;
+            parents.put(child, firstIsParent ? first : second);
+            edges.computeIfAbsent(child, name -> new ArrayList<>()).add(constraint);
+        }
+        return new TreeNetwork(ordering, parents, edges);
+    }
+
+    /*
+     * Returns the values of the parent of the child that have a support in the domain of the
+     * child, i.e. the directional arc consistency of the parent with respect to the child,
+     * scanning the tuples of the constraints between them once.
+     */
+    Optional<Revision> revise(String child, Map<String, Set<String>> domains, SolverControl control) {
+        final String parent = parents.get(child);
+        if (parent == null) {
+            return Optional.empty();
+        }
+        final Set<String> parentDomain = domains.get(parent);
+        final Set<String> childDomain = domains.get(child);
+        final List<Constraint> constraints = edges.get(child);
+        final Constraint first = constraints.get(0);
+        final int parentPosition = first.getVariables().indexOf(parent);
+        final Set<String> supported = new HashSet<>();
+        long scanned = 0;
+        for (List<String> tuple : first.getCompTuples()) {
+            control.tick();
+            scanned++;
+            final String parentValue = tuple.get(parentPosition);
+            final String childValue = tuple.get(1 - parentPosition);
+            if (parentDomain.contains(parentValue) && childDomain.contains(childValue)
+                    && !supported.contains(parentValue) && allowed(child, parentValue, childValue)) {
+                supported.add(parentValue);
+            }
+        }
+        final Set<String> revised = parentDomain.stream().filter(supported::contains)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return Optional.of(new Revision(parent, revised, scanned, supported.size()));
+    }
+
+    /*
+     * Applies the directional arc consistency from the last variable to the first one.
+     * Returns false as soon as a domain becomes empty.
+     */
+    boolean propagate(Map<String, Set<String>> domains, SolverControl control) {
+        for (int i = ordering.size() - 1; i >= 0; i--) {
+            final Optional<Revision> revision = revise(ordering.get(i), domains, control);
+            if (revision.isPresent()) {
+                domains.put(revision.get().parent(), revision.get().domain());
+                if (revision.get().domain().isEmpty()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Assigns the variables along the ordering, every one with the first value of its domain
+     * compatible with the value of its parent. After the directional arc consistency such a
+     * value always exists, so the assignment never backtracks.
+     */
+    TreeMap<String, String> assign(Map<String, Set<String>> domains, SolverControl control) {
+        final TreeMap<String, String> solution = new TreeMap<>();
+        for (String variable : ordering) {
+            final String parent = parents.get(variable);
+            domains.get(variable).stream()
+                    .peek(value -> control.tick())
+                    .filter(value -> parent == null || allowed(variable, solution.get(parent), value))
+                    .findFirst()
+                    .ifPresent(value -> solution.put(variable, value));
+        }
+        return solution;
+    }
+
+    private boolean allowed(String child, String parentValue, String childValue) {
+        final String parent = parents.get(child);
+        return edges.get(child).stream().allMatch(constraint -> constraint.getCompTuples().contains(
+                constraint.getVariables().get(0).equals(parent)
+                        ? List.of(parentValue, childValue) : List.of(childValue, parentValue)));
+    }
+
+    record Revision(String parent, Set<String> domain, long scannedTuples, long supportedValues) {
+    }
+}
@@ -0,0 +1,188 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.logic.csp.*;
+import it.alesc.adaptiveconsistency.logic.exceptions.ResolutionStoppedException;
+import it.alesc.adaptiveconsistency.logic.jfr.BucketEvent;
+import it.alesc.adaptiveconsistency.logic.ordering.ConstraintGraph;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * This class solves the CSPs whose constraint graph is a forest, i.e. has width 1.
+ * Along an ordering where every variable has at most one neighbour before it, the
+ * projection of a bucket is a unary constraint on the parent, so adaptive consistency
+ * reduces to directional arc consistency: every bucket scans the tuples of the
+ * constraints with its parent once and the solution is assigned without backtracking,
+ * in O(n·d²).
+ */
+@Slf4j
+@UtilityClass
+public class TreeSolver {
+    /**
+     * Returns an ordering of the specified problem along which the tree engine solves it.
+     * It is the ordering of the problem, if it already has width 1, otherwise a breadth
+     * first visit of every tree of the forest, rooted in its first variable in the ordering
+     * of the problem.
+     *
+     * @param startInformation the problem
+     * @return the ordering or empty if the constraints are not binary or their graph has cycles
+     */
+    public static Optional<List<String>> treeOrdering(StartInformation startInformation) {
+        final boolean binary = startInformation.constraints().stream()
+                .allMatch(constraint -> constraint.getVariables().size() == 2
+                        && !constraint.getVariables().get(0).equals(constraint.getVariables().get(1)));
+        if (!binary) {
+            return Optional.empty();
+        }
+        final ConstraintGraph graph = ConstraintGraph.of(startInformation);
+        if (!graph.isForest()) {
+            return Optional.empty();
+        }
+        if (graph.inducedWidth(startInformation.variableOrder()) <= 1) {
+            return Optional.of(startInformation.variableOrder());
+        }
+
+        final List<String> ordering = new ArrayList<>();
+        final Set<String> visited = new HashSet<>();
+        for (String root : startInformation.variableOrder()) {
+            if (!visited.add(root)) {
+                continue;
+            }
+            final Deque<String> queue = new ArrayDeque<>(List.of(root));
+            while (!queue.isEmpty()) {
+                final String variable = queue.poll();
+                ordering.add(variable);
+                graph.neighbours(variable).stream().filter(visited::add).forEach(queue::add);
+            }
+        }
+        return Optional.of(ordering);
+    }
+
+    public static CSPResolutionTracker solve(StartInformation startInformation, List<String> ordering,
+                                             SolverControl control) {
+        return solve(startInformation, ordering, SolverOptions.exact(), control);
+    }
+
+    /**
+     * Solves the specified tree-structured problem along the specified ordering. The tracker
+     * has a step for every variable, whose CSP has the domain of the parent reduced to the
+     * values supported by the variable, as the steps of {@link ProblemSolver}. Only the trace
+     * of the options matters: a bucket has at most one parent, so it is never split by the
+     * i-bound, and its projection restricts the domain of the parent, so no relation is stored.
+     *
+     * @param startInformation the problem to solve
+     * @param ordering an ordering of width 1, e.g. the one of {@link #treeOrdering}
+     * @param options the options of the resolution
+     * @param control the deadline and the cancellation of the resolution
+     * @return the tracker of the resolution, whose start information has the specified ordering
+     */
+    public static CSPResolutionTracker solve(StartInformation startInformation, List<String> ordering,
+                                             SolverOptions options, SolverControl control) {
+        final CSPResolutionTracker tracker = eliminate(startInformation, ordering, options, control);
+        tracker.metrics().recordResolution();
+        return tracker;
+    }
+
+    /*
+     * Revises the domains from the last variable of the ordering to the first one and
+     * assigns the variables from the first one, unless the resolution is stopped.
+     */
+    private static CSPResolutionTracker eliminate(StartInformation startInformation, List<String> ordering,
+                                                  SolverOptions options, SolverControl control) {
+        final String methodName = "solve";
+        final boolean recordCSP = options.trace() || control.hasListeners();
+        final var ordered = new StartInformation(startInformation.variables(), startInformation.constraints(),
+                ordering);
+        final TreeNetwork network = TreeNetwork.of(startInformation.constraints(), ordering);
+        final Map<String, Variable> variables = new LinkedHashMap<>();
+        final Map<String, Set<String>> domains = new HashMap<>();
+        startInformation.variables().forEach(variable -> {
+            variables.put(variable.getName(), variable);
+            domains.put(variable.getName(), variable.getDomain());
+        });
+
+        CSPResolutionTracker tracker = new CSPResolutionTracker(ordered, true);
+        for (int i = ordering.size() - 1; i >= 0 && tracker.hasSolution(); i--) {
+            try {
+                control.checkpoint();
+                tracker = revise(tracker, ordering.get(i), network, variables, domains, recordCSP, control);
+            } catch (ResolutionStoppedException e) {
+                log.info("{} - resolution {} at variable {}", methodName, e.getStatus(), ordering.get(i));
+                return withLastStepCSP(tracker, variables).withStatus(e.getStatus());
+            }
+        }
+        tracker = withLastStepCSP(tracker, variables);
+        if (!tracker.hasSolution()) {
+            log.info("{} - the problem has no solution", methodName);
+            return tracker.complete();
+        }
+
+        try {
+            control.checkpoint();
+            final long start = System.nanoTime();
+            final TreeMap<String, String> solution = network.assign(domains, control);
+            tracker.metrics().recordSolution(System.nanoTime() - start);
+            log.info("{} - solution: {}", methodName, solution);
+            return tracker.addSolution(solution);
+        } catch (ResolutionStoppedException e) {
+            log.info("{} - resolution {} during the assignment", methodName, e.getStatus());
+            return tracker.withStatus(e.getStatus());
+        }
+    }
+
+    private static CSPResolutionTracker revise(CSPResolutionTracker tracker, String variableName,
+                                               TreeNetwork network, Map<String, Variable> variables,
+                                               Map<String, Set<String>> domains, boolean recordCSP,
+                                               SolverControl control) {
+        final var bucketEvent = new BucketEvent();
+        bucketEvent.begin();
+        final long start = System.nanoTime();
+        final int iterationNumber = tracker.lastStepIndex() + 1;
+        final Optional<TreeNetwork.Revision> revision = network.revise(variableName, domains, control);
+        CSP csp = recordCSP ? new CSP(tracker.lastStepVariables(), tracker.lastStepConstraints()) : null;
+        boolean satisfiable = true;
+        long scanned = 0;
+        long supported = 0;
+        long projected = 0;
+        if (revision.isPresent()) {
+            final TreeNetwork.Revision parentRevision = revision.get();
+            scanned = parentRevision.scannedTuples();
+            supported = parentRevision.supportedValues();
+            projected = parentRevision.domain().size();
+            satisfiable = !parentRevision.domain().isEmpty();
+            // the CSP is rebuilt only when the revision removed values from the parent
+            if (parentRevision.domain().size() < domains.get(parentRevision.parent()).size()) {
+                domains.put(parentRevision.parent(), parentRevision.domain());
+                variables.put(parentRevision.parent(), new Variable(parentRevision.parent(), parentRevision.domain()));
+                if (csp != null) {
+                    csp = new CSP(new LinkedHashSet<>(variables.values()), csp.constraints());
+                }
+            }
+        }
+        final var metrics = new BucketMetrics(System.nanoTime() - start, scanned, supported, projected);
+        tracker.metrics().recordBucket(metrics.elapsedNanos(), metrics.generatedTuples(),
+                metrics.acceptedTuples(), metrics.projectedTuples());
+        bucketEvent.record(iterationNumber, variableName, revision.isPresent() ? 1 : 0, scanned, supported,
+                projected, satisfiable);
+        final CSPResolutionTracker updatedTracker = tracker.addStep(
+                new CSPResolutionStep(iterationNumber, variableName, csp, metrics), satisfiable);
+        control.stepCompleted(tracker, updatedTracker);
+        return updatedTracker;
+    }
+
+    /*
+     * Records the CSP reached in the last step of a resolution without trace, from which the
+     * solution is extracted or the resolution is resumed.
+     */
+    private static CSPResolutionTracker withLastStepCSP(CSPResolutionTracker tracker,
+                                                        Map<String, Variable> variables) {
+        if (tracker.iterations().isEmpty()
+                || tracker.iterations().get(tracker.lastStepIndex() - 1).updatedCSP() != null) {
+            return tracker;
+        }
+        return tracker.withLastStepCSP(new CSP(new LinkedHashSet<>(variables.values()),
+                tracker.startInformation().constraints()));
+    }
+}
@@ -0,0 +1,17 @@
+package it.alesc.adaptiveconsistency.logic.cache;
+
+/**
+ * It contains the statistics of a result cache.
+ *
+ * @param hits the number of requests answered by the cache
+ * @param misses the number of requests that required a resolution
+ * @param evictions the number of entries removed to respect the size bound
+ * @param entries the number of entries in the cache
+ * @param sizeBytes the size of the entries in the cache
+ */
+public record CacheStatistics(long hits, long misses, long evictions, int entries, long sizeBytes) {
+    public double hitRate() {
+        final long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
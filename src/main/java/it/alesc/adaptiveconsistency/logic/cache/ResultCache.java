@@ -0,0 +1,196 @@
+package it.alesc.adaptiveconsistency.logic.cache;
+
+import com.google.gson.Gson;
+import it.alesc.adaptiveconsistency.logic.ProblemSolver;
+import it.alesc.adaptiveconsistency.logic.ResolutionResultMapper;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.SolverOptions;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import it.alesc.adaptiveconsistency.specification.ResolutionResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * It is an on-disk cache of the results of the resolutions, addressed by the canonical hash
+ * of the validated problem specification. Every entry is a compressed JSON file in the cache
+ * directory; when the size of the entries exceeds the bound, the least recently used ones are
+ * removed. The last access time of an entry is its modification time, so the order survives
+ * restarts. It can be used by multiple threads.
+ */
+@Slf4j
+public class ResultCache {
+    private static final String ENTRY_SUFFIX = ".json.gz";
+
+    private final Path directory;
+    private final long maxSizeBytes;
+    private final boolean storeTrace;
+    private final Gson gson = new Gson();
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache in the specified directory, loading the entries already there.
+     *
+     * @param directory the directory of the entries, created if it does not exist
+     * @param maxSizeBytes the maximum size of the entries
+     * @param storeTrace <code>true</code> to store the trace of the resolution with the solution
+     * @throws IOException if the directory cannot be created or read
+     */
+    public ResultCache(Path directory, long maxSizeBytes, boolean storeTrace) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxSizeBytes = maxSizeBytes;
+        this.storeTrace = storeTrace;
+        loadEntries();
+    }
+
+    /**
+     * Returns the result of the specified problem, from the cache if present, otherwise
+     * solving the problem and storing the result.
+     *
+     * @param specification the validated problem specification
+     * @return the result of the resolution
+     */
+    public ResolutionResult solve(ProblemSpecification specification) {
+        final String key = SpecificationHasher.canonicalHash(specification);
+        final Optional<ResolutionResult> cached = get(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        final var tracker = ProblemSolver.solveProblem(StartInformation.buildStartInformation(specification),
+                SolverOptions.exact().withTrace(storeTrace), SolverControl.unbounded());
+        final ResolutionResult result = ResolutionResultMapper.toResult(tracker, storeTrace);
+        put(key, result);
+        return result;
+    }
+
+    /**
+     * Returns the result stored with the specified key.
+     *
+     * @param key the canonical hash of the problem specification
+     * @return the stored result or an empty optional if the key is not in the cache
+     */
+    public synchronized Optional<ResolutionResult> get(String key) {
+        final String methodName = "get";
+        final Path entry = entryPath(key);
+        if (entries.get(key) == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        // the entry is read and removed under the lock that also guards its replacement by put
+        try (Reader reader = new InputStreamReader(new GZIPInputStream(Files.newInputStream(entry)),
+                StandardCharsets.UTF_8)) {
+            final ResolutionResult result = gson.fromJson(reader, ResolutionResult.class);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            hits.increment();
+            return Optional.of(result);
+        } catch (IOException | RuntimeException e) {
+            log.warn("{} - unreadable cache entry {}", methodName, entry, e);
+            remove(key);
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the specified result with the specified key, removing the least recently
+     * used entries if the size bound is exceeded.
+     *
+     * @param key the canonical hash of the problem specification
+     * @param result the result to store
+     */
+    public void put(String key, ResolutionResult result) {
+        final String methodName = "put";
+        final Path entry = entryPath(key);
+        try {
+            final Path temporary = Files.createTempFile(directory, key, ".tmp");
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(temporary)),
+                    StandardCharsets.UTF_8)) {
+                gson.toJson(result, writer);
+            }
+            synchronized (this) {
+                Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                final long size = Files.size(entry);
+                final Long previous = entries.put(key, size);
+                sizeBytes += size - (previous == null ? 0L : previous);
+                evict(key);
+            }
+        } catch (IOException e) {
+            log.warn("{} - unable to store cache entry {}", methodName, entry, e);
+        }
+    }
+
+    public synchronized CacheStatistics statistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), entries.size(), sizeBytes);
+    }
+
+    private void evict(String keptKey) {
+        final Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (sizeBytes > maxSizeBytes && iterator.hasNext()) {
+            final Map.Entry<String, Long> eldest = iterator.next();
+            if (eldest.getKey().equals(keptKey)) {
+                continue;
+            }
+            iterator.remove();
+            sizeBytes -= eldest.getValue();
+            evictions.increment();
+            deleteEntry(eldest.getKey());
+        }
+    }
+
+    private synchronized void remove(String key) {
+        final Long size = entries.remove(key);
+        if (size != null) {
+            sizeBytes -= size;
+            deleteEntry(key);
+        }
+    }
+
+    private void deleteEntry(String key) {
+        try {
+            Files.deleteIfExists(entryPath(key));
+        } catch (IOException e) {
+            log.warn("{} - unable to delete cache entry {}", "deleteEntry", key, e);
+        }
+    }
+
+    private void loadEntries() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                    .sorted(Comparator.comparing(ResultCache::lastModifiedTime))
+                    .forEach(file -> {
+                        final String fileName = file.getFileName().toString();
+                        final long size = file.toFile().length();
+                        entries.put(fileName.substring(0, fileName.length() - ENTRY_SUFFIX.length()), size);
+                        sizeBytes += size;
+                    });
+        }
+        evict(null);
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    private static FileTime lastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package it.alesc.adaptiveconsistency.logic.cache;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import it.alesc.adaptiveconsistency.specification.Constraint;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import it.alesc.adaptiveconsistency.specification.Variable;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * It computes the canonical hash of a validated problem specification: the variables are
+ * sorted by name with sorted domains, and the constraints, which operators are symmetric,
+ * are normalized, deduplicated and sorted. The variable ordering is kept as it is, as it
+ * determines the trace of the resolution.
+ */
+@UtilityClass
+public class SpecificationHasher {
+    public static String canonicalHash(ProblemSpecification specification) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+
+        final List<Variable> variables = specification.getVariables().stream()
+                .sorted(Comparator.comparing(Variable::getName))
+                .toList();
+        hasher.putInt(variables.size());
+        variables.forEach(variable -> {
+            putString(hasher, variable.getName());
+            hasher.putInt(variable.getDomainValues().size());
+            variable.getDomainValues().stream().sorted().forEach(value -> putString(hasher, value));
+        });
+
+        final List<List<String>> constraints = specification.getConstraints().stream()
+                .map(SpecificationHasher::canonicalConstraint)
+                .distinct()
+                .sorted(Comparator.<List<String>, String>comparing(constraint -> constraint.get(0))
+                        .thenComparing(constraint -> constraint.get(1))
+                        .thenComparing(constraint -> constraint.get(2)))
+                .toList();
+        hasher.putInt(constraints.size());
+        constraints.forEach(constraint -> constraint.forEach(element -> putString(hasher, element)));
+
+        hasher.putInt(specification.getVariableOrder().size());
+        specification.getVariableOrder().forEach(name -> putString(hasher, name));
+        return hasher.hash().toString();
+    }
+
+    private static List<String> canonicalConstraint(Constraint constraint) {
+        final String first = constraint.getFirstVariable();
+        final String second = constraint.getSecondVariable();
+        return first.compareTo(second) <= 0
+                ? List.of(first, second, constraint.getOperator().name())
+                : List.of(second, first, constraint.getOperator().name());
+    }
+
+    private static void putString(Hasher hasher, String string) {
+        hasher.putInt(string.length());
+        hasher.putString(string, StandardCharsets.UTF_8);
+    }
+}
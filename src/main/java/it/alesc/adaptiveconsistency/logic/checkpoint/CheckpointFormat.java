@@ -0,0 +1,17 @@
+package it.alesc.adaptiveconsistency.logic.checkpoint;
+
+/*
+ * The layout of a checkpoint file: a header followed by records. Every record is its length,
+ * its content and the CRC32 of its content, so a record torn by a crash is detected and
+ * ignored. The first record is the start information, every following one the difference
+ * between the CSP of a step and the one of the previous step.
+ */
+final class CheckpointFormat {
+    static final int MAGIC = 0x4143434B;
+    static final int VERSION = 2;
+    static final byte START_RECORD = 1;
+    static final byte STEP_RECORD = 2;
+
+    private CheckpointFormat() {
+    }
+}
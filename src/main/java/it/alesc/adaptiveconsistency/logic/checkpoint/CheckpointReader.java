@@ -0,0 +1,141 @@
+package it.alesc.adaptiveconsistency.logic.checkpoint;
+
+import it.alesc.adaptiveconsistency.logic.codec.CSPDecoder;
+import it.alesc.adaptiveconsistency.logic.csp.*;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.CRC32;
+
+import static it.alesc.adaptiveconsistency.logic.codec.CSPDecoder.readVarInt;
+
+/**
+ * It restores a resolution from the file written by a {@link CheckpointWriter}. The
+ * records following the last complete one, e.g. the one being written during a crash,
+ * are ignored.
+ */
+@Slf4j
+@UtilityClass
+public class CheckpointReader {
+
+    /**
+     * Reads the specified checkpoint file.
+     *
+     * @param path the path of the checkpoint file
+     * @return the tracker of the resolution up to its last checkpointed step
+     * @throws IOException if the file cannot be read or it is not a checkpoint file
+     */
+    public static CSPResolutionTracker read(Path path) throws IOException {
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != CheckpointFormat.MAGIC) {
+                throw new StreamCorruptedException(path + " is not a checkpoint file");
+            }
+            final int version = input.readInt();
+            if (version < 1 || version > CheckpointFormat.VERSION) {
+                throw new StreamCorruptedException("Unsupported checkpoint version " + version);
+            }
+
+            final var decoder = new CSPDecoder();
+            final Optional<DataInputStream> startRecord = readRecord(input);
+            if (startRecord.isEmpty() || startRecord.get().readByte() != CheckpointFormat.START_RECORD) {
+                throw new StreamCorruptedException(path + " has no start information");
+            }
+            final var state = new State();
+            final StartInformation startInformation = readStart(startRecord.get(), decoder, state);
+            CSPResolutionTracker tracker = new CSPResolutionTracker(startInformation, true);
+
+            Optional<DataInputStream> record = readRecord(input);
+            while (record.isPresent()) {
+                final DataInputStream stepRecord = record.get();
+                if (stepRecord.readByte() != CheckpointFormat.STEP_RECORD) {
+                    throw new StreamCorruptedException("Unexpected record in " + path);
+                }
+                tracker = readStep(stepRecord, version, decoder, state, tracker);
+                record = readRecord(input);
+            }
+            log.info("{} - restored {} steps from {}", "read", tracker.lastStepIndex(), path);
+            return tracker;
+        }
+    }
+
+    private static StartInformation readStart(DataInputStream input, CSPDecoder decoder, State state)
+            throws IOException {
+        final List<String> variableOrder = decoder.readStrings(input);
+        final int variableCount = readVarInt(input);
+        for (int i = 0; i < variableCount; i++) {
+            final Variable variable = decoder.readVariable(input);
+            state.variables.put(variable.getName(), variable);
+        }
+        readConstraints(input, decoder, state);
+        return new StartInformation(new LinkedHashSet<>(state.variables.values()),
+                new LinkedHashSet<>(state.constraints.values()), variableOrder);
+    }
+
+    private static CSPResolutionTracker readStep(DataInputStream input, int version, CSPDecoder decoder,
+                                                 State state, CSPResolutionTracker tracker) throws IOException {
+        final int number = readVarInt(input);
+        final String variableName = decoder.readString(input);
+        final boolean hasSolution = input.readBoolean();
+        final var metrics = new BucketMetrics(input.readLong(), input.readLong(), input.readLong(), input.readLong());
+        // the steps of the first version were never approximated
+        final boolean approximated = version >= 2 && input.readBoolean();
+        final int changedVariables = readVarInt(input);
+        for (int i = 0; i < changedVariables; i++) {
+            final Variable variable = decoder.readVariable(input);
+            state.variables.put(variable.getName(), variable);
+        }
+        final int removedConstraints = readVarInt(input);
+        for (int i = 0; i < removedConstraints; i++) {
+            state.constraints.remove(readVarInt(input));
+        }
+        readConstraints(input, decoder, state);
+
+        final var csp = new CSP(new LinkedHashSet<>(state.variables.values()),
+                new LinkedHashSet<>(state.constraints.values()));
+        return tracker.addStep(new CSPResolutionStep(number, variableName, csp, metrics, approximated), hasSolution);
+    }
+
+    private static void readConstraints(DataInputStream input, CSPDecoder decoder, State state) throws IOException {
+        final int count = readVarInt(input);
+        for (int i = 0; i < count; i++) {
+            state.constraints.put(state.nextConstraintId++, decoder.readConstraint(input));
+        }
+    }
+
+    /*
+     * Returns the content of the next record or empty if the file ends or the record is
+     * incomplete or damaged.
+     */
+    private static Optional<DataInputStream> readRecord(DataInputStream input) throws IOException {
+        try {
+            final int length = input.readInt();
+            if (length < 0) {
+                return Optional.empty();
+            }
+            final byte[] content = input.readNBytes(length);
+            final int checksum = input.readInt();
+            final var crc = new CRC32();
+            crc.update(content);
+            if (content.length != length || (int) crc.getValue() != checksum) {
+                log.warn("{} - damaged checkpoint record ignored", "readRecord");
+                return Optional.empty();
+            }
+            return Optional.of(new DataInputStream(new ByteArrayInputStream(content)));
+        } catch (EOFException e) {
+            return Optional.empty();
+        }
+    }
+
+    /*
+     * The variables and the constraints of the last read step.
+     */
+    private static final class State {
+        private final Map<String, Variable> variables = new LinkedHashMap<>();
+        private final Map<Integer, Constraint> constraints = new LinkedHashMap<>();
+        private int nextConstraintId;
+    }
+}
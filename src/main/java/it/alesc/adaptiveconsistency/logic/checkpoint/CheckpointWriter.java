@@ -0,0 +1,222 @@
+package it.alesc.adaptiveconsistency.logic.checkpoint;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.alesc.adaptiveconsistency.logic.ResolutionListener;
+import it.alesc.adaptiveconsistency.logic.codec.CSPEncoder;
+import it.alesc.adaptiveconsistency.logic.csp.*;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static it.alesc.adaptiveconsistency.logic.codec.CSPEncoder.writeVarInt;
+
+/**
+ * It writes the checkpoints of a resolution. Every completed step appends only the
+ * variables and the constraints changed by the step, found by identity since the solver
+ * shares the unchanged ones between steps. The records are encoded and written by a
+ * background thread, so the solver is never stalled by the disk; the file is forced to
+ * the storage at most once every sync interval.
+ */
+@Slf4j
+public class CheckpointWriter implements ResolutionListener, Closeable {
+    private final Path path;
+    private final FileChannel channel;
+    private final DataOutputStream output;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("checkpoint-writer-%d").setDaemon(true).build());
+    private final CSPEncoder encoder = new CSPEncoder();
+    private final Map<Constraint, Integer> constraintIds = new IdentityHashMap<>();
+    private final long syncIntervalNanos;
+    private int nextConstraintId;
+    private long lastSync = System.nanoTime();
+    private volatile IOException failure;
+
+    private CheckpointWriter(Path path, FileChannel channel, Duration syncInterval) {
+        this.path = path;
+        this.channel = channel;
+        this.output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        this.syncIntervalNanos = syncInterval.toNanos();
+    }
+
+    /**
+     * Creates the checkpoint file of the resolution tracked by the specified tracker,
+     * containing its start information and its steps. The file replaces atomically the
+     * existing one, if any, so a resumed resolution can be checkpointed to the file it
+     * was restored from.
+     *
+     * @param path the path of the checkpoint file
+     * @param tracker the tracker of the resolution
+     * @param syncInterval the minimum time between two syncs of the file to the storage
+     * @return the writer, to be used as listener of the resolution
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the resolution was not traced, so its steps miss their changes
+     */
+    public static CheckpointWriter create(Path path, CSPResolutionTracker tracker, Duration syncInterval)
+            throws IOException {
+        if (!tracker.traced()) {
+            throw new IllegalArgumentException("A resolution without trace cannot be checkpointed");
+        }
+        final Path directory = path.toAbsolutePath().getParent();
+        final Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE);
+        final var writer = new CheckpointWriter(path, channel, syncInterval);
+        try {
+            writer.output.writeInt(CheckpointFormat.MAGIC);
+            writer.output.writeInt(CheckpointFormat.VERSION);
+            writer.writeStart(tracker.startInformation());
+            CSP previous = tracker.startInformation().toCSP();
+            for (int i = 0; i < tracker.iterations().size(); i++) {
+                final CSPResolutionStep step = tracker.iterations().get(i);
+                writer.writeStep(previous, step, tracker.hasSolution() || i < tracker.iterations().size() - 1);
+                previous = step.updatedCSP();
+            }
+            writer.sync();
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        return writer;
+    }
+
+    @Override
+    public void stepCompleted(CSPResolutionTracker previous, CSPResolutionTracker current) {
+        if (failure != null) {
+            return;
+        }
+        final CSP previousCSP = new CSP(previous.lastStepVariables(), previous.lastStepConstraints());
+        final CSPResolutionStep step = current.iterations().get(current.iterations().size() - 1);
+        final boolean hasSolution = current.hasSolution();
+        executor.execute(() -> {
+            if (failure != null) {
+                return;
+            }
+            try {
+                writeStep(previousCSP, step, hasSolution);
+                if (System.nanoTime() - lastSync >= syncIntervalNanos) {
+                    sync();
+                }
+            } catch (IOException e) {
+                log.error("{} - checkpoint {} not written, checkpointing stopped", "stepCompleted", path, e);
+                failure = e;
+            }
+        });
+    }
+
+    /**
+     * Writes the pending records, syncs the file to the storage and closes it.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("{} - pending checkpoint records of {} not written", "close", path);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try (channel) {
+            if (failure == null) {
+                sync();
+            }
+        }
+    }
+
+    private void writeStart(StartInformation startInformation) throws IOException {
+        final var record = new ByteArrayOutputStream();
+        final var recordOutput = new DataOutputStream(record);
+        recordOutput.writeByte(CheckpointFormat.START_RECORD);
+        encoder.writeStrings(recordOutput, startInformation.variableOrder());
+        writeVarInt(recordOutput, startInformation.variables().size());
+        for (Variable variable : startInformation.variables()) {
+            encoder.writeVariable(recordOutput, variable);
+        }
+        writeConstraints(recordOutput, startInformation.constraints());
+        writeRecord(record);
+    }
+
+    private void writeStep(CSP previous, CSPResolutionStep step, boolean hasSolution) throws IOException {
+        final CSP current = step.updatedCSP();
+        final List<Variable> changedVariables = difference(current.variables(), previous.variables());
+        final List<Constraint> removedConstraints = difference(previous.constraints(), current.constraints());
+        final List<Constraint> addedConstraints = difference(current.constraints(), previous.constraints());
+
+        final var record = new ByteArrayOutputStream();
+        final var recordOutput = new DataOutputStream(record);
+        recordOutput.writeByte(CheckpointFormat.STEP_RECORD);
+        writeVarInt(recordOutput, step.number());
+        encoder.writeString(recordOutput, step.variable());
+        recordOutput.writeBoolean(hasSolution);
+        final BucketMetrics metrics = step.metrics();
+        recordOutput.writeLong(metrics.elapsedNanos());
+        recordOutput.writeLong(metrics.generatedTuples());
+        recordOutput.writeLong(metrics.acceptedTuples());
+        recordOutput.writeLong(metrics.projectedTuples());
+        recordOutput.writeBoolean(step.approximated());
+        writeVarInt(recordOutput, changedVariables.size());
+        for (Variable variable : changedVariables) {
+            encoder.writeVariable(recordOutput, variable);
+        }
+        writeVarInt(recordOutput, removedConstraints.size());
+        for (Constraint constraint : removedConstraints) {
+            final Integer id = constraintIds.remove(constraint);
+            if (id == null) {
+                throw new IllegalStateException("Constraint not in the checkpoint: " + constraint.getVariables());
+            }
+            writeVarInt(recordOutput, id);
+        }
+        writeConstraints(recordOutput, addedConstraints);
+        writeRecord(record);
+    }
+
+    /*
+     * Writes the specified constraints, assigning them the identifiers the following
+     * records use to remove them.
+     */
+    private void writeConstraints(DataOutputStream recordOutput, Collection<Constraint> constraints)
+            throws IOException {
+        writeVarInt(recordOutput, constraints.size());
+        for (Constraint constraint : constraints) {
+            constraintIds.put(constraint, nextConstraintId++);
+            encoder.writeConstraint(recordOutput, constraint);
+        }
+    }
+
+    private void writeRecord(ByteArrayOutputStream record) throws IOException {
+        final byte[] content = record.toByteArray();
+        final var crc = new CRC32();
+        crc.update(content);
+        output.writeInt(content.length);
+        output.write(content);
+        output.writeInt((int) crc.getValue());
+        output.flush();
+    }
+
+    private void sync() throws IOException {
+        output.flush();
+        channel.force(false);
+        lastSync = System.nanoTime();
+    }
+
+    private static <T> List<T> difference(Set<T> elements, Set<T> excluded) {
+        final Set<T> excludedElements = Collections.newSetFromMap(new IdentityHashMap<>());
+        excludedElements.addAll(excluded);
+        return elements.stream().filter(element -> !excludedElements.contains(element)).toList();
+    }
+}
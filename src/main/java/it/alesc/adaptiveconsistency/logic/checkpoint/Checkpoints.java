@@ -0,0 +1,61 @@
+package it.alesc.adaptiveconsistency.logic.checkpoint;
+
+import it.alesc.adaptiveconsistency.logic.ProblemSolver;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * It solves problems saving a checkpoint of every step, so that a resolution that
+ * crashed or was stopped can be resumed from its last completed step. The writer of
+ * the checkpoints listens to the steps only during the resolution, so the control can
+ * be reused afterwards.
+ */
+@UtilityClass
+public class Checkpoints {
+    public static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofSeconds(10);
+
+    /**
+     * Solves the problem writing its checkpoints to the specified file.
+     *
+     * @param startInformation the problem to solve
+     * @param checkpoint the path of the checkpoint file
+     * @param control the deadline and the cancellation of the resolution
+     * @return the tracker of the resolution
+     * @throws IOException if the checkpoint file cannot be written
+     */
+    public static CSPResolutionTracker solve(StartInformation startInformation, Path checkpoint,
+                                             SolverControl control) throws IOException {
+        final var writer = CheckpointWriter.create(checkpoint, new CSPResolutionTracker(startInformation, true),
+                DEFAULT_SYNC_INTERVAL);
+        try (writer) {
+            return ProblemSolver.solveProblem(startInformation, control.onStep(writer));
+        } finally {
+            control.removeListener(writer);
+        }
+    }
+
+    /**
+     * Resumes the resolution saved in the specified checkpoint file from its last
+     * step, continuing to write its checkpoints to the same file.
+     *
+     * @param checkpoint the path of the checkpoint file
+     * @param control the deadline and the cancellation of the resolution
+     * @return the tracker of the resolution
+     * @throws IOException if the checkpoint file cannot be read or written
+     */
+    public static CSPResolutionTracker resume(Path checkpoint, SolverControl control) throws IOException {
+        final CSPResolutionTracker tracker = CheckpointReader.read(checkpoint);
+        final var writer = CheckpointWriter.create(checkpoint, tracker, DEFAULT_SYNC_INTERVAL);
+        try (writer) {
+            return ProblemSolver.resume(tracker, control.onStep(writer));
+        } finally {
+            control.removeListener(writer);
+        }
+    }
+}
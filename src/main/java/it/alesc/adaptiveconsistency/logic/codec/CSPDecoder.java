@@ -0,0 +1,69 @@
+package it.alesc.adaptiveconsistency.logic.codec;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.Variable;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.*;
+
+/**
+ * It reads the variables and the constraints written by a {@link CSPEncoder}.
+ */
+public class CSPDecoder {
+    private final List<String> strings = new ArrayList<>();
+
+    public String readString(DataInput input) throws IOException {
+        final int index = readVarInt(input);
+        if (index == 0) {
+            final String string = input.readUTF();
+            strings.add(string);
+            return string;
+        }
+        if (index > strings.size()) {
+            throw new StreamCorruptedException("Unknown string reference " + index);
+        }
+        return strings.get(index - 1);
+    }
+
+    public List<String> readStrings(DataInput input) throws IOException {
+        final int size = readVarInt(input);
+        final List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(input));
+        }
+        return List.copyOf(values);
+    }
+
+    public Variable readVariable(DataInput input) throws IOException {
+        final String name = readString(input);
+        return new Variable(name, new LinkedHashSet<>(readStrings(input)));
+    }
+
+    public Constraint readConstraint(DataInput input) throws IOException {
+        final List<String> variables = readStrings(input);
+        final int size = readVarInt(input);
+        final Set<List<String>> tuples = new HashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            final String[] tuple = new String[variables.size()];
+            for (int j = 0; j < tuple.length; j++) {
+                tuple[j] = readString(input);
+            }
+            tuples.add(List.of(tuple));
+        }
+        return new Constraint(variables, tuples);
+    }
+
+    public static int readVarInt(DataInput input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final byte current = input.readByte();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable-length integer");
+    }
+}
@@ -0,0 +1,77 @@
+package it.alesc.adaptiveconsistency.logic.codec;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.Variable;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * It writes variables and constraints in a compact binary format. Every distinct string is
+ * written once, the first time it is used, and then referred to by index, so the format
+ * is incremental: an encoder and the matching {@link CSPDecoder} keep the same table of
+ * strings across the records of a stream.
+ */
+public class CSPEncoder {
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    /**
+     * Writes the specified string.
+     *
+     * @param output the output
+     * @param string the string
+     * @throws IOException if the output cannot be written
+     */
+    public void writeString(DataOutput output, String string) throws IOException {
+        final Integer index = strings.get(string);
+        if (index != null) {
+            writeVarInt(output, index + 1);
+            return;
+        }
+        writeVarInt(output, 0);
+        output.writeUTF(string);
+        strings.put(string, strings.size());
+    }
+
+    public void writeStrings(DataOutput output, Collection<String> values) throws IOException {
+        writeVarInt(output, values.size());
+        for (String value : values) {
+            writeString(output, value);
+        }
+    }
+
+    public void writeVariable(DataOutput output, Variable variable) throws IOException {
+        writeString(output, variable.getName());
+        writeStrings(output, variable.getDomain());
+    }
+
+    public void writeConstraint(DataOutput output, Constraint constraint) throws IOException {
+        writeStrings(output, constraint.getVariables());
+        writeVarInt(output, constraint.getCompTuples().size());
+        for (List<String> tuple : constraint.getCompTuples()) {
+            for (String value : tuple) {
+                writeString(output, value);
+            }
+        }
+    }
+
+    /**
+     * Writes a non-negative integer in 1 to 5 bytes, 7 bits per byte.
+     *
+     * @param output the output
+     * @param value the non-negative integer
+     * @throws IOException if the output cannot be written
+     */
+    public static void writeVarInt(DataOutput output, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+}
@@ -0,0 +1,28 @@
+package it.alesc.adaptiveconsistency.logic.csp;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * It represents the bucket of a variable: the relation over the variable and its
+ * parents obtained by joining the constraints which latest variable is the one of the bucket.
+ *
+ * @param variable the name of the variable of the bucket
+ * @param parents the names of the parents of the variable, in the order of the variable ordering
+ * @param relation the relation of the bucket, which variables are the variable followed by its parents
+ */
+public record Bucket(String variable, List<String> parents, Constraint relation) {
+    /**
+     * Returns the name of the variable which bucket receives the projection of this bucket,
+     * i.e. the latest parent in the ordering.
+     *
+     * @return the name of the parent variable in the bucket tree or an empty optional for a root bucket
+     */
+    public Optional<String> parentBucketVariable() {
+        return parents.isEmpty() ? Optional.empty() : Optional.of(parents.get(parents.size() - 1));
+    }
+
+    public int size() {
+        return relation.getCompTuples().size();
+    }
+}
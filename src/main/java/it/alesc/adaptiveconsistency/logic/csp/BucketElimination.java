@@ -0,0 +1,14 @@
+package it.alesc.adaptiveconsistency.logic.csp;
+
+/**
+ * It is the result of the processing of the bucket of a variable: the join of the
+ * constraints of the bucket projected onto the parents of the variable.
+ *
+ * @param projection the projected constraint
+ * @param metrics the counters of the processing of the bucket
+ */
+public record BucketElimination(
+        Constraint projection,
+        BucketMetrics metrics
+) {
+}
@@ -0,0 +1,17 @@
+package it.alesc.adaptiveconsistency.logic.csp;
+
+/**
+ * It contains the counters of the processing of the bucket of a variable.
+ *
+ * @param elapsedNanos the wall time spent processing the bucket
+ * @param generatedTuples the number of tuples generated by the Cartesian product of the domains
+ * @param acceptedTuples the number of tuples which passed the filtering by the constraints of the bucket
+ * @param projectedTuples the number of tuples of the projected relation
+ */
+public record BucketMetrics(
+        long elapsedNanos,
+        long generatedTuples,
+        long acceptedTuples,
+        long projectedTuples
+) {
+}
@@ -0,0 +1,30 @@
+package it.alesc.adaptiveconsistency.logic.csp;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * It represents the tree of buckets produced by the elimination along a variable ordering.
+ *
+ * @param variableOrder the variable ordering
+ * @param buckets the buckets indexed by the name of their variable
+ */
+public record BucketTree(List<String> variableOrder, Map<String, Bucket> buckets) {
+    public Bucket bucket(String variableName) {
+        return buckets.get(variableName);
+    }
+
+    public Optional<Bucket> parentBucket(Bucket bucket) {
+        return bucket.parentBucketVariable().map(buckets::get);
+    }
+
+    /**
+     * Returns the total number of tuples in the relations of the buckets.
+     *
+     * @return the total number of tuples
+     */
+    public long size() {
+        return buckets.values().stream().mapToLong(Bucket::size).sum();
+    }
+}
@@ -1,8 +1,22 @@
 package it.alesc.adaptiveconsistency.logic.csp;
 
+/**
+ * It represents the processing of the bucket of a variable.
+ *
+ * @param updatedCSP the CSP reached by the step: a resolution without trace records it only
+ *                   in its last step, so it is <code>null</code> in the others unless the
+ *                   resolution has listeners
+ * @param approximated whether the bucket was split into mini-buckets, so the step did not
+ *                     record the whole projection of the bucket
+ */
 public record CSPResolutionStep(
         int number,
         String variable,
-        CSP updatedCSP
+        CSP updatedCSP,
+        BucketMetrics metrics,
+        boolean approximated
 ) {
+    public CSPResolutionStep(int number, String variable, CSP updatedCSP, BucketMetrics metrics) {
+        this(number, variable, updatedCSP, metrics, false);
+    }
 }
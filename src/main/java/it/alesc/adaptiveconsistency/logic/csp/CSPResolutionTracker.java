@@ -1,7 +1,10 @@
 package it.alesc.adaptiveconsistency.logic.csp;
 
+import it.alesc.adaptiveconsistency.logic.metrics.SolverMetrics;
+
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
@@ -10,20 +13,41 @@ public record CSPResolutionTracker(
         StartInformation startInformation,
         List<CSPResolutionStep> iterations,
         boolean hasSolution,
-        Map<String, String> solution
+        Map<String, String> solution,
+        SolverMetrics metrics,
+        ResolutionStatus status
 ) {
     public CSPResolutionTracker(StartInformation startInformation, boolean hasSolution) {
-        this(startInformation, List.of(), hasSolution, null);
+        this(startInformation, List.of(), hasSolution, null, SolverMetrics.newRun(), ResolutionStatus.RUNNING);
     }
 
     public Set<Variable> lastStepVariables() {
-        return iterations.isEmpty() ? startInformation.variables()
-                : iterations.get(iterations.size() - 1).updatedCSP().variables();
+        return iterations.isEmpty() ? startInformation.variables() : lastStepCSP().variables();
     }
 
     public Set<Constraint> lastStepConstraints() {
-        return iterations.isEmpty() ? startInformation.constraints()
-                : iterations.get(iterations.size() - 1).updatedCSP().constraints();
+        return iterations.isEmpty() ? startInformation.constraints() : lastStepCSP().constraints();
+    }
+
+    /**
+     * Checks whether every step recorded the CSP it reached, i.e. the resolution was traced.
+     *
+     * @return <code>true</code> if every step has its CSP, <code>false</code> otherwise
+     */
+    public boolean traced() {
+        return iterations.stream().allMatch(step -> step.updatedCSP() != null);
+    }
+
+    /*
+     * The solver records the CSP of the last step of a finished or stopped resolution also
+     * without trace, so it is missing only from a tracker taken in the middle of one.
+     */
+    private CSP lastStepCSP() {
+        final CSPResolutionStep last = iterations.get(iterations.size() - 1);
+        if (last.updatedCSP() == null) {
+            throw new IllegalStateException("The step " + last.number() + " did not record its CSP");
+        }
+        return last.updatedCSP();
     }
 
     public int lastStepIndex() {
@@ -36,11 +60,79 @@ public record CSPResolutionTracker(
 
     public CSPResolutionTracker addStep(CSPResolutionStep step, boolean hasSolution) {
         final List<CSPResolutionStep> steps = Stream.concat(iterations.stream(), Stream.of(step)).toList();
-        return new CSPResolutionTracker(startInformation, steps, hasSolution, null);
+        return new CSPResolutionTracker(startInformation, steps, hasSolution, null, metrics, status);
+    }
+
+    /**
+     * Returns this tracker with the specified CSP recorded in its last step, e.g. the one
+     * reached by a resolution without trace, whose steps do not record it.
+     *
+     * @param csp the CSP reached by the last step
+     * @return the updated tracker
+     */
+    public CSPResolutionTracker withLastStepCSP(CSP csp) {
+        if (iterations.isEmpty()) {
+            return this;
+        }
+        final CSPResolutionStep last = iterations.get(iterations.size() - 1);
+        final List<CSPResolutionStep> steps = Stream.concat(iterations.stream().limit(iterations.size() - 1L),
+                Stream.of(new CSPResolutionStep(last.number(), last.variable(), csp, last.metrics(),
+                        last.approximated()))).toList();
+        return new CSPResolutionTracker(startInformation, steps, hasSolution, solution, metrics, status);
     }
 
     public CSPResolutionTracker addSolution(Map<String, String> solution) {
-        return new CSPResolutionTracker(startInformation, iterations, true, solution);
+        return new CSPResolutionTracker(startInformation, iterations, true, solution, metrics,
+                ResolutionStatus.COMPLETED);
+    }
+
+    public CSPResolutionTracker complete() {
+        return withStatus(ResolutionStatus.COMPLETED);
+    }
+
+    public CSPResolutionTracker withStatus(ResolutionStatus newStatus) {
+        return new CSPResolutionTracker(startInformation, iterations, hasSolution, solution, metrics, newStatus);
+    }
+
+    public boolean isStopped() {
+        return status.isStopped();
+    }
+
+    /**
+     * Returns the variable whose bucket is processed after the last step, i.e. the one where a
+     * stopped resolution was interrupted.
+     *
+     * @return the next variable to eliminate or empty if every bucket was processed
+     */
+    public Optional<String> nextVariable() {
+        final List<String> order = variablesOrder();
+        final int index = order.size() - 1 - iterations.size();
+        return index >= 0 ? Optional.of(order.get(index)) : Optional.empty();
+    }
+
+    /**
+     * Checks whether a bucket of the resolution was split into mini-buckets.
+     *
+     * @return <code>true</code> if the resolution was approximated, <code>false</code> otherwise
+     */
+    public boolean approximated() {
+        return iterations.stream().anyMatch(CSPResolutionStep::approximated);
+    }
+
+    /**
+     * Checks whether the result of the resolution is exact. An approximated resolution that
+     * found the problem not satisfiable or that extracted a whole solution is exact as well,
+     * since the mini-buckets never remove a solution and the extraction checks every constraint.
+     *
+     * @return <code>true</code> if the result is exact, <code>false</code> if the problem may
+     * have no solution even if no inconsistency was found
+     */
+    public boolean exact() {
+        return !approximated() || !hasSolution || solution != null;
+    }
+
+    public List<BucketMetrics> bucketMetrics() {
+        return iterations.stream().map(CSPResolutionStep::metrics).toList();
     }
 
     public CSPResolutionTracker finish(UnaryOperator<CSPResolutionTracker> finishFunction) {
@@ -101,34 +101,49 @@ public class Constraint {
 	private HashSet<List<String>> computeTuples(
 			final List<String> variableNames, final Set<Variable> variables,
 			final Operator op) {
-		HashSet<List<String>> constrCompTuples = new HashSet<>();
-
-		if (variableNames.isEmpty()) {
-			return constrCompTuples;
-		}
 		/*
-		 * I extract the variable which name is the first element of the names
-		 * array, and I create another array that is a copy of the names array
-		 * but without the first element.
+		 * The tuples are generated only from the domains of the variables
+		 * preceding the first one that does not exist in the set.
 		 */
-		Variable firstVar = searchVariableByName(variables,
-				variableNames.get(0));
+		List<Set<String>> domains = new ArrayList<>();
+		for (String variableName : variableNames) {
+			Variable variable = searchVariableByName(variables, variableName);
+			if (variable == null) {
+				break;
+			}
+			domains.add(variable.getDomain());
+		}
+
+		return computeTuples(domains, op);
+	}
 
-		if (firstVar == null) {
+	/*
+	 * Returns a set of tuples generated from elements of the specified domains.
+	 * Every tuple is generated to satisfy the property that every pair of
+	 * values of the tuple satisfy the operator.
+	 * 
+	 * @param domains the domains which elements are used to generate the tuples
+	 * 
+	 * @param op the operator used in the property
+	 * 
+	 * @return the set of tuples that satisfy the property
+	 */
+	static HashSet<List<String>> computeTuples(final List<Set<String>> domains,
+			final Operator op) {
+		HashSet<List<String>> constrCompTuples = new HashSet<>();
+
+		if (domains.isEmpty()) {
 			return constrCompTuples;
 		}
 
-		Set<String> firstDomain = firstVar.getDomain();
+		Set<String> firstDomain = domains.get(0);
 
 		/*
-		 * I use the array created by copy to create the tuples considering
-		 * variables in the array.
+		 * I use the domains but the first one to create the tuples
+		 * considering the variables of those domains.
 		 */
-		List<String> variableNamesTail = variableNames.subList(1,
-				variableNames.size());
-
-		HashSet<List<String>> tuples = computeTuples(variableNamesTail,
-				variables, op);
+		HashSet<List<String>> tuples = computeTuples(
+				domains.subList(1, domains.size()), op);
 
 		/*
 		 * for any tuple of the result of the recursive call I generate
@@ -166,7 +181,7 @@ public class Constraint {
 	 * @return the new tuple or <code>null</code> if adding the new value does
 	 * not keep the property
 	 */
-	private List<String> createNewTuple(final String value,
+	private static List<String> createNewTuple(final String value,
 			final List<String> tuple, final Operator op) {
 		boolean ok = true;
 		for (String elemTuple : tuple) {
@@ -0,0 +1,14 @@
+package it.alesc.adaptiveconsistency.logic.csp;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * It represents a cost function of a weighted problem: the cost of every allowed tuple of
+ * values of its variables. The tuples without a cost are not allowed.
+ *
+ * @param variables the names of the variables of the function
+ * @param costs the costs of the allowed tuples
+ */
+public record CostFunction(List<String> variables, Map<List<String>, Long> costs) {
+}
@@ -0,0 +1,17 @@
+package it.alesc.adaptiveconsistency.logic.csp;
+
+import java.util.Map;
+
+/**
+ * It is the result of the optimization of a weighted problem.
+ *
+ * @param status the status of the optimization
+ * @param solution a solution of minimum cost or <code>null</code> if there is none or the
+ *                 optimization was stopped
+ * @param cost the cost of the solution or <code>null</code> without a solution
+ */
+public record OptimizationResult(ResolutionStatus status, Map<String, String> solution, Long cost) {
+    public boolean hasSolution() {
+        return solution != null;
+    }
+}
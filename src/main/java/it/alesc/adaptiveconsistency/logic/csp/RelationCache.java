@@ -0,0 +1,80 @@
+package it.alesc.adaptiveconsistency.logic.csp;
+
+import com.google.common.collect.ImmutableSet;
+import it.alesc.adaptiveconsistency.specification.Operator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * It shares the relations of the constraints built from an operator. The domains are interned,
+ * so that equal domains are the same instance, and the relations are cached by operator and
+ * domain identities: the constraints with the same operator over the same domains share a
+ * single immutable set of tuples, which is computed once. It can be used by multiple threads.
+ */
+public class RelationCache {
+    private final Map<List<String>, Set<String>> domains = new ConcurrentHashMap<>();
+    private final Map<RelationKey, Set<List<String>>> relations = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared instance of the specified domain. Domains with the same values in the
+     * same order share the instance.
+     *
+     * @param domain the domain
+     * @return the shared immutable instance of the domain
+     */
+    public Set<String> internDomain(Set<String> domain) {
+        return domains.computeIfAbsent(List.copyOf(domain), ImmutableSet::copyOf);
+    }
+
+    /**
+     * Returns the tuples of the constraint with the specified operator over the specified
+     * domains, which must be interned.
+     *
+     * @param operator the operator of the constraint
+     * @param constraintDomains the interned domains of the variables of the constraint
+     * @return the shared immutable set of tuples of the constraint
+     */
+    public Set<List<String>> relation(Operator operator, List<Set<String>> constraintDomains) {
+        return relations.computeIfAbsent(new RelationKey(operator, constraintDomains),
+                key -> ImmutableSet.copyOf(Constraint.computeTuples(constraintDomains, operator)));
+    }
+
+    public int domainCount() {
+        return domains.size();
+    }
+
+    public int relationCount() {
+        return relations.size();
+    }
+
+    /*
+     * The key of a relation: the domains are compared by identity, as they are interned.
+     */
+    private record RelationKey(Operator operator, List<Set<String>> domains) {
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof RelationKey key) || key.operator != operator
+                    || key.domains.size() != domains.size()) {
+                return false;
+            }
+            for (int i = 0; i < domains.size(); i++) {
+                if (key.domains.get(i) != domains.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = operator.hashCode();
+            for (Set<String> domain : domains) {
+                hash = 31 * hash + System.identityHashCode(domain);
+            }
+            return hash;
+        }
+    }
+}
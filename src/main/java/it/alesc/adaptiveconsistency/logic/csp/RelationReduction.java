@@ -0,0 +1,14 @@
+package it.alesc.adaptiveconsistency.logic.csp;
+
+/**
+ * It reports the size of the relation of a bucket before and after a reduction.
+ *
+ * @param variable the name of the variable of the bucket
+ * @param sizeBefore the number of tuples before the reduction
+ * @param sizeAfter the number of tuples after the reduction
+ */
+public record RelationReduction(String variable, int sizeBefore, int sizeAfter) {
+    public int removedTuples() {
+        return sizeBefore - sizeAfter;
+    }
+}
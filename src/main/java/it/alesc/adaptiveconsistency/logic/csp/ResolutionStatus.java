@@ -0,0 +1,27 @@
+package it.alesc.adaptiveconsistency.logic.csp;
+
+/**
+ * It represents the state of a resolution.
+ */
+public enum ResolutionStatus {
+    /**
+     * The resolution is in progress.
+     */
+    RUNNING,
+    /**
+     * The resolution ended: the tracker contains the solution or proves that there is none.
+     */
+    COMPLETED,
+    /**
+     * The resolution was cancelled before its end: the tracker contains the steps done.
+     */
+    CANCELLED,
+    /**
+     * The resolution exceeded its deadline: the tracker contains the steps done.
+     */
+    TIMED_OUT;
+
+    public boolean isStopped() {
+        return this == CANCELLED || this == TIMED_OUT;
+    }
+}
@@ -0,0 +1,19 @@
+package it.alesc.adaptiveconsistency.logic.csp;
+
+import java.util.List;
+
+/**
+ * It is the result of the semijoin reduction of a bucket tree.
+ *
+ * @param bucketTree the reduced bucket tree
+ * @param reductions the relation sizes of every bucket, in the order of the variable ordering
+ */
+public record SemijoinReduction(BucketTree bucketTree, List<RelationReduction> reductions) {
+    public long sizeBefore() {
+        return reductions.stream().mapToLong(RelationReduction::sizeBefore).sum();
+    }
+
+    public long sizeAfter() {
+        return reductions.stream().mapToLong(RelationReduction::sizeAfter).sum();
+    }
+}
@@ -3,20 +3,41 @@ package it.alesc.adaptiveconsistency.logic.csp;
 import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
 
 import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public record StartInformation(Set<Variable> variables, Set<Constraint> constraints, List<String> variableOrder) implements Serializable {
     public static StartInformation buildStartInformation(ProblemSpecification specification) {
-        var variables = specification.getVariables().stream()
-                .map(variable -> new Variable(variable.getName(), variable.getDomainValues()))
-                .collect(Collectors.toSet());
+        return buildStartInformation(specification, new RelationCache());
+    }
+
+    /**
+     * Builds the start information of the specified problem. The constraints with the same
+     * operator over equal domains share their tuples through the specified cache, and they
+     * are built in parallel.
+     *
+     * @param specification the validated problem specification
+     * @param relationCache the cache of the domains and of the relations
+     * @return the start information of the problem
+     */
+    public static StartInformation buildStartInformation(ProblemSpecification specification,
+                                                         RelationCache relationCache) {
+        final Map<String, Variable> variablesByName = specification.getVariables().stream()
+                .map(variable -> new Variable(variable.getName(), relationCache.internDomain(variable.getDomainValues())))
+                .collect(Collectors.toMap(Variable::getName, Function.identity(), (first, second) -> first,
+                        LinkedHashMap::new));
+        final Set<Variable> variables = new LinkedHashSet<>(variablesByName.values());
 
-        final var constraints = specification.getConstraints().stream()
+        final var constraints = specification.getConstraints().parallelStream()
                 .map(constraint -> {
                     var constraintVariables = List.of(constraint.getFirstVariable(), constraint.getSecondVariable());
-                    return new Constraint(constraintVariables, variables, constraint.getOperator());
+                    var domains = constraintVariables.stream().map(name -> variablesByName.get(name).getDomain()).toList();
+                    return new Constraint(constraintVariables, relationCache.relation(constraint.getOperator(), domains));
                 })
                 .collect(Collectors.toSet());
         return new StartInformation(variables, constraints, specification.getVariableOrder());
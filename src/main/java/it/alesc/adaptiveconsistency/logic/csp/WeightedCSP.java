@@ -0,0 +1,62 @@
+package it.alesc.adaptiveconsistency.logic.csp;
+
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * It represents a weighted problem: its constraints are cost functions and its solutions
+ * are the assignments of the allowed tuples of every function, whose cost is the sum of
+ * the costs of the tuples.
+ *
+ * @param variables the variables of the problem
+ * @param functions the cost functions of the problem
+ * @param variableOrder the variable ordering
+ */
+public record WeightedCSP(Set<Variable> variables, List<CostFunction> functions, List<String> variableOrder) {
+    /**
+     * Builds the weighted problem of the specified problem. A constraint with a weight allows
+     * every pair of values, those violating its operator at the cost of the weight, while a
+     * constraint without weight allows only the pairs satisfying it; the cost table adds its
+     * costs to the allowed pairs.
+     *
+     * @param specification the validated problem specification
+     * @return the weighted problem
+     */
+    public static WeightedCSP of(ProblemSpecification specification) {
+        final Map<String, Variable> variablesByName = specification.getVariables().stream()
+                .map(variable -> new Variable(variable.getName(), variable.getDomainValues()))
+                .collect(Collectors.toMap(Variable::getName, Function.identity(), (first, second) -> first,
+                        LinkedHashMap::new));
+        final List<CostFunction> functions = specification.getConstraints().stream()
+                .map(constraint -> costFunction(constraint, variablesByName))
+                .toList();
+        return new WeightedCSP(new LinkedHashSet<>(variablesByName.values()), functions,
+                specification.getVariableOrder());
+    }
+
+    private static CostFunction costFunction(it.alesc.adaptiveconsistency.specification.Constraint constraint,
+                                             Map<String, Variable> variablesByName) {
+        final List<String> scope = List.of(constraint.getFirstVariable(), constraint.getSecondVariable());
+        final Set<String> firstDomain = variablesByName.get(constraint.getFirstVariable()).getDomain();
+        final Set<String> secondDomain = variablesByName.get(constraint.getSecondVariable()).getDomain();
+        final Set<List<String>> allowed = Constraint.computeTuples(List.of(firstDomain, secondDomain),
+                constraint.getOperator());
+        final Map<String, Map<String, Long>> costTable = constraint.getCostTable() == null
+                ? Map.of() : constraint.getCostTable();
+        final Map<List<String>, Long> costs = new HashMap<>();
+        for (String first : firstDomain) {
+            for (String second : secondDomain) {
+                final List<String> tuple = List.of(first, second);
+                final boolean satisfied = allowed.contains(tuple);
+                if (satisfied || constraint.getWeight() != null) {
+                    final long cost = costTable.getOrDefault(first, Map.of()).getOrDefault(second, 0L);
+                    costs.put(tuple, satisfied ? cost : cost + constraint.getWeight());
+                }
+            }
+        }
+        return new CostFunction(scope, costs);
+    }
+}
@@ -0,0 +1,20 @@
+package it.alesc.adaptiveconsistency.logic.exceptions;
+
+import it.alesc.adaptiveconsistency.logic.csp.ResolutionStatus;
+import lombok.Getter;
+
+/**
+ * It represents the interruption of a resolution because it was cancelled or
+ * it exceeded its deadline.
+ */
+@Getter
+public class ResolutionStoppedException extends RuntimeException {
+	private static final long serialVersionUID = -3180436510914577381L;
+
+	private final ResolutionStatus status;
+
+	public ResolutionStoppedException(ResolutionStatus status) {
+		super("resolution " + status.name().toLowerCase());
+		this.status = status;
+	}
+}
@@ -0,0 +1,47 @@
+package it.alesc.adaptiveconsistency.logic.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The flight recorder event of the processing of the bucket of a variable.
+ * It is disabled by default: it can be enabled in the recording settings with the
+ * name {@value #NAME}.
+ */
+@Name(BucketEvent.NAME)
+@Label("Bucket Processing")
+@Category({"Adaptive Consistency", "Solver"})
+@Description("Processing of the bucket of a variable during the adaptive consistency")
+@Enabled(false)
+@StackTrace(false)
+public class BucketEvent extends Event {
+    public static final String NAME = "it.alesc.adaptiveconsistency.Bucket";
+
+    @Label("Iteration")
+    private int iteration;
+    @Label("Variable")
+    private String variable;
+    @Label("Parent Count")
+    private int parentCount;
+    @Label("Generated Tuples")
+    private long generatedTuples;
+    @Label("Accepted Tuples")
+    private long acceptedTuples;
+    @Label("Relation Size")
+    private long relationSize;
+    @Label("Satisfiable")
+    private boolean satisfiable;
+
+    public void record(int iteration, String variable, int parentCount, long generatedTuples,
+                       long acceptedTuples, long relationSize, boolean satisfiable) {
+        if (shouldCommit()) {
+            this.iteration = iteration;
+            this.variable = variable;
+            this.parentCount = parentCount;
+            this.generatedTuples = generatedTuples;
+            this.acceptedTuples = acceptedTuples;
+            this.relationSize = relationSize;
+            this.satisfiable = satisfiable;
+            commit();
+        }
+    }
+}
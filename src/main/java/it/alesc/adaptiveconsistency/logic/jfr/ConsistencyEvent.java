@@ -0,0 +1,44 @@
+package it.alesc.adaptiveconsistency.logic.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The flight recorder event of the computation of the constraint that makes the
+ * parents of a variable consistent with it. It is disabled by default: it can be
+ * enabled in the recording settings with the name {@value #NAME}.
+ */
+@Name(ConsistencyEvent.NAME)
+@Label("Consistency")
+@Category({"Adaptive Consistency", "Solver"})
+@Description("Join of the bucket of a variable and projection on its parents")
+@Enabled(false)
+@StackTrace(false)
+public class ConsistencyEvent extends Event {
+    public static final String NAME = "it.alesc.adaptiveconsistency.Consistency";
+
+    @Label("Variable")
+    private String variable;
+    @Label("Parent Count")
+    private int parentCount;
+    @Label("Applicable Constraints")
+    private int applicableConstraints;
+    @Label("Generated Tuples")
+    private long generatedTuples;
+    @Label("Accepted Tuples")
+    private long acceptedTuples;
+    @Label("Projected Tuples")
+    private long projectedTuples;
+
+    public void record(String variable, int parentCount, int applicableConstraints,
+                       long generatedTuples, long acceptedTuples, long projectedTuples) {
+        if (shouldCommit()) {
+            this.variable = variable;
+            this.parentCount = parentCount;
+            this.applicableConstraints = applicableConstraints;
+            this.generatedTuples = generatedTuples;
+            this.acceptedTuples = acceptedTuples;
+            this.projectedTuples = projectedTuples;
+            commit();
+        }
+    }
+}
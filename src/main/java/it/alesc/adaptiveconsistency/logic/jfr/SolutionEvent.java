@@ -0,0 +1,34 @@
+package it.alesc.adaptiveconsistency.logic.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The flight recorder event of the extraction of the solution after the adaptive
+ * consistency. It is disabled by default: it can be enabled in the recording settings
+ * with the name {@value #NAME}.
+ */
+@Name(SolutionEvent.NAME)
+@Label("Solution Extraction")
+@Category({"Adaptive Consistency", "Solver"})
+@Description("Backtrack-free extraction of the solution along the variable ordering")
+@Enabled(false)
+@StackTrace(false)
+public class SolutionEvent extends Event {
+    public static final String NAME = "it.alesc.adaptiveconsistency.Solution";
+
+    @Label("Variable Count")
+    private int variableCount;
+    @Label("Constraint Count")
+    private int constraintCount;
+    @Label("Assigned Variables")
+    private int assignedVariables;
+
+    public void record(int variableCount, int constraintCount, int assignedVariables) {
+        if (shouldCommit()) {
+            this.variableCount = variableCount;
+            this.constraintCount = constraintCount;
+            this.assignedVariables = assignedVariables;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package it.alesc.adaptiveconsistency.logic.jfr;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import jdk.jfr.*;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The flight recorder event of the update of the CSP with the constraint computed
+ * for a bucket. It is disabled by default: it can be enabled in the recording settings
+ * with the name {@value #NAME}.
+ */
+@Name(UpdateCSPEvent.NAME)
+@Label("Update CSP")
+@Category({"Adaptive Consistency", "Solver"})
+@Description("Update of the CSP with the constraint computed for the bucket of a variable")
+@Enabled(false)
+@StackTrace(false)
+public class UpdateCSPEvent extends Event {
+    public static final String NAME = "it.alesc.adaptiveconsistency.UpdateCSP";
+
+    @Label("Variable")
+    private String variable;
+    @Label("Constraint Arity")
+    private int constraintArity;
+    @Label("Constraint Size")
+    private long constraintSize;
+    @Label("Constraint Count")
+    private int constraintCount;
+    @Label("Total Relation Size")
+    private long totalRelationSize;
+
+    /**
+     * Commits the event if it is enabled: the constraints of the updated CSP are
+     * streamed and their sizes computed only in that case.
+     *
+     * @param variable the name of the variable of the bucket
+     * @param constraint the constraint computed for the bucket
+     * @param updatedConstraints the constraints of the updated CSP
+     */
+    public void record(String variable, Constraint constraint, Supplier<Stream<Constraint>> updatedConstraints) {
+        if (shouldCommit()) {
+            this.variable = variable;
+            this.constraintArity = constraint.getVariables().size();
+            this.constraintSize = constraint.getCompTuples().size();
+            this.constraintCount = (int) updatedConstraints.get().count();
+            this.totalRelationSize = updatedConstraints.get()
+                    .mapToLong(cspConstraint -> cspConstraint.getCompTuples().size()).sum();
+            commit();
+        }
+    }
+}
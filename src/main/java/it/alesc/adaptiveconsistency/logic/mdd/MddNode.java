@@ -0,0 +1,30 @@
+package it.alesc.adaptiveconsistency.logic.mdd;
+
+import java.util.Arrays;
+
+/*
+ * A node of a multi-valued decision diagram: the edges towards its children are labelled by
+ * the values of the variable at its depth, kept sorted. Every path from a root to the terminal
+ * node is a tuple of the relation, so all the paths to a node have the same length and the node
+ * needs not know its depth. The nodes are immutable and shared by all the diagrams built from them.
+ */
+final class MddNode {
+    static final MddNode TRUE = new MddNode(0, new String[0], new MddNode[0], 1);
+
+    final int id;
+    final String[] values;
+    final MddNode[] children;
+    final long count;
+
+    MddNode(int id, String[] values, MddNode[] children, long count) {
+        this.id = id;
+        this.values = values;
+        this.children = children;
+        this.count = count;
+    }
+
+    MddNode child(String value) {
+        final int index = Arrays.binarySearch(values, value);
+        return index >= 0 ? children[index] : null;
+    }
+}
@@ -0,0 +1,351 @@
+package it.alesc.adaptiveconsistency.logic.mdd;
+
+import java.util.*;
+
+/**
+ * It is a relation stored as a reduced multi-valued decision diagram: the tuples sharing
+ * a prefix share its nodes and equal sub-diagrams are stored once, so a relation with a
+ * lot of shared structure takes far less memory than a set of tuples. It is an immutable
+ * {@link Set} of tuples, so it can be the relation of a constraint, and it implements the
+ * membership, the conjunction and the projection directly on the diagram. Its hash code and
+ * its equality with another diagram are computed on the nodes, never on the tuples.
+ */
+public final class MddRelation extends AbstractSet<List<String>> {
+    private final int arity;
+    private final MddNode root;
+    private int hash;
+    private boolean hashed;
+
+    private MddRelation(int arity, MddNode root) {
+        this.arity = arity;
+        this.root = root;
+    }
+
+    /**
+     * Returns the diagram of the specified tuples.
+     *
+     * @param tuples the tuples of the relation
+     * @param arity the number of values of every tuple
+     * @return the relation
+     */
+    public static MddRelation of(Collection<List<String>> tuples, int arity) {
+        final Comparator<List<String>> lexicographic = (first, second) -> {
+            for (int i = 0; i < arity; i++) {
+                final int comparison = first.get(i).compareTo(second.get(i));
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return 0;
+        };
+        final List<List<String>> sorted = tuples.stream().distinct().sorted(lexicographic).toList();
+        return new MddRelation(arity, new MddTable().build(sorted, 0, sorted.size(), 0, arity));
+    }
+
+    /**
+     * Returns the diagram of the tuples over the specified variables whose values of the
+     * variables of the scope form a tuple of the specified relation and whose other values
+     * belong to the domains of their variables, i.e. the relation extended to the variables.
+     * Every value must also belong to the domain of its variable. A decision diagram whose
+     * variables are in the same order as in the extended relation is extended on its nodes,
+     * without enumerating its tuples.
+     *
+     * @param tuples the tuples of the relation
+     * @param scope the variables of the relation, all of them among the specified variables
+     * @param variables the variables of the extended relation
+     * @param domains the domains of the variables of the extended relation, in the same order
+     * @return the extended relation
+     */
+    public static MddRelation extend(Collection<List<String>> tuples, List<String> scope, List<String> variables,
+                                     List<? extends Collection<String>> domains) {
+        final int arity = variables.size();
+        final int[] positions = new int[arity];
+        final String[][] sortedDomains = new String[arity][];
+        for (int level = 0; level < arity; level++) {
+            positions[level] = scope.indexOf(variables.get(level));
+            sortedDomains[level] = domains.get(level).stream().sorted().toArray(String[]::new);
+        }
+        if (tuples instanceof MddRelation diagram && isSubsequence(scope, variables)) {
+            final boolean[] bound = new boolean[arity];
+            final List<Map<MddNode, MddNode>> memo = new ArrayList<>(arity);
+            for (int level = 0; level < arity; level++) {
+                bound[level] = positions[level] >= 0;
+                memo.add(new IdentityHashMap<>());
+            }
+            return new MddRelation(arity, new MddTable().extend(diagram.root, 0, bound, sortedDomains, memo));
+        }
+        final Comparator<String[]> lexicographic = (first, second) -> {
+            for (int level = 0; level < arity; level++) {
+                if (positions[level] >= 0) {
+                    final int comparison = first[level].compareTo(second[level]);
+                    if (comparison != 0) {
+                        return comparison;
+                    }
+                }
+            }
+            return 0;
+        };
+        final List<String[]> sorted = new ArrayList<>(tuples.size());
+        for (List<String> tuple : tuples) {
+            final String[] values = new String[arity];
+            for (int level = 0; level < arity; level++) {
+                if (positions[level] >= 0) {
+                    values[level] = tuple.get(positions[level]);
+                }
+            }
+            sorted.add(values);
+        }
+        sorted.sort(lexicographic);
+        return new MddRelation(arity, new MddTable().extend(sorted, 0, sorted.size(), 0, sortedDomains));
+    }
+
+    public int arity() {
+        return arity;
+    }
+
+    /**
+     * Returns the tuples belonging to both this relation and the specified one, whose tuples
+     * are over the same variables in the same order.
+     *
+     * @param other the other relation
+     * @return the conjunction of the relations
+     */
+    public MddRelation and(MddRelation other) {
+        checkArity(other);
+        return new MddRelation(arity, new MddTable().and(root, other.root, new HashMap<>()));
+    }
+
+    /**
+     * Returns the tuples belonging to this relation or to the specified one, whose tuples
+     * are over the same variables in the same order.
+     *
+     * @param other the other relation
+     * @return the disjunction of the relations
+     */
+    public MddRelation or(MddRelation other) {
+        checkArity(other);
+        return new MddRelation(arity, new MddTable().or(root, other.root, new HashMap<>()));
+    }
+
+    /**
+     * Returns the projection of this relation without the value at the specified position.
+     *
+     * @param position the position of the variable to remove
+     * @return the projected relation
+     */
+    public MddRelation project(int position) {
+        if (position < 0 || position >= arity) {
+            throw new IndexOutOfBoundsException(position);
+        }
+        return new MddRelation(arity - 1,
+                new MddTable().exists(root, position, 0, new IdentityHashMap<>(), new HashMap<>()));
+    }
+
+    /**
+     * Returns the number of nodes of the diagram, the terminal one excluded.
+     *
+     * @return the number of nodes
+     */
+    public int nodeCount() {
+        return reachable().size();
+    }
+
+    /**
+     * Returns the number of edges of the diagram, which bounds the memory it takes.
+     *
+     * @return the number of edges
+     */
+    public long edgeCount() {
+        return reachable().stream().mapToLong(node -> node.children.length).sum();
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if (!(object instanceof List<?> tuple) || tuple.size() != arity) {
+            return false;
+        }
+        MddNode node = root;
+        for (int i = 0; node != null && i < arity; i++) {
+            node = tuple.get(i) instanceof String value ? node.child(value) : null;
+        }
+        return node != null;
+    }
+
+    @Override
+    public int size() {
+        return root == null ? 0 : (int) Math.min(root.count, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns an iterator over the tuples in lexicographic order, which builds every tuple
+     * when it is reached.
+     */
+    @Override
+    public Iterator<List<String>> iterator() {
+        return new TupleIterator();
+    }
+
+    /**
+     * Returns the hash code of the set of tuples, computed on the nodes of the diagram: the
+     * hash code of a list is a polynomial in its values, so the sum over the tuples of a node
+     * follows from the counts and the sums of its children.
+     */
+    @Override
+    public int hashCode() {
+        if (!hashed) {
+            final int[] powers = new int[arity + 1];
+            powers[arity] = 1;
+            for (int level = arity - 1; level >= 0; level--) {
+                powers[level] = 31 * powers[level + 1];
+            }
+            hash = root == null ? 0 : (int) root.count * powers[0] + hashSum(root, 0, powers, new IdentityHashMap<>());
+            hashed = true;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (object instanceof MddRelation other) {
+            return arity == other.arity && hashCode() == other.hashCode()
+                    && isomorphic(root, other.root, new IdentityHashMap<>());
+        }
+        return super.equals(object);
+    }
+
+    /*
+     * Returns the sum over the tuples of the node of the terms of their hash codes given by
+     * the values from the specified depth, whose weights are the powers of 31.
+     */
+    private static int hashSum(MddNode node, int depth, int[] powers, Map<MddNode, Integer> memo) {
+        if (node == MddNode.TRUE) {
+            return 0;
+        }
+        final Integer known = memo.get(node);
+        if (known != null) {
+            return known;
+        }
+        int sum = 0;
+        for (int i = 0; i < node.values.length; i++) {
+            final MddNode child = node.children[i];
+            sum += node.values[i].hashCode() * powers[depth + 1] * (int) child.count
+                    + hashSum(child, depth + 1, powers, memo);
+        }
+        memo.put(node, sum);
+        return sum;
+    }
+
+    /*
+     * Checks whether the diagrams have the same paths: the diagrams are reduced, so equal
+     * sub-diagrams are the same node and a node matches at most one node of the other diagram.
+     */
+    private static boolean isomorphic(MddNode first, MddNode second, Map<MddNode, MddNode> matched) {
+        if (first == second) {
+            return true;
+        }
+        if (first == null || second == null || first == MddNode.TRUE || second == MddNode.TRUE
+                || first.count != second.count || !Arrays.equals(first.values, second.values)) {
+            return false;
+        }
+        final MddNode known = matched.get(first);
+        if (known != null) {
+            return known == second;
+        }
+        for (int i = 0; i < first.children.length; i++) {
+            if (!isomorphic(first.children[i], second.children[i], matched)) {
+                return false;
+            }
+        }
+        matched.put(first, second);
+        return true;
+    }
+
+    private static boolean isSubsequence(List<String> scope, List<String> variables) {
+        int position = 0;
+        for (String variable : scope) {
+            while (position < variables.size() && !variables.get(position).equals(variable)) {
+                position++;
+            }
+            if (position++ == variables.size()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkArity(MddRelation other) {
+        if (other.arity != arity) {
+            throw new IllegalArgumentException("Relations of different arity: " + arity + " and " + other.arity);
+        }
+    }
+
+    private Set<MddNode> reachable() {
+        final Set<MddNode> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<MddNode> stack = new ArrayDeque<>();
+        if (root != null && root != MddNode.TRUE) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            final MddNode node = stack.pop();
+            if (nodes.add(node)) {
+                Arrays.stream(node.children).filter(child -> child != MddNode.TRUE).forEach(stack::push);
+            }
+        }
+        return nodes;
+    }
+
+    private final class TupleIterator implements Iterator<List<String>> {
+        private final MddNode[] nodes = new MddNode[arity + 1];
+        private final int[] indexes = new int[arity];
+        private boolean hasNext;
+
+        private TupleIterator() {
+            hasNext = root != null;
+            if (hasNext) {
+                nodes[0] = root;
+                descend(0);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public List<String> next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            final String[] tuple = new String[arity];
+            for (int i = 0; i < arity; i++) {
+                tuple[i] = nodes[i].values[indexes[i]];
+            }
+            int depth = arity - 1;
+            while (depth >= 0 && ++indexes[depth] == nodes[depth].values.length) {
+                depth--;
+            }
+            hasNext = depth >= 0;
+            if (hasNext) {
+                nodes[depth + 1] = nodes[depth].children[indexes[depth]];
+                descend(depth + 1);
+            }
+            return List.of(tuple);
+        }
+
+        private void descend(int from) {
+            for (int depth = from; depth < arity; depth++) {
+                indexes[depth] = 0;
+                nodes[depth + 1] = nodes[depth].children[0];
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package it.alesc.adaptiveconsistency.logic.mdd;
+
+import java.util.*;
+
+/*
+ * The unique table of the nodes built by an operation on decision diagrams: a node is created
+ * only if no node with the same edges exists, so equal sub-diagrams are shared and the diagram
+ * is reduced. The empty relation is represented by null.
+ */
+final class MddTable {
+    private final Map<Key, MddNode> unique = new HashMap<>();
+    private final Map<MddNode, MddNode> imported = new IdentityHashMap<>();
+    private int nextId = 1;
+
+    MddNode node(String[] values, MddNode[] children) {
+        if (values.length == 0) {
+            return null;
+        }
+        return unique.computeIfAbsent(new Key(values, children), key -> {
+            long count = 0;
+            for (MddNode child : children) {
+                count += child.count;
+            }
+            return new MddNode(nextId++, values, children, count);
+        });
+    }
+
+    /*
+     * Builds the diagram of the tuples in the range, sorted and without repetitions, which
+     * share their first values up to the specified depth.
+     */
+    MddNode build(List<List<String>> tuples, int from, int to, int depth, int arity) {
+        if (from == to) {
+            return null;
+        }
+        if (depth == arity) {
+            return MddNode.TRUE;
+        }
+        final List<String> values = new ArrayList<>();
+        final List<MddNode> children = new ArrayList<>();
+        int start = from;
+        while (start < to) {
+            final String value = tuples.get(start).get(depth);
+            int end = start + 1;
+            while (end < to && tuples.get(end).get(depth).equals(value)) {
+                end++;
+            }
+            values.add(value);
+            children.add(build(tuples, start, end, depth + 1, arity));
+            start = end;
+        }
+        return node(values.toArray(String[]::new), children.toArray(MddNode[]::new));
+    }
+
+    /*
+     * Builds the diagram of the tuples in the range, sorted, which share their first values
+     * up to the specified depth. A level without values in the tuples, i.e. of a variable
+     * not in their scope, takes every value of its domain, all of them leading to the same
+     * child; the values of the other levels outside their domains are dropped.
+     */
+    MddNode extend(List<String[]> tuples, int from, int to, int depth, String[][] domains) {
+        if (from == to) {
+            return null;
+        }
+        if (depth == domains.length) {
+            return MddNode.TRUE;
+        }
+        if (tuples.get(from)[depth] == null) {
+            final MddNode child = extend(tuples, from, to, depth + 1, domains);
+            if (child == null) {
+                return null;
+            }
+            final MddNode[] children = new MddNode[domains[depth].length];
+            Arrays.fill(children, child);
+            return node(domains[depth], children);
+        }
+        final List<String> values = new ArrayList<>();
+        final List<MddNode> children = new ArrayList<>();
+        int start = from;
+        while (start < to) {
+            final String value = tuples.get(start)[depth];
+            int end = start + 1;
+            while (end < to && tuples.get(end)[depth].equals(value)) {
+                end++;
+            }
+            if (Arrays.binarySearch(domains[depth], value) >= 0) {
+                final MddNode child = extend(tuples, start, end, depth + 1, domains);
+                if (child != null) {
+                    values.add(value);
+                    children.add(child);
+                }
+            }
+            start = end;
+        }
+        return node(values.toArray(String[]::new), children.toArray(MddNode[]::new));
+    }
+
+    /*
+     * Returns the diagram of the specified one, built by another operation, extended from the
+     * specified depth: a level not bound to a level of the diagram takes every value of its
+     * domain, all of them leading to the same child, while the values of a bound level outside
+     * its domain are dropped. The diagram is never enumerated, every node being extended once
+     * per depth.
+     */
+    MddNode extend(MddNode node, int depth, boolean[] bound, String[][] domains, List<Map<MddNode, MddNode>> memo) {
+        if (node == null) {
+            return null;
+        }
+        if (depth == domains.length) {
+            return MddNode.TRUE;
+        }
+        final Map<MddNode, MddNode> known = memo.get(depth);
+        if (known.containsKey(node)) {
+            return known.get(node);
+        }
+        final MddNode result;
+        if (!bound[depth]) {
+            final MddNode child = extend(node, depth + 1, bound, domains, memo);
+            if (child == null) {
+                result = null;
+            } else {
+                final MddNode[] children = new MddNode[domains[depth].length];
+                Arrays.fill(children, child);
+                result = node(domains[depth], children);
+            }
+        } else {
+            final List<String> values = new ArrayList<>();
+            final List<MddNode> children = new ArrayList<>();
+            for (int i = 0; i < node.values.length; i++) {
+                if (Arrays.binarySearch(domains[depth], node.values[i]) >= 0) {
+                    final MddNode child = extend(node.children[i], depth + 1, bound, domains, memo);
+                    if (child != null) {
+                        values.add(node.values[i]);
+                        children.add(child);
+                    }
+                }
+            }
+            result = node(values.toArray(String[]::new), children.toArray(MddNode[]::new));
+        }
+        known.put(node, result);
+        return result;
+    }
+
+    /*
+     * Returns the diagram of the tuples belonging to both the specified diagrams, over the
+     * same variables in the same order.
+     */
+    MddNode and(MddNode first, MddNode second, Map<Long, Optional<MddNode>> memo) {
+        if (first == null || second == null) {
+            return null;
+        }
+        if (first == MddNode.TRUE) {
+            return MddNode.TRUE;
+        }
+        final long key = ((long) first.id << 32) | (second.id & 0xffffffffL);
+        final Optional<MddNode> known = memo.get(key);
+        if (known != null) {
+            return known.orElse(null);
+        }
+        final List<String> values = new ArrayList<>();
+        final List<MddNode> children = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < first.values.length && j < second.values.length) {
+            final int comparison = first.values[i].compareTo(second.values[j]);
+            if (comparison < 0) {
+                i++;
+            } else if (comparison > 0) {
+                j++;
+            } else {
+                final MddNode child = and(first.children[i], second.children[j], memo);
+                if (child != null) {
+                    values.add(first.values[i]);
+                    children.add(child);
+                }
+                i++;
+                j++;
+            }
+        }
+        final MddNode result = node(values.toArray(String[]::new), children.toArray(MddNode[]::new));
+        memo.put(key, Optional.ofNullable(result));
+        return result;
+    }
+
+    /*
+     * Returns the diagram of the tuples belonging to any of the specified diagrams.
+     */
+    MddNode or(MddNode first, MddNode second, Map<Long, MddNode> memo) {
+        if (first == null) {
+            return importNode(second);
+        }
+        if (second == null || first == second) {
+            return importNode(first);
+        }
+        if (first == MddNode.TRUE) {
+            return MddNode.TRUE;
+        }
+        final long key = ((long) first.id << 32) | (second.id & 0xffffffffL);
+        final MddNode known = memo.get(key);
+        if (known != null) {
+            return known;
+        }
+        final List<String> values = new ArrayList<>();
+        final List<MddNode> children = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < first.values.length || j < second.values.length) {
+            final int comparison = i == first.values.length ? 1
+                    : j == second.values.length ? -1 : first.values[i].compareTo(second.values[j]);
+            if (comparison < 0) {
+                values.add(first.values[i]);
+                children.add(importNode(first.children[i++]));
+            } else if (comparison > 0) {
+                values.add(second.values[j]);
+                children.add(importNode(second.children[j++]));
+            } else {
+                values.add(first.values[i]);
+                children.add(or(first.children[i++], second.children[j++], memo));
+            }
+        }
+        final MddNode result = node(values.toArray(String[]::new), children.toArray(MddNode[]::new));
+        memo.put(key, result);
+        return result;
+    }
+
+    /*
+     * Returns the diagram of the tuples without the value at the specified level, i.e. the
+     * existential quantification of the variable at that level.
+     */
+    MddNode exists(MddNode node, int level, int depth, Map<MddNode, MddNode> memo, Map<Long, MddNode> orMemo) {
+        if (node == null) {
+            return null;
+        }
+        final MddNode known = memo.get(node);
+        if (known != null) {
+            return known;
+        }
+        final MddNode result;
+        if (depth == level) {
+            MddNode union = null;
+            for (MddNode child : node.children) {
+                union = or(union, child, orMemo);
+            }
+            result = union;
+        } else {
+            final MddNode[] children = new MddNode[node.children.length];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = exists(node.children[i], level, depth + 1, memo, orMemo);
+            }
+            result = node(node.values, children);
+        }
+        memo.put(node, result);
+        return result;
+    }
+
+    /*
+     * Returns the node of this table equal to the specified one, built by another operation.
+     */
+    private MddNode importNode(MddNode node) {
+        if (node == null || node == MddNode.TRUE) {
+            return node;
+        }
+        final MddNode known = imported.get(node);
+        if (known != null) {
+            return known;
+        }
+        final MddNode[] children = new MddNode[node.children.length];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = importNode(node.children[i]);
+        }
+        final MddNode result = node(node.values, children);
+        imported.put(node, result);
+        return result;
+    }
+
+    private record Key(String[] values, MddNode[] children) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && Arrays.equals(values, key.values)
+                    && Arrays.equals(children, key.children);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(values) + Arrays.hashCode(children);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package it.alesc.adaptiveconsistency.logic.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * It collects the counters of the resolutions of CSPs. Recording does not allocate,
+ * so it can be called on the hot path of the solver. Every run has its own instance,
+ * which also records in the global instance exported via JMX with the name
+ * {@value #OBJECT_NAME}.
+ */
+@Slf4j
+public class SolverMetrics implements SolverMetricsMBean {
+    public static final String OBJECT_NAME = "it.alesc.adaptiveconsistency:type=SolverMetrics";
+    private static final SolverMetrics GLOBAL = registerGlobal();
+
+    private final SolverMetrics parent;
+    private final LongAdder resolutions = new LongAdder();
+    private final LongAdder buckets = new LongAdder();
+    private final LongAdder bucketTimeNanos = new LongAdder();
+    private final LongAdder generatedTuples = new LongAdder();
+    private final LongAdder acceptedTuples = new LongAdder();
+    private final LongAdder projectedTuples = new LongAdder();
+    private final LongAccumulator peakRelationSize = new LongAccumulator(Math::max, 0L);
+    private final LongAdder solutionTimeNanos = new LongAdder();
+
+    private SolverMetrics(SolverMetrics parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Returns the metrics of all the resolutions of the JVM.
+     *
+     * @return the global metrics
+     */
+    public static SolverMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Creates the metrics of a new resolution, which are also recorded in the global ones.
+     *
+     * @return the metrics of a new resolution
+     */
+    public static SolverMetrics newRun() {
+        return new SolverMetrics(GLOBAL);
+    }
+
+    /**
+     * Records the processing of a bucket.
+     *
+     * @param elapsedNanos the wall time spent processing the bucket
+     * @param generated the number of tuples generated by the Cartesian product of the domains
+     * @param accepted the number of tuples which passed the filtering by the constraints of the bucket
+     * @param projected the number of tuples of the projected relation
+     */
+    public void recordBucket(long elapsedNanos, long generated, long accepted, long projected) {
+        buckets.increment();
+        bucketTimeNanos.add(elapsedNanos);
+        generatedTuples.add(generated);
+        acceptedTuples.add(accepted);
+        projectedTuples.add(projected);
+        peakRelationSize.accumulate(accepted);
+        if (parent != null) {
+            parent.recordBucket(elapsedNanos, generated, accepted, projected);
+        }
+    }
+
+    /**
+     * Records the extraction of the solution.
+     *
+     * @param elapsedNanos the wall time spent extracting the solution
+     */
+    public void recordSolution(long elapsedNanos) {
+        solutionTimeNanos.add(elapsedNanos);
+        if (parent != null) {
+            parent.recordSolution(elapsedNanos);
+        }
+    }
+
+    /**
+     * Records the end of a resolution, whatever its outcome: solved, not satisfiable or stopped.
+     */
+    public void recordResolution() {
+        resolutions.increment();
+        if (parent != null) {
+            parent.recordResolution();
+        }
+    }
+
+    @Override
+    public long getResolutions() {
+        return resolutions.sum();
+    }
+
+    @Override
+    public long getBuckets() {
+        return buckets.sum();
+    }
+
+    @Override
+    public long getBucketTimeNanos() {
+        return bucketTimeNanos.sum();
+    }
+
+    @Override
+    public long getGeneratedTuples() {
+        return generatedTuples.sum();
+    }
+
+    @Override
+    public long getAcceptedTuples() {
+        return acceptedTuples.sum();
+    }
+
+    @Override
+    public long getProjectedTuples() {
+        return projectedTuples.sum();
+    }
+
+    @Override
+    public long getPeakRelationSize() {
+        return peakRelationSize.get();
+    }
+
+    @Override
+    public long getSolutionTimeNanos() {
+        return solutionTimeNanos.sum();
+    }
+
+    @Override
+    public void reset() {
+        resolutions.reset();
+        buckets.reset();
+        bucketTimeNanos.reset();
+        generatedTuples.reset();
+        acceptedTuples.reset();
+        projectedTuples.reset();
+        peakRelationSize.reset();
+        solutionTimeNanos.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SolverMetrics[resolutions=%d, buckets=%d, bucketTimeNanos=%d, generatedTuples=%d, "
+                        + "acceptedTuples=%d, projectedTuples=%d, peakRelationSize=%d, solutionTimeNanos=%d]",
+                getResolutions(), getBuckets(), getBucketTimeNanos(), getGeneratedTuples(),
+                getAcceptedTuples(), getProjectedTuples(), getPeakRelationSize(), getSolutionTimeNanos());
+    }
+
+    private static SolverMetrics registerGlobal() {
+        final SolverMetrics metrics = new SolverMetrics(null);
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            log.warn("{} - unable to register the solver metrics MBean", "registerGlobal", e);
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,24 @@
+package it.alesc.adaptiveconsistency.logic.metrics;
+
+/**
+ * The management interface of the solver metrics exported via JMX.
+ */
+public interface SolverMetricsMBean {
+    long getResolutions();
+
+    long getBuckets();
+
+    long getBucketTimeNanos();
+
+    long getGeneratedTuples();
+
+    long getAcceptedTuples();
+
+    long getProjectedTuples();
+
+    long getPeakRelationSize();
+
+    long getSolutionTimeNanos();
+
+    void reset();
+}
@@ -0,0 +1,115 @@
+package it.alesc.adaptiveconsistency.logic.ordering;
+
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import it.alesc.adaptiveconsistency.specification.Variable;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * It represents the primal graph of a CSP: the vertices are the variables and two variables
+ * are adjacent if they are involved in the same constraint.
+ *
+ * @param adjacency the neighbours of every variable, in the order of declaration of the variables
+ */
+public record ConstraintGraph(Map<String, Set<String>> adjacency) {
+    public static ConstraintGraph of(ProblemSpecification specification) {
+        final Map<String, Set<String>> adjacency = new LinkedHashMap<>();
+        specification.getVariables().stream().map(Variable::getName)
+                .forEach(name -> adjacency.put(name, new LinkedHashSet<>()));
+        specification.getConstraints().forEach(constraint ->
+                connect(adjacency, List.of(constraint.getFirstVariable(), constraint.getSecondVariable())));
+        return new ConstraintGraph(adjacency);
+    }
+
+    public static ConstraintGraph of(StartInformation startInformation) {
+        final Map<String, Set<String>> adjacency = new LinkedHashMap<>();
+        startInformation.variableOrder().forEach(name -> adjacency.put(name, new LinkedHashSet<>()));
+        startInformation.variables().forEach(variable -> adjacency.putIfAbsent(variable.getName(), new LinkedHashSet<>()));
+        startInformation.constraints().forEach(constraint -> connect(adjacency, constraint.getVariables()));
+        return new ConstraintGraph(adjacency);
+    }
+
+    public Set<String> variables() {
+        return adjacency.keySet();
+    }
+
+    public Set<String> neighbours(String variable) {
+        return adjacency.getOrDefault(variable, Set.of());
+    }
+
+    public long edgeCount() {
+        return adjacency.values().stream().mapToLong(Set::size).sum() / 2;
+    }
+
+    /**
+     * Returns the induced width of the graph along the specified variable ordering, i.e. the
+     * maximum number of parents of a variable when the variables are processed from the last
+     * one to the first one, as the solver does, connecting the parents of every processed variable.
+     *
+     * @param variableOrder the variable ordering
+     * @return the induced width along the ordering
+     */
+    public int inducedWidth(List<String> variableOrder) {
+        final Map<String, Integer> positions = positions(variableOrder);
+        final Map<String, Set<String>> induced = copyAdjacency();
+        int width = 0;
+        for (int i = variableOrder.size() - 1; i >= 0; i--) {
+            final int position = i;
+            final List<String> parents = induced.get(variableOrder.get(i)).stream()
+                    .filter(neighbour -> positions.get(neighbour) < position)
+                    .toList();
+            width = Math.max(width, parents.size());
+            connect(induced, parents);
+        }
+        return width;
+    }
+
+    /**
+     * Checks whether the graph is a forest, i.e. it has no cycles.
+     *
+     * @return <code>true</code> if the graph has no cycles, <code>false</code> otherwise
+     */
+    public boolean isForest() {
+        final Set<String> visited = new HashSet<>();
+        for (String root : adjacency.keySet()) {
+            if (visited.contains(root)) {
+                continue;
+            }
+            long vertices = 0;
+            long degrees = 0;
+            final Deque<String> stack = new ArrayDeque<>(List.of(root));
+            visited.add(root);
+            while (!stack.isEmpty()) {
+                final String variable = stack.pop();
+                vertices++;
+                degrees += neighbours(variable).size();
+                neighbours(variable).stream().filter(visited::add).forEach(stack::push);
+            }
+            if (degrees / 2 != vertices - 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Map<String, Set<String>> copyAdjacency() {
+        return adjacency.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
+                entry -> new LinkedHashSet<>(entry.getValue()), (first, second) -> first, LinkedHashMap::new));
+    }
+
+    static void connect(Map<String, Set<String>> adjacency, Collection<String> variables) {
+        variables.forEach(variable -> variables.stream()
+                .filter(other -> !other.equals(variable))
+                .forEach(other -> adjacency.computeIfAbsent(variable, name -> new LinkedHashSet<>()).add(other)));
+    }
+
+    private static Map<String, Integer> positions(List<String> variableOrder) {
+        final Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < variableOrder.size(); i++) {
+            positions.put(variableOrder.get(i), i);
+        }
+        return positions;
+    }
+}
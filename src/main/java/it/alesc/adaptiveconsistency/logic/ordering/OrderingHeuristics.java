@@ -0,0 +1,142 @@
+package it.alesc.adaptiveconsistency.logic.ordering;
+
+import com.google.common.collect.Lists;
+import lombok.experimental.UtilityClass;
+
+import java.util.*;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * It computes variable orderings from the constraint graph. The orderings are in the
+ * format of the problem specification: the solver processes the variables from the
+ * last one to the first one, so the variables eliminated first are at the end.
+ */
+@UtilityClass
+public class OrderingHeuristics {
+    /**
+     * Returns the ordering that eliminates at every step the variable with the fewest
+     * neighbours in the induced graph.
+     *
+     * @param graph the constraint graph
+     * @return the min-degree ordering
+     */
+    public static List<String> minDegree(ConstraintGraph graph) {
+        return greedyElimination(graph, (induced, variable) -> induced.get(variable).size());
+    }
+
+    /**
+     * Returns the ordering that eliminates at every step the variable which elimination
+     * adds the fewest edges to the induced graph.
+     *
+     * @param graph the constraint graph
+     * @return the min-fill ordering
+     */
+    public static List<String> minFill(ConstraintGraph graph) {
+        return greedyElimination(graph, OrderingHeuristics::fillIn);
+    }
+
+    /**
+     * Returns the maximum cardinality ordering: starting from the first variable, every
+     * next variable is the one with the most neighbours among the variables already ordered.
+     *
+     * @param graph the constraint graph
+     * @return the max-cardinality ordering
+     */
+    public static List<String> maxCardinality(ConstraintGraph graph) {
+        final Map<String, Integer> cardinalities = new HashMap<>();
+        graph.variables().forEach(variable -> cardinalities.put(variable, 0));
+        final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparingInt(Entry::score).reversed()
+                .thenComparingLong(Entry::sequence));
+        long sequence = 0;
+        for (String variable : graph.variables()) {
+            queue.add(new Entry(variable, 0, sequence++));
+        }
+
+        final List<String> order = new ArrayList<>();
+        final Set<String> ordered = new HashSet<>();
+        while (!queue.isEmpty()) {
+            final Entry entry = queue.poll();
+            if (ordered.contains(entry.variable()) || entry.score() != cardinalities.get(entry.variable())) {
+                continue;
+            }
+            order.add(entry.variable());
+            ordered.add(entry.variable());
+            for (String neighbour : graph.neighbours(entry.variable())) {
+                if (!ordered.contains(neighbour)) {
+                    final int cardinality = cardinalities.merge(neighbour, 1, Integer::sum);
+                    queue.add(new Entry(neighbour, cardinality, sequence++));
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Returns a random ordering of the variables.
+     *
+     * @param graph the constraint graph
+     * @param seed the seed of the random generator
+     * @return a random ordering
+     */
+    public static List<String> random(ConstraintGraph graph, long seed) {
+        final List<String> order = new ArrayList<>(graph.variables());
+        Collections.shuffle(order, new Random(seed));
+        return order;
+    }
+
+    private static List<String> greedyElimination(ConstraintGraph graph,
+                                                  ToIntBiFunction<Map<String, Set<String>>, String> score) {
+        final Map<String, Set<String>> induced = graph.copyAdjacency();
+        final Map<String, Integer> scores = new HashMap<>();
+        final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparingInt(Entry::score)
+                .thenComparingLong(Entry::sequence));
+        long sequence = 0;
+        for (String variable : induced.keySet()) {
+            final int variableScore = score.applyAsInt(induced, variable);
+            scores.put(variable, variableScore);
+            queue.add(new Entry(variable, variableScore, sequence++));
+        }
+
+        final List<String> eliminationOrder = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            final Entry entry = queue.poll();
+            if (!scores.containsKey(entry.variable()) || entry.score() != scores.get(entry.variable())) {
+                continue;
+            }
+            final String variable = entry.variable();
+            eliminationOrder.add(variable);
+            scores.remove(variable);
+            final Set<String> neighbours = induced.remove(variable);
+            neighbours.forEach(neighbour -> induced.get(neighbour).remove(variable));
+            ConstraintGraph.connect(induced, neighbours);
+
+            final Set<String> affected = new HashSet<>(neighbours);
+            neighbours.forEach(neighbour -> affected.addAll(induced.get(neighbour)));
+            for (String affectedVariable : affected) {
+                final int variableScore = score.applyAsInt(induced, affectedVariable);
+                if (variableScore != scores.get(affectedVariable)) {
+                    scores.put(affectedVariable, variableScore);
+                    queue.add(new Entry(affectedVariable, variableScore, sequence++));
+                }
+            }
+        }
+        return Lists.reverse(eliminationOrder);
+    }
+
+    private static int fillIn(Map<String, Set<String>> induced, String variable) {
+        final List<String> neighbours = List.copyOf(induced.get(variable));
+        int fill = 0;
+        for (int i = 0; i < neighbours.size(); i++) {
+            final Set<String> adjacent = induced.get(neighbours.get(i));
+            for (int j = i + 1; j < neighbours.size(); j++) {
+                if (!adjacent.contains(neighbours.get(j))) {
+                    fill++;
+                }
+            }
+        }
+        return fill;
+    }
+
+    private record Entry(String variable, int score, long sequence) {
+    }
+}
@@ -0,0 +1,48 @@
+package it.alesc.adaptiveconsistency.logic.portfolio;
+
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * The number of tuples that the relations of the running resolutions of a portfolio may hold
+ * together. When a step exceeds it, the running resolution holding the most tuples is cancelled,
+ * unless it is the last one.
+ */
+@Slf4j
+final class MemoryBudget {
+    private final long limit;
+    private final Map<SolverControl, Long> footprints = new HashMap<>();
+    private long used;
+
+    MemoryBudget(long limit) {
+        this.limit = limit;
+    }
+
+    synchronized void update(SolverControl run, long footprint) {
+        used += footprint - footprints.getOrDefault(run, 0L);
+        footprints.put(run, footprint);
+        if (used <= limit) {
+            return;
+        }
+        final var running = footprints.entrySet().stream()
+                .filter(entry -> !entry.getKey().isCancelled())
+                .toList();
+        if (running.size() > 1) {
+            final var largest = running.stream().max(Comparator.comparingLong(Map.Entry::getValue)).orElseThrow();
+            log.info("{} - {} tuples over the budget of {}: cancelling a run holding {} tuples",
+                    "update", used, limit, largest.getValue());
+            largest.getKey().cancel();
+        }
+    }
+
+    synchronized void release(SolverControl run) {
+        final Long footprint = footprints.remove(run);
+        if (footprint != null) {
+            used -= footprint;
+        }
+    }
+}
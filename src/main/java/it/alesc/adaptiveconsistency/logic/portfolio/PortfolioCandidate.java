@@ -0,0 +1,12 @@
+package it.alesc.adaptiveconsistency.logic.portfolio;
+
+import java.util.List;
+
+/**
+ * It represents an ordering raced by the portfolio.
+ *
+ * @param name the name of the ordering, e.g. the heuristic that computed it
+ * @param variableOrder the variable ordering, in the format of the problem specification
+ */
+public record PortfolioCandidate(String name, List<String> variableOrder) {
+}
@@ -0,0 +1,13 @@
+package it.alesc.adaptiveconsistency.logic.portfolio;
+
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+
+/**
+ * It contains the result of a portfolio resolution.
+ *
+ * @param winner the ordering of the returned resolution, i.e. the first one that completed
+ * @param tracker the tracker of the resolution along that ordering
+ * @param elapsedNanos the time from the start of the portfolio to the end of the resolution
+ */
+public record PortfolioResult(PortfolioCandidate winner, CSPResolutionTracker tracker, long elapsedNanos) {
+}
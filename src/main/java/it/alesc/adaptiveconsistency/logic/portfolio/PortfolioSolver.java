@@ -0,0 +1,171 @@
+package it.alesc.adaptiveconsistency.logic.portfolio;
+
+import it.alesc.adaptiveconsistency.logic.ProblemSolver;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.ResolutionStatus;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.logic.ordering.ConstraintGraph;
+import it.alesc.adaptiveconsistency.logic.ordering.OrderingHeuristics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * It solves a problem along several orderings at the same time and returns the first
+ * resolution that completes, cancelling the others. The relations held by the running
+ * resolutions share a memory budget: the orderings whose largest bucket is estimated
+ * over the budget are not raced and, when the running resolutions exceed it, the one
+ * holding the most tuples is cancelled.
+ */
+@Slf4j
+public class PortfolioSolver {
+    public static final long UNLIMITED_MEMORY = Long.MAX_VALUE;
+    public static final String SPECIFICATION_ORDERING = "specification";
+
+    private final Executor executor;
+    private final long memoryBudget;
+
+    /**
+     * @param executor the executor of the resolutions, which should run them in parallel
+     * @param memoryBudget the number of tuples the relations of the running resolutions may hold
+     */
+    public PortfolioSolver(Executor executor, long memoryBudget) {
+        this.executor = executor;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Returns the ordering of the specification followed by the min-fill, min-degree and
+     * max-cardinality ones, without repetitions.
+     *
+     * @param startInformation the problem to solve
+     * @return the candidate orderings
+     */
+    public static List<PortfolioCandidate> candidates(StartInformation startInformation) {
+        final ConstraintGraph graph = ConstraintGraph.of(startInformation);
+        final Map<List<String>, PortfolioCandidate> candidates = new LinkedHashMap<>();
+        Stream.of(new PortfolioCandidate(SPECIFICATION_ORDERING, startInformation.variableOrder()),
+                        new PortfolioCandidate("min-fill", OrderingHeuristics.minFill(graph)),
+                        new PortfolioCandidate("min-degree", OrderingHeuristics.minDegree(graph)),
+                        new PortfolioCandidate("max-cardinality", OrderingHeuristics.maxCardinality(graph)))
+                .forEach(candidate -> candidates.putIfAbsent(candidate.variableOrder(), candidate));
+        return List.copyOf(candidates.values());
+    }
+
+    public PortfolioResult solve(StartInformation startInformation, SolverControl control) {
+        return solveAsync(startInformation, candidates(startInformation), control).join();
+    }
+
+    /**
+     * Races the specified orderings. The future completes with the first resolution that
+     * completes or, if every one stops, with the first stopped one; cancelling it cancels
+     * every resolution.
+     *
+     * @param startInformation the problem to solve
+     * @param candidates the orderings to race
+     * @param control the deadline and the cancellation of the whole portfolio
+     * @return the future result of the portfolio
+     * @throws IllegalArgumentException if there are no orderings to race
+     */
+    public CompletableFuture<PortfolioResult> solveAsync(StartInformation startInformation,
+                                                         List<PortfolioCandidate> candidates,
+                                                         SolverControl control) {
+        final String methodName = "solveAsync";
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("At least an ordering is required");
+        }
+        final List<PortfolioCandidate> admitted = admit(startInformation, candidates);
+        log.info("{} - racing orderings {}", methodName,
+                admitted.stream().map(PortfolioCandidate::name).toList());
+
+        final long start = System.nanoTime();
+        final var budget = new MemoryBudget(memoryBudget);
+        final var result = new CompletableFuture<PortfolioResult>();
+        final var pending = new AtomicInteger(admitted.size());
+        final var firstStopped = new AtomicReference<PortfolioResult>();
+        final List<SolverControl> controls = new ArrayList<>();
+        final long initialFootprint = footprint(startInformation.constraints());
+        for (PortfolioCandidate candidate : admitted) {
+            if (result.isDone()) {
+                break;
+            }
+            final SolverControl runControl = control.child();
+            final var footprint = new AtomicLong(initialFootprint);
+            runControl.onStep((previous, current) -> budget.update(runControl, footprint.addAndGet(
+                    current.iterations().get(current.lastStepIndex() - 1).metrics().projectedTuples())));
+            controls.add(runControl);
+            final var ordered = new StartInformation(startInformation.variables(), startInformation.constraints(),
+                    candidate.variableOrder());
+            ProblemSolver.solveProblemAsync(ordered, runControl, executor).whenComplete((tracker, error) -> {
+                budget.release(runControl);
+                if (error != null) {
+                    log.error("{} - resolution along {} failed", methodName, candidate.name(), error);
+                } else {
+                    final var runResult = new PortfolioResult(candidate, tracker, System.nanoTime() - start);
+                    if (tracker.status() == ResolutionStatus.COMPLETED) {
+                        if (result.complete(runResult)) {
+                            log.info("{} - ordering {} won after {} ms", methodName, candidate.name(),
+                                    TimeUnit.NANOSECONDS.toMillis(runResult.elapsedNanos()));
+                        }
+                    } else {
+                        firstStopped.compareAndSet(null, runResult);
+                    }
+                }
+                if (pending.decrementAndGet() == 0 && !result.isDone()) {
+                    if (firstStopped.get() != null) {
+                        result.complete(firstStopped.get());
+                    } else {
+                        result.completeExceptionally(error);
+                    }
+                }
+            });
+        }
+        result.whenComplete((winner, error) -> controls.forEach(SolverControl::cancel));
+        return result;
+    }
+
+    /*
+     * Returns the candidates whose largest bucket, estimated from the induced width of
+     * the ordering, fits the budget, or the one with the smallest estimate if none fits.
+     */
+    private List<PortfolioCandidate> admit(StartInformation startInformation, List<PortfolioCandidate> candidates) {
+        final ConstraintGraph graph = ConstraintGraph.of(startInformation);
+        final int maxDomain = startInformation.variables().stream()
+                .mapToInt(variable -> variable.getDomain().size()).max().orElse(1);
+        final Map<PortfolioCandidate, Double> estimates = new LinkedHashMap<>();
+        candidates.forEach(candidate -> estimates.put(candidate,
+                Math.pow(maxDomain, graph.inducedWidth(candidate.variableOrder()) + 1.0)));
+        final List<PortfolioCandidate> admitted = candidates.stream()
+                .filter(candidate -> estimates.get(candidate) <= memoryBudget)
+                .toList();
+        if (!admitted.isEmpty()) {
+            return admitted;
+        }
+        return candidates.stream().min(Comparator.comparing(estimates::get)).stream().toList();
+    }
+
+    /*
+     * Returns the tuples of the constraints. The footprint of a resolution then grows by the
+     * tuples projected at every step only, as the size of an intersection view in its CSP
+     * costs a scan of the tuples.
+     */
+    private static long footprint(Set<Constraint> constraints) {
+        return constraints.stream()
+                .map(Constraint::getCompTuples)
+                .mapToLong(Set::size)
+                .sum();
+    }
+}
@@ -0,0 +1,38 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+
+import java.util.*;
+
+/**
+ * It replaces the constraints over the same variables, in any order, with their intersection.
+ */
+public class DuplicateConstraintRemoval implements PresolveStep {
+
+    @Override
+    public PresolveResult apply(StartInformation startInformation) {
+        final Map<Object, Constraint> constraints = new LinkedHashMap<>();
+        startInformation.constraints().forEach(constraint -> {
+            final List<String> variables = constraint.getVariables();
+            final Set<String> scope = Set.copyOf(variables);
+            final Object key = scope.size() == variables.size() ? scope : variables;
+            constraints.merge(key, constraint, DuplicateConstraintRemoval::intersect);
+        });
+        if (constraints.size() == startInformation.constraints().size()) {
+            return new PresolveResult(startInformation, SolutionMapper.IDENTITY);
+        }
+        return new PresolveResult(new StartInformation(startInformation.variables(),
+                new LinkedHashSet<>(constraints.values()), startInformation.variableOrder()), SolutionMapper.IDENTITY);
+    }
+
+    private static Constraint intersect(Constraint first, Constraint second) {
+        final Constraint permuted = Relations.permute(second, first.getVariables());
+        if (first.getCompTuples().equals(permuted.getCompTuples())) {
+            return first;
+        }
+        final Set<List<String>> tuples = new HashSet<>(first.getCompTuples());
+        tuples.retainAll(permuted.getCompTuples());
+        return new Constraint(first.getVariables(), tuples);
+    }
+}
@@ -0,0 +1,80 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * It merges the variables connected by equality constraints into the earliest of them in
+ * the ordering, whose domain becomes the intersection of their domains and of the values
+ * admitted by the equalities. The other constraints are rewritten on the merged variables.
+ */
+public class EqualityCollapse implements PresolveStep {
+
+    @Override
+    public PresolveResult apply(StartInformation startInformation) {
+        final List<Constraint> equalities = startInformation.constraints().stream()
+                .filter(Relations::isEquality).toList();
+        if (equalities.isEmpty()) {
+            return new PresolveResult(startInformation, SolutionMapper.IDENTITY);
+        }
+
+        final var unionFind = new UnionFind();
+        equalities.forEach(equality -> unionFind.union(equality.getVariables().get(0), equality.getVariables().get(1)));
+        final Map<String, Integer> positions = IntStream.range(0, startInformation.variableOrder().size()).boxed()
+                .collect(Collectors.toMap(startInformation.variableOrder()::get, Function.identity(),
+                        (first, second) -> first));
+        final Map<String, Set<String>> domains = Relations.domains(startInformation);
+        final Map<String, String> representatives = domains.keySet().stream()
+                .collect(Collectors.groupingBy(unionFind::find)).values().stream()
+                .filter(members -> members.size() > 1)
+                .flatMap(members -> {
+                    final String representative = members.stream()
+                            .min(Comparator.comparing(name -> positions.getOrDefault(name, Integer.MAX_VALUE)))
+                            .orElseThrow();
+                    return members.stream().filter(member -> !member.equals(representative))
+                            .map(member -> Map.entry(member, representative));
+                })
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        representatives.forEach((member, representative) -> domains.put(representative,
+                Relations.restrict(domains.get(representative), domains.get(member))));
+        equalities.forEach(equality -> {
+            final String representative = representatives.getOrDefault(equality.getVariables().get(0),
+                    equality.getVariables().get(0));
+            domains.put(representative, Relations.restrict(domains.get(representative), Relations.values(equality, 0)));
+        });
+        representatives.keySet().forEach(domains::remove);
+
+        final Set<Constraint> equalitySet = Collections.newSetFromMap(new IdentityHashMap<>());
+        equalitySet.addAll(equalities);
+        final List<Constraint> constraints = new ArrayList<>();
+        startInformation.constraints().stream()
+                .filter(constraint -> !equalitySet.contains(constraint))
+                .map(constraint -> Relations.rename(constraint, representatives))
+                .forEach(constraint -> {
+                    if (constraint.getVariables().size() == 1) {
+                        final String variable = constraint.getVariables().get(0);
+                        domains.put(variable, Relations.restrict(domains.get(variable), Relations.values(constraint, 0)));
+                    } else {
+                        constraints.add(constraint);
+                    }
+                });
+
+        final SolutionMapper mapper = solution -> {
+            final Map<String, String> mapped = new TreeMap<>(solution);
+            representatives.forEach((member, representative) -> {
+                if (solution.containsKey(representative)) {
+                    mapped.put(member, solution.get(representative));
+                }
+            });
+            return mapped;
+        };
+        return new PresolveResult(Relations.startInformation(domains, constraints, startInformation.variableOrder()),
+                mapper);
+    }
+}
@@ -0,0 +1,17 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+
+/**
+ * It keeps a value per class of interchangeable values in every domain. The solutions of the
+ * reduced problem are solutions of the original one, so they need no mapping; the other
+ * solutions are obtained replacing their values with the ones of their {@link ValueClasses}.
+ */
+public class InterchangeableValueCompression implements PresolveStep {
+
+    @Override
+    public PresolveResult apply(StartInformation startInformation) {
+        final ValueInterchangeability.Compression compression = ValueInterchangeability.compress(startInformation);
+        return new PresolveResult(compression.reduced(), SolutionMapper.IDENTITY, compression.classes());
+    }
+}
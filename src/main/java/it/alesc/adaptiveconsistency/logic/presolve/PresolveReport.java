@@ -0,0 +1,19 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+/**
+ * It contains the size of the problem before and after a presolve step.
+ *
+ * @param step the name of the step
+ * @param variablesBefore the number of variables before the step
+ * @param variablesAfter the number of variables after the step
+ * @param constraintsBefore the number of constraints before the step
+ * @param constraintsAfter the number of constraints after the step
+ */
+public record PresolveReport(
+        String step,
+        int variablesBefore,
+        int variablesAfter,
+        int constraintsBefore,
+        int constraintsAfter
+) {
+}
@@ -0,0 +1,22 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+
+/**
+ * It is the result of a presolve step.
+ *
+ * @param reduced the reduced problem
+ * @param mapper the mapper of the solutions of the reduced problem to the ones of the original problem
+ * @param classes the classes of interchangeable values of the reduced problem, whose other values
+ *                give the other solutions of the original problem
+ */
+public record PresolveResult(
+        StartInformation reduced,
+        SolutionMapper mapper,
+        ValueClasses classes
+) {
+
+    public PresolveResult(StartInformation reduced, SolutionMapper mapper) {
+        this(reduced, mapper, ValueClasses.NONE);
+    }
+}
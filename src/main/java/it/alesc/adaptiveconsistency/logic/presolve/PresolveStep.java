@@ -0,0 +1,16 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+
+/**
+ * It is a transformation of a problem into an equivalent smaller one. A step must keep the
+ * problem unsatisfiable if it is so, e.g. leaving a variable with an empty domain.
+ */
+public interface PresolveStep {
+
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    PresolveResult apply(StartInformation startInformation);
+}
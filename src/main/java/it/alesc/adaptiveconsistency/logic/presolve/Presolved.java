@@ -0,0 +1,22 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+
+import java.util.List;
+
+/**
+ * It is the result of a presolve pipeline.
+ *
+ * @param reduced the reduced problem
+ * @param mapper the mapper of the solutions of the reduced problem to the ones of the original problem
+ * @param expander the expander of the solutions of the reduced problem to all the solutions of the
+ *                 original problem they represent
+ * @param reports the reductions of every step
+ */
+public record Presolved(
+        StartInformation reduced,
+        SolutionMapper mapper,
+        SolutionExpander expander,
+        List<PresolveReport> reports
+) {
+}
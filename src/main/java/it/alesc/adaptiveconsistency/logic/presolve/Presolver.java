@@ -0,0 +1,105 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import it.alesc.adaptiveconsistency.logic.ProblemSolver;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.SolverOptions;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * It reduces a problem through a pipeline of {@link PresolveStep}s before solving it and
+ * maps the solution of the reduced problem back to the variables of the original one.
+ */
+@Slf4j
+public class Presolver {
+    private final List<PresolveStep> steps;
+
+    public Presolver(List<PresolveStep> steps) {
+        this.steps = List.copyOf(steps);
+    }
+
+    /**
+     * Returns the presolver removing the duplicated constraints, merging the variables
+     * connected by equalities, propagating the single-valued variables, removing the
+     * unconstrained ones and keeping a value per class of interchangeable values.
+     *
+     * @return the default presolver
+     */
+    public static Presolver defaults() {
+        return new Presolver(List.of(new DuplicateConstraintRemoval(), new EqualityCollapse(),
+                new SingletonPropagation(), new UnconstrainedVariableElimination(),
+                new InterchangeableValueCompression()));
+    }
+
+    public Presolved presolve(StartInformation startInformation) {
+        final String methodName = "presolve";
+        StartInformation reduced = startInformation;
+        SolutionMapper mapper = SolutionMapper.IDENTITY;
+        SolutionExpander expander = SolutionExpander.IDENTITY;
+        final List<PresolveReport> reports = new ArrayList<>();
+        for (PresolveStep step : steps) {
+            final PresolveResult result = step.apply(reduced);
+            final var report = new PresolveReport(step.name(), reduced.variables().size(),
+                    result.reduced().variables().size(), reduced.constraints().size(),
+                    result.reduced().constraints().size());
+            log.info("{} - {}: variables {} -> {}, constraints {} -> {}", methodName, report.step(),
+                    report.variablesBefore(), report.variablesAfter(), report.constraintsBefore(),
+                    report.constraintsAfter());
+            reports.add(report);
+            reduced = result.reduced();
+            mapper = mapper.after(result.mapper());
+            expander = expander.after(SolutionExpander.of(result));
+        }
+        return new Presolved(reduced, mapper, expander, List.copyOf(reports));
+    }
+
+    /**
+     * Presolves and solves the problem. The tracker describes the resolution of the reduced
+     * problem, while its solution is over the variables of the original one.
+     *
+     * @param startInformation the problem to solve
+     * @param control the deadline and the cancellation of the resolution
+     * @return the tracker of the resolution
+     */
+    public CSPResolutionTracker solve(StartInformation startInformation, SolverControl control) {
+        return solve(startInformation, SolverOptions.exact(), control);
+    }
+
+    /**
+     * Presolves the problem and solves the reduced one with the specified options.
+     *
+     * @param startInformation the problem to solve
+     * @param options the options of the resolution of the reduced problem
+     * @param control the deadline and the cancellation of the resolution
+     * @return the tracker of the resolution
+     */
+    public CSPResolutionTracker solve(StartInformation startInformation, SolverOptions options,
+                                      SolverControl control) {
+        final Presolved presolved = presolve(startInformation);
+        final CSPResolutionTracker tracker = ProblemSolver.solveProblem(presolved.reduced(), options, control);
+        // the values kept for the classes of interchangeable values are valid, so the solution needs no expansion
+        return tracker.solution() == null ? tracker : tracker.addSolution(presolved.mapper().map(tracker.solution()));
+    }
+
+    /**
+     * Presolves and solves the problem, returning all the solutions of the original problem
+     * represented by the solution of the reduced one, i.e. the solutions with any value of the
+     * classes of interchangeable values. The solutions are generated lazily, as they can be many.
+     *
+     * @param startInformation the problem to solve
+     * @param control the deadline and the cancellation of the resolution
+     * @return the solutions of the original problem, none if the problem is unsatisfiable or the
+     *         resolution stopped
+     */
+    public Stream<Map<String, String>> solutions(StartInformation startInformation, SolverControl control) {
+        final Presolved presolved = presolve(startInformation);
+        final Map<String, String> solution = ProblemSolver.solveProblem(presolved.reduced(), control).solution();
+        return solution == null ? Stream.empty() : presolved.expander().expand(solution);
+    }
+}
@@ -0,0 +1,119 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.logic.csp.Variable;
+import lombok.experimental.UtilityClass;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/*
+ * The operations on the relations shared by the presolve steps.
+ */
+@UtilityClass
+class Relations {
+
+    static Map<String, Set<String>> domains(StartInformation startInformation) {
+        final Map<String, Set<String>> domains = new LinkedHashMap<>();
+        startInformation.variables().forEach(variable -> domains.put(variable.getName(), variable.getDomain()));
+        return domains;
+    }
+
+    static StartInformation startInformation(Map<String, Set<String>> domains, Collection<Constraint> constraints,
+                                             List<String> variableOrder) {
+        final Set<Variable> variables = domains.entrySet().stream()
+                .map(entry -> new Variable(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return new StartInformation(variables, new LinkedHashSet<>(constraints),
+                variableOrder.stream().filter(domains::containsKey).toList());
+    }
+
+    /*
+     * Returns true if the constraint is a binary equality, i.e. every tuple has two equal values.
+     */
+    static boolean isEquality(Constraint constraint) {
+        final List<String> variables = constraint.getVariables();
+        return variables.size() == 2 && !variables.get(0).equals(variables.get(1))
+                && constraint.getCompTuples().stream().allMatch(tuple -> tuple.get(0).equals(tuple.get(1)));
+    }
+
+    /*
+     * Returns the values of the variable at the specified position in the tuples of the constraint.
+     */
+    static Set<String> values(Constraint constraint, int position) {
+        return constraint.getCompTuples().stream().map(tuple -> tuple.get(position)).collect(Collectors.toSet());
+    }
+
+    /*
+     * Returns the domain restricted to the specified values, keeping the order of the domain.
+     */
+    static Set<String> restrict(Set<String> domain, Set<String> values) {
+        return domain.stream().filter(values::contains).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /*
+     * Returns the constraint with the variables renamed. If some variables get the same name,
+     * only the tuples with equal values for them are kept and the repeated variables are dropped.
+     */
+    static Constraint rename(Constraint constraint, Map<String, String> names) {
+        final List<String> renamed = constraint.getVariables().stream()
+                .map(name -> names.getOrDefault(name, name)).toList();
+        final List<String> distinct = renamed.stream().distinct().toList();
+        if (distinct.size() == renamed.size()) {
+            return renamed.equals(constraint.getVariables()) ? constraint
+                    : new Constraint(renamed, constraint.getCompTuples());
+        }
+
+        final int[] firstPositions = distinct.stream().mapToInt(renamed::indexOf).toArray();
+        final Set<List<String>> tuples = constraint.getCompTuples().stream()
+                .filter(tuple -> consistentRepetitions(tuple, renamed, firstPositions, distinct))
+                .map(tuple -> Arrays.stream(firstPositions).mapToObj(tuple::get).toList())
+                .collect(Collectors.toSet());
+        return new Constraint(distinct, tuples);
+    }
+
+    private static boolean consistentRepetitions(List<String> tuple, List<String> renamed, int[] firstPositions,
+                                                 List<String> distinct) {
+        for (int i = 0; i < renamed.size(); i++) {
+            if (!tuple.get(i).equals(tuple.get(firstPositions[distinct.indexOf(renamed.get(i))]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Returns the constraint restricted to the tuples where the variable has the value and
+     * projected onto the other variables.
+     */
+    static Constraint assign(Constraint constraint, String variable, String value) {
+        final int position = constraint.getVariables().indexOf(variable);
+        final List<String> variables = new ArrayList<>(constraint.getVariables());
+        variables.remove(position);
+        final Set<List<String>> tuples = constraint.getCompTuples().stream()
+                .filter(tuple -> tuple.get(position).equals(value))
+                .map(tuple -> {
+                    final List<String> projected = new ArrayList<>(tuple);
+                    projected.remove(position);
+                    return List.copyOf(projected);
+                })
+                .collect(Collectors.toSet());
+        return new Constraint(List.copyOf(variables), tuples);
+    }
+
+    /*
+     * Returns the constraint with its variables in the specified order, which must be a
+     * permutation of them.
+     */
+    static Constraint permute(Constraint constraint, List<String> variables) {
+        if (variables.equals(constraint.getVariables())) {
+            return constraint;
+        }
+        final int[] positions = variables.stream().mapToInt(constraint.getVariables()::indexOf).toArray();
+        final Set<List<String>> tuples = constraint.getCompTuples().stream()
+                .map(tuple -> Arrays.stream(positions).mapToObj(tuple::get).toList())
+                .collect(Collectors.toSet());
+        return new Constraint(variables, tuples);
+    }
+}
@@ -0,0 +1,87 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+
+import java.util.*;
+
+/**
+ * It assigns the variables with a single value in their domain and propagates the
+ * assignment to their constraints: the constraints become constraints over the other
+ * variables, and the unary ones restrict the domain of their variable, which may become
+ * a single value in turn. If an assignment violates a constraint, the variable is kept
+ * with an empty domain, so the reduced problem is unsatisfiable as well. The constraints
+ * are indexed by variable, so every assignment visits the constraints of its variable only.
+ */
+public class SingletonPropagation implements PresolveStep {
+
+    @Override
+    public PresolveResult apply(StartInformation startInformation) {
+        final Map<String, Set<String>> domains = Relations.domains(startInformation);
+        final List<Constraint> constraints = new ArrayList<>(startInformation.constraints());
+        // the positions of the constraints of every variable, so an assignment visits its constraints only
+        final Map<String, List<Integer>> constraintsOf = new HashMap<>();
+        for (int i = 0; i < constraints.size(); i++) {
+            for (String variable : constraints.get(i).getVariables()) {
+                constraintsOf.computeIfAbsent(variable, name -> new ArrayList<>()).add(i);
+            }
+        }
+        final Map<String, String> assigned = new LinkedHashMap<>();
+        final Deque<String> singletons = new ArrayDeque<>();
+        domains.forEach((name, domain) -> {
+            if (domain.size() == 1) {
+                singletons.add(name);
+            }
+        });
+
+        while (!singletons.isEmpty()) {
+            final String variable = singletons.poll();
+            if (assigned.containsKey(variable) || domains.get(variable).size() != 1) {
+                continue;
+            }
+            final String value = domains.get(variable).iterator().next();
+            final Map<Integer, Constraint> propagated = new LinkedHashMap<>();
+            boolean violated = false;
+            for (int position : constraintsOf.getOrDefault(variable, List.of())) {
+                final Constraint constraint = constraints.get(position);
+                if (constraint == null || propagated.containsKey(position)) {
+                    continue;
+                }
+                final Constraint reduced = Relations.assign(constraint, variable, value);
+                if (reduced.getVariables().isEmpty()) {
+                    violated |= reduced.getCompTuples().isEmpty();
+                    propagated.put(position, null);
+                } else if (reduced.getVariables().size() == 1) {
+                    final String other = reduced.getVariables().get(0);
+                    final Set<String> domain = Relations.restrict(domains.get(other), Relations.values(reduced, 0));
+                    domains.put(other, domain);
+                    if (domain.size() == 1) {
+                        singletons.add(other);
+                    }
+                    propagated.put(position, null);
+                } else {
+                    propagated.put(position, reduced);
+                }
+            }
+            if (violated) {
+                domains.put(variable, Set.of());
+                break;
+            }
+            // a reduced constraint keeps its position, as its variables still list it
+            propagated.forEach(constraints::set);
+            assigned.put(variable, value);
+        }
+        if (assigned.isEmpty()) {
+            return new PresolveResult(startInformation, SolutionMapper.IDENTITY);
+        }
+
+        assigned.keySet().forEach(domains::remove);
+        final SolutionMapper mapper = solution -> {
+            final Map<String, String> mapped = new TreeMap<>(solution);
+            mapped.putAll(assigned);
+            return mapped;
+        };
+        return new PresolveResult(Relations.startInformation(domains,
+                constraints.stream().filter(Objects::nonNull).toList(), startInformation.variableOrder()), mapper);
+    }
+}
@@ -0,0 +1,40 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * It expands the solution of a presolved problem to all the solutions of the problem before
+ * the presolve it represents.
+ */
+@FunctionalInterface
+public interface SolutionExpander {
+    SolutionExpander IDENTITY = Stream::of;
+
+    Stream<Map<String, String>> expand(Map<String, String> solution);
+
+    /**
+     * Returns the expander of a step, which replaces the values of the solution with the values
+     * of their classes and maps every combination with the mapper of the step.
+     *
+     * @param result the result of the step
+     * @return the expander of the step
+     */
+    static SolutionExpander of(PresolveResult result) {
+        if (result.classes().isEmpty()) {
+            return solution -> Stream.of(result.mapper().map(solution));
+        }
+        return solution -> result.classes().solutions(solution).map(result.mapper()::map);
+    }
+
+    /**
+     * Returns the expander applying the specified expander and then this one, i.e. the expander
+     * of a step followed by the specified one.
+     *
+     * @param next the expander of the following step
+     * @return the composed expander
+     */
+    default SolutionExpander after(SolutionExpander next) {
+        return solution -> next.expand(solution).flatMap(this::expand);
+    }
+}
@@ -0,0 +1,24 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import java.util.Map;
+
+/**
+ * It maps the solution of a presolved problem to a solution of the problem before the presolve.
+ */
+@FunctionalInterface
+public interface SolutionMapper {
+    SolutionMapper IDENTITY = solution -> solution;
+
+    Map<String, String> map(Map<String, String> solution);
+
+    /**
+     * Returns the mapper applying the specified mapper and then this one, i.e. the mapper of
+     * a step followed by the specified one.
+     *
+     * @param next the mapper of the following step
+     * @return the composed mapper
+     */
+    default SolutionMapper after(SolutionMapper next) {
+        return solution -> map(next.map(solution));
+    }
+}
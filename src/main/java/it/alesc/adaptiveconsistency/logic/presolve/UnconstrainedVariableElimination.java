@@ -0,0 +1,39 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * It removes the variables that are in no constraint, which take the first value of
+ * their domain as the solver would do.
+ */
+public class UnconstrainedVariableElimination implements PresolveStep {
+
+    @Override
+    public PresolveResult apply(StartInformation startInformation) {
+        final Set<String> constrained = startInformation.constraints().stream()
+                .map(Constraint::getVariables).flatMap(List::stream).collect(Collectors.toSet());
+        final Map<String, Set<String>> domains = Relations.domains(startInformation);
+        final Map<String, String> assigned = new LinkedHashMap<>();
+        domains.forEach((name, domain) -> {
+            if (!constrained.contains(name) && !domain.isEmpty()) {
+                assigned.put(name, domain.iterator().next());
+            }
+        });
+        if (assigned.isEmpty()) {
+            return new PresolveResult(startInformation, SolutionMapper.IDENTITY);
+        }
+
+        assigned.keySet().forEach(domains::remove);
+        final SolutionMapper mapper = solution -> {
+            final Map<String, String> mapped = new TreeMap<>(solution);
+            mapped.putAll(assigned);
+            return mapped;
+        };
+        return new PresolveResult(Relations.startInformation(domains, startInformation.constraints(),
+                startInformation.variableOrder()), mapper);
+    }
+}
@@ -0,0 +1,33 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * A disjoint-set forest over names, with path compression.
+ */
+class UnionFind {
+    private final Map<String, String> parents = new HashMap<>();
+
+    String find(String name) {
+        String root = name;
+        while (parents.containsKey(root)) {
+            root = parents.get(root);
+        }
+        String current = name;
+        while (!current.equals(root)) {
+            final String next = parents.get(current);
+            parents.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    void union(String first, String second) {
+        final String firstRoot = find(first);
+        final String secondRoot = find(second);
+        if (!firstRoot.equals(secondRoot)) {
+            parents.put(secondRoot, firstRoot);
+        }
+    }
+}
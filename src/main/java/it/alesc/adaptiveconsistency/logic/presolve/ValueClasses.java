@@ -0,0 +1,104 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * It contains the classes of interchangeable values of every variable, each one identified by
+ * the value kept in the compressed domain. Replacing the value of a variable in a solution of the
+ * compressed problem with any value of its class gives a solution of the original problem, for
+ * every variable independently.
+ *
+ * @param classes the classes of every variable, from the kept value to all the values of the class
+ */
+public record ValueClasses(Map<String, Map<String, Set<String>>> classes) {
+    /**
+     * The classes of a problem without interchangeable values.
+     */
+    public static final ValueClasses NONE = new ValueClasses(Map.of());
+
+    /**
+     * Returns the values every variable can take in the solutions represented by the specified
+     * solution of the compressed problem.
+     *
+     * @param solution the solution of the compressed problem
+     * @return the values of every variable
+     */
+    public Map<String, Set<String>> expand(Map<String, String> solution) {
+        final Map<String, Set<String>> values = new TreeMap<>();
+        solution.forEach((variable, value) -> values.put(variable,
+                classes.getOrDefault(variable, Map.of()).getOrDefault(value, Set.of(value))));
+        return values;
+    }
+
+    /**
+     * Returns all the solutions of the original problem represented by the specified solution of
+     * the compressed problem, i.e. every combination of the values of {@link #expand}. The
+     * solutions are generated lazily, as they can be many, by an odometer over the classes.
+     *
+     * @param solution the solution of the compressed problem
+     * @return the solutions of the original problem
+     */
+    public Stream<Map<String, String>> solutions(Map<String, String> solution) {
+        final List<String> variables = new ArrayList<>();
+        final List<String[]> values = new ArrayList<>();
+        expand(solution).forEach((variable, variableValues) -> {
+            if (variableValues.size() > 1) {
+                variables.add(variable);
+                values.add(variableValues.toArray(String[]::new));
+            }
+        });
+        final SortedMap<String, String> base = new TreeMap<>(solution);
+        final Iterator<Map<String, String>> odometer = new Iterator<>() {
+            private final int[] indexes = new int[variables.size()];
+            private boolean hasNext = true;
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public Map<String, String> next() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                final Map<String, String> expanded = new TreeMap<>(base);
+                for (int i = 0; i < indexes.length; i++) {
+                    final String value = values.get(i)[indexes[i]];
+                    if (!value.equals(base.get(variables.get(i)))) {
+                        expanded.put(variables.get(i), value);
+                    }
+                }
+                int position = indexes.length - 1;
+                while (position >= 0 && ++indexes[position] == values.get(position).length) {
+                    indexes[position--] = 0;
+                }
+                hasNext = position >= 0;
+                return expanded;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(odometer,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    /**
+     * Checks whether no variable has interchangeable values.
+     *
+     * @return <code>true</code> if no value was removed, <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return classes.isEmpty();
+    }
+
+    /**
+     * Returns the number of values removed from the domains.
+     *
+     * @return the number of removed values
+     */
+    public int removedValues() {
+        return classes.values().stream().flatMap(variableClasses -> variableClasses.values().stream())
+                .mapToInt(valueClass -> valueClass.size() - 1).sum();
+    }
+}
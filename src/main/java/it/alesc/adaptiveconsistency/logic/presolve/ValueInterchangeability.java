@@ -0,0 +1,112 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * It detects the neighbourhood interchangeable values of the variables: two values of a
+ * variable are interchangeable if every constraint of the variable admits the same tuples
+ * of the other variables with both of them. Only a value per class is needed to solve the
+ * problem, so the domains are compressed and the relations shrink by the size of the classes.
+ * The compression of a variable can make new values of its neighbours interchangeable, so
+ * the variables are processed until no class changes.
+ */
+@Slf4j
+@UtilityClass
+public class ValueInterchangeability {
+
+    /**
+     * It is the compressed problem with the classes of the removed values.
+     *
+     * @param reduced the problem with a value per class
+     * @param classes the classes of interchangeable values
+     */
+    public record Compression(StartInformation reduced, ValueClasses classes) {
+    }
+
+    public static Compression compress(StartInformation startInformation) {
+        final Map<String, Set<String>> domains = Relations.domains(startInformation);
+        final Map<String, Set<Constraint>> constraintsByVariable = new HashMap<>();
+        domains.keySet().forEach(name -> constraintsByVariable.put(name, new LinkedHashSet<>()));
+        final Set<Constraint> constraints = new LinkedHashSet<>(startInformation.constraints());
+        constraints.forEach(constraint -> constraint.getVariables().forEach(name ->
+                constraintsByVariable.computeIfAbsent(name, key -> new LinkedHashSet<>()).add(constraint)));
+
+        final Map<String, Map<String, Set<String>>> classes = new HashMap<>();
+        final Deque<String> pending = new ArrayDeque<>(domains.keySet());
+        final Set<String> queued = new HashSet<>(domains.keySet());
+        while (!pending.isEmpty()) {
+            final String variable = pending.poll();
+            queued.remove(variable);
+            final List<Constraint> variableConstraints = List.copyOf(constraintsByVariable.get(variable));
+            final Collection<List<String>> valueClasses = valueClasses(variable, domains.get(variable),
+                    variableConstraints);
+            if (valueClasses.size() == domains.get(variable).size()) {
+                continue;
+            }
+
+            final Map<String, Set<String>> variableClasses = classes.computeIfAbsent(variable, key -> new HashMap<>());
+            final Set<String> kept = new HashSet<>();
+            valueClasses.forEach(valueClass -> {
+                final String representative = valueClass.get(0);
+                kept.add(representative);
+                final Set<String> members = variableClasses.computeIfAbsent(representative,
+                        key -> new LinkedHashSet<>(List.of(key)));
+                valueClass.stream().skip(1).forEach(value -> members.addAll(
+                        Optional.ofNullable(variableClasses.remove(value)).orElse(Set.of(value))));
+            });
+            domains.put(variable, Relations.restrict(domains.get(variable), kept));
+
+            for (Constraint constraint : variableConstraints) {
+                final int position = constraint.getVariables().indexOf(variable);
+                final Constraint restricted = new Constraint(constraint.getVariables(),
+                        constraint.getCompTuples().stream().filter(tuple -> kept.contains(tuple.get(position)))
+                                .collect(Collectors.toSet()));
+                constraints.remove(constraint);
+                constraints.add(restricted);
+                for (String name : constraint.getVariables()) {
+                    final Set<Constraint> neighbourConstraints = constraintsByVariable.get(name);
+                    neighbourConstraints.remove(constraint);
+                    neighbourConstraints.add(restricted);
+                    if (!name.equals(variable) && queued.add(name)) {
+                        pending.add(name);
+                    }
+                }
+            }
+        }
+
+        final var valueClasses = new ValueClasses(classes);
+        log.info("{} - removed {} interchangeable values of {} variables", "compress",
+                valueClasses.removedValues(), classes.size());
+        return new Compression(Relations.startInformation(domains, constraints, startInformation.variableOrder()),
+                valueClasses);
+    }
+
+    /*
+     * Returns the classes of interchangeable values of the variable, each one starting with
+     * its first value in the order of the domain.
+     */
+    private static Collection<List<String>> valueClasses(String variable, Set<String> domain,
+                                                         List<Constraint> constraints) {
+        final Map<String, List<Set<List<String>>>> supports = new HashMap<>();
+        domain.forEach(value -> supports.put(value, new ArrayList<>(constraints.size())));
+        for (Constraint constraint : constraints) {
+            final int position = constraint.getVariables().indexOf(variable);
+            final Map<String, Set<List<String>>> constraintSupports = new HashMap<>();
+            constraint.getCompTuples().forEach(tuple -> {
+                final List<String> others = new ArrayList<>(tuple);
+                others.remove(position);
+                constraintSupports.computeIfAbsent(tuple.get(position), key -> new HashSet<>()).add(others);
+            });
+            domain.forEach(value -> supports.get(value).add(constraintSupports.getOrDefault(value, Set.of())));
+        }
+        final Map<List<Set<List<String>>>, List<String>> classes = new LinkedHashMap<>();
+        domain.forEach(value -> classes.computeIfAbsent(supports.get(value), key -> new ArrayList<>()).add(value));
+        return classes.values();
+    }
+}
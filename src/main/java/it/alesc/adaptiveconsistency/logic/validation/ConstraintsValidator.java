@@ -2,7 +2,6 @@ package it.alesc.adaptiveconsistency.logic.validation;
 
 import io.vavr.control.Validation;
 import it.alesc.adaptiveconsistency.specification.Constraint;
-import it.alesc.adaptiveconsistency.specification.Variable;
 import lombok.experimental.UtilityClass;
 
 import java.util.List;
@@ -10,17 +9,54 @@ import java.util.stream.Stream;
 
 @UtilityClass
 public class ConstraintsValidator {
-    public static Validation<String, List<Constraint>> validate(List<Constraint> constraints, final List<Variable> variables) {
+    public static Validation<String, List<Constraint>> validate(List<Constraint> constraints,
+                                                                final VariableIndex index, final int maxErrors) {
         return CollectionValidator.notEmptyList(constraints, "Lista vincoli")
-                .flatMap(list -> validateConstraintVariables(list, variables));
+                .flatMap(list -> validateConstraintVariables(list, index, maxErrors))
+                .flatMap(list -> validateOperators(list, maxErrors))
+                .flatMap(list -> validateCosts(list, maxErrors));
     }
 
-    private static Validation<String, List<Constraint>> validateConstraintVariables(List<Constraint> constraints, List<Variable> variables) {
-        final List<String> variableNames = variables.stream().map(Variable::getName).toList();
-        final List<String> unknownNames = constraints.stream().flatMap(c -> Stream.of(c.getFirstVariable(), c.getSecondVariable()))
-                .distinct().filter(name -> !variableNames.contains(name)).toList();
+    private static Validation<String, List<Constraint>> validateConstraintVariables(List<Constraint> constraints,
+                                                                                    VariableIndex index,
+                                                                                    int maxErrors) {
+        final List<String> unknownNames = NameCollector.firstMatching(
+                constraints.stream().flatMap(c -> Stream.of(c.getFirstVariable(), c.getSecondVariable())),
+                2L * constraints.size(), name -> !index.contains(name), maxErrors);
         return unknownNames.isEmpty() ? Validation.valid(constraints)
-                : Validation.invalid(String.format("Nei vincoli ci sono nomi di variabili non definite: %s",
-                                                    String.join(", ", unknownNames)));
+                : Validation.invalid(NameCollector.message("Nei vincoli ci sono nomi di variabili non definite: %s",
+                unknownNames, false, maxErrors));
+    }
+
+    private static Validation<String, List<Constraint>> validateOperators(List<Constraint> constraints, int maxErrors) {
+        final List<String> missingOperators = constraints.stream()
+                .filter(c -> c.getOperator() == null)
+                .map(c -> c.getFirstVariable() + "-" + c.getSecondVariable())
+                .limit(maxErrors + 1L)
+                .toList();
+        return missingOperators.isEmpty() ? Validation.valid(constraints)
+                : Validation.invalid(NameCollector.message("Nei vincoli ci sono operatori non definiti: %s",
+                missingOperators, false, maxErrors));
+    }
+
+    /*
+     * The optimization sums the costs of the constraints, so they must be defined and not negative.
+     */
+    private static Validation<String, List<Constraint>> validateCosts(List<Constraint> constraints, int maxErrors) {
+        final List<String> invalidCosts = constraints.stream()
+                .filter(ConstraintsValidator::hasInvalidCost)
+                .map(c -> c.getFirstVariable() + "-" + c.getSecondVariable())
+                .limit(maxErrors + 1L)
+                .toList();
+        return invalidCosts.isEmpty() ? Validation.valid(constraints)
+                : Validation.invalid(NameCollector.message("Nei vincoli ci sono costi negativi o non definiti: %s",
+                invalidCosts, false, maxErrors));
+    }
+
+    private static boolean hasInvalidCost(Constraint constraint) {
+        return constraint.getWeight() != null && constraint.getWeight() < 0
+                || constraint.getCostTable() != null && constraint.getCostTable().values().stream()
+                .flatMap(row -> row.values().stream())
+                .anyMatch(cost -> cost == null || cost < 0);
     }
 }
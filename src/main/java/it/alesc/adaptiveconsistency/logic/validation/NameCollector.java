@@ -0,0 +1,35 @@
+package it.alesc.adaptiveconsistency.logic.validation;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+@UtilityClass
+class NameCollector {
+    /*
+     * The number of names over which the search runs in parallel.
+     */
+    static final int PARALLEL_THRESHOLD = 50_000;
+
+    /*
+     * Returns the first distinct names of the stream that satisfy the predicate, at most
+     * one more than the maximum number of errors so the caller knows if the list is
+     * truncated. The search stops as soon as enough names are found.
+     */
+    static List<String> firstMatching(Stream<String> names, long size, Predicate<String> predicate, int maxErrors) {
+        final Stream<String> source = size >= PARALLEL_THRESHOLD ? names.parallel() : names;
+        return source.filter(predicate).distinct().limit(maxErrors + 1L).toList();
+    }
+
+    /*
+     * Returns the message made of the specified format and the list of names, truncated
+     * at the maximum number of errors.
+     */
+    static String message(String format, List<String> names, boolean truncated, int maxErrors) {
+        final boolean overflow = truncated || names.size() > maxErrors;
+        final String list = String.join(", ", names.subList(0, Math.min(names.size(), maxErrors)));
+        return String.format(format, overflow ? list + ", ..." : list);
+    }
+}
@@ -10,12 +10,33 @@ import java.util.List;
 
 @UtilityClass
 public class ProblemSpecificationValidator {
+	/**
+	 * The default maximum number of names listed by every error.
+	 */
+	public static final int DEFAULT_MAX_ERRORS = 20;
+
 	public static Validation<Seq<String>, ProblemSpecification> validate(ProblemSpecification problemSpecification) {
+		return validate(problemSpecification, DEFAULT_MAX_ERRORS);
+	}
+
+	/**
+	 * Validates the specification. The names of the variables are indexed once, so every
+	 * reference is checked in constant time, and every check stops as soon as it finds
+	 * the maximum number of wrong names.
+	 *
+	 * @param problemSpecification the specification to validate
+	 * @param maxErrors the maximum number of names listed by every error
+	 * @return the valid specification or the list of errors
+	 */
+	public static Validation<Seq<String>, ProblemSpecification> validate(ProblemSpecification problemSpecification,
+																		 int maxErrors) {
 		final List<Variable> variables = problemSpecification.getVariables();
+		final VariableIndex index = VariableIndex.of(variables, maxErrors);
 		return Validation.combine(
-				VariablesValidator.validate(variables),
-				ConstraintsValidator.validate(problemSpecification.getConstraints(), variables),
-				VariableOrderValidator.validate(problemSpecification.getVariableOrder(), variables)
+				VariablesValidator.validate(variables, index, maxErrors),
+				ConstraintsValidator.validate(problemSpecification.getConstraints(), index, maxErrors),
+				VariableOrderValidator.validate(problemSpecification.getVariableOrder(),
+						variables == null ? 0 : variables.size(), index, maxErrors)
 		).ap(ProblemSpecification::new);
 	}
 
@@ -0,0 +1,48 @@
+package it.alesc.adaptiveconsistency.logic.validation;
+
+import it.alesc.adaptiveconsistency.specification.Variable;
+
+import java.util.*;
+
+/**
+ * It is the set of the names of the declared variables, built in a single pass over
+ * them, together with the names declared more than once.
+ *
+ * @param names the names of the declared variables
+ * @param duplicatedNames the first duplicated names, at most as many as the maximum number of errors
+ * @param truncated <code>true</code> if there are more duplicated names than the reported ones
+ */
+public record VariableIndex(
+        Set<String> names,
+        List<String> duplicatedNames,
+        boolean truncated
+) {
+    public static VariableIndex of(List<Variable> variables, int maxErrors) {
+        if (variables == null) {
+            return new VariableIndex(Set.of(), List.of(), false);
+        }
+
+        final Set<String> names = new HashSet<>(variables.size() * 4 / 3 + 1);
+        final Set<String> duplicatedNames = new LinkedHashSet<>();
+        boolean truncated = false;
+        for (Variable variable : variables) {
+            final String name = variable.getName();
+            if (!names.add(name) && !duplicatedNames.contains(name)) {
+                if (duplicatedNames.size() < maxErrors) {
+                    duplicatedNames.add(name);
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+        return new VariableIndex(names, List.copyOf(duplicatedNames), truncated);
+    }
+
+    public boolean contains(String name) {
+        return names.contains(name);
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
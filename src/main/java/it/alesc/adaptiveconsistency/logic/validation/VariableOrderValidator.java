@@ -1,30 +1,31 @@
 package it.alesc.adaptiveconsistency.logic.validation;
 
 import io.vavr.control.Validation;
-import it.alesc.adaptiveconsistency.specification.Variable;
 import lombok.experimental.UtilityClass;
 
 import java.util.List;
 
 @UtilityClass
 public class VariableOrderValidator {
-    public static Validation<String, List<String>> validate(List<String> variableOrder, final List<Variable> variables) {
+    public static Validation<String, List<String>> validate(List<String> variableOrder, final int variableCount,
+                                                            final VariableIndex index, final int maxErrors) {
         return CollectionValidator.notEmptyList(variableOrder, "Ordine variabili")
-                .flatMap(list -> validateVariablesOrderSize(list, variables))
-                .flatMap(list -> validateVariablesOrder(list, variables));
+                .flatMap(list -> validateVariablesOrderSize(list, variableCount))
+                .flatMap(list -> validateVariablesOrder(list, index, maxErrors));
     }
 
-    private static Validation<String, List<String>> validateVariablesOrderSize(List<String> variableOrder, List<Variable> variables) {
-        return variableOrder.size() != variables.size()
+    private static Validation<String, List<String>> validateVariablesOrderSize(List<String> variableOrder, int variableCount) {
+        return variableOrder.size() != variableCount
             ? Validation.invalid("Il numero delle variabili nell'ordinamento è diverso dal numero della variabili dichiarate")
             : Validation.valid(variableOrder);
     }
 
-    private static Validation<String, List<String>> validateVariablesOrder(List<String> variableOrder, List<Variable> variables) {
-        final List<String> variableNames = variables.stream().map(Variable::getName).toList();
-        final List<String> unknownNames = variableOrder.stream().filter(name -> !variableNames.contains(name)).toList();
+    private static Validation<String, List<String>> validateVariablesOrder(List<String> variableOrder,
+                                                                           VariableIndex index, int maxErrors) {
+        final List<String> unknownNames = NameCollector.firstMatching(variableOrder.stream(), variableOrder.size(),
+                name -> !index.contains(name), maxErrors);
         return unknownNames.isEmpty() ? Validation.valid(variableOrder)
-                : Validation.invalid(String.format("Nell'ordinamento ci sono nomi di variabili non definite: %s",
-                String.join(", ", unknownNames)));
+                : Validation.invalid(NameCollector.message("Nell'ordinamento ci sono nomi di variabili non definite: %s",
+                unknownNames, false, maxErrors));
     }
 }
@@ -3,26 +3,36 @@ package it.alesc.adaptiveconsistency.logic.validation;
 import io.vavr.control.Validation;
 import it.alesc.adaptiveconsistency.specification.Variable;
 import lombok.experimental.UtilityClass;
+import org.apache.commons.collections.CollectionUtils;
 
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 @UtilityClass
 public class VariablesValidator {
-    public static Validation<String, List<Variable>> validate(final List<Variable> variables) {
+    public static Validation<String, List<Variable>> validate(final List<Variable> variables,
+                                                              final VariableIndex index, final int maxErrors) {
         return CollectionValidator.notEmptyList(variables, "Lista variabili")
-                .flatMap(VariablesValidator::validateVariableNames);
+                .flatMap(list -> validateVariableNames(list, index, maxErrors))
+                .flatMap(list -> validateDomains(list, maxErrors));
     }
 
-    private static Validation<String, List<Variable>> validateVariableNames(final List<Variable> variables) {
-        final Map<Variable, Long> variableCount = variables.stream()
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-        final List<String> duplicatedVariableNames = variableCount.entrySet().stream().filter(entry -> entry.getValue() > 1L)
-                .map(Map.Entry::getKey).map(Variable::getName).toList();
-        return duplicatedVariableNames.isEmpty() ? Validation.valid(variables)
-                : Validation.invalid(String.format("Ci sono nomi duplicati in più variabili: %s",
-                String.join(", ", duplicatedVariableNames)));
+    private static Validation<String, List<Variable>> validateVariableNames(final List<Variable> variables,
+                                                                            final VariableIndex index,
+                                                                            final int maxErrors) {
+        return index.duplicatedNames().isEmpty() ? Validation.valid(variables)
+                : Validation.invalid(NameCollector.message("Ci sono nomi duplicati in più variabili: %s",
+                index.duplicatedNames(), index.truncated(), maxErrors));
+    }
+
+    private static Validation<String, List<Variable>> validateDomains(final List<Variable> variables,
+                                                                      final int maxErrors) {
+        final List<String> emptyDomains = variables.stream()
+                .filter(variable -> CollectionUtils.isEmpty(variable.getDomainValues()))
+                .map(Variable::getName)
+                .limit(maxErrors + 1L)
+                .toList();
+        return emptyDomains.isEmpty() ? Validation.valid(variables)
+                : Validation.invalid(NameCollector.message("Ci sono variabili senza valori nel dominio: %s",
+                emptyDomains, false, maxErrors));
     }
 }
@@ -0,0 +1,60 @@
+package it.alesc.adaptiveconsistency.server;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * It bounds the number of problems solved at the same time and the number of requests
+ * waiting for a solve slot.
+ */
+public class AdmissionController {
+    private final Semaphore slots;
+    private final int maxQueueLength;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public AdmissionController(int maxConcurrentSolves, int maxQueueLength) {
+        this.slots = new Semaphore(maxConcurrentSolves, true);
+        this.maxQueueLength = maxQueueLength;
+    }
+
+    /**
+     * Acquires a solve slot, waiting at most the specified time.
+     *
+     * @param timeoutNanos the maximum time to wait
+     * @return the outcome of the admission
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public Admission admit(long timeoutNanos) throws InterruptedException {
+        if (slots.tryAcquire()) {
+            return Admission.ADMITTED;
+        }
+        if (queued.incrementAndGet() > maxQueueLength) {
+            queued.decrementAndGet();
+            return Admission.REJECTED;
+        }
+        try {
+            return slots.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS) ? Admission.ADMITTED : Admission.TIMED_OUT;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    public int available() {
+        return slots.availablePermits();
+    }
+
+    public enum Admission {
+        ADMITTED,
+        REJECTED,
+        TIMED_OUT
+    }
+}
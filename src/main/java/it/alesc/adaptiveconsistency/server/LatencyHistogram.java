@@ -0,0 +1,56 @@
+package it.alesc.adaptiveconsistency.server;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * It is a latency histogram with fixed buckets, which can be updated by multiple threads
+ * without locks. It is rendered in the Prometheus text format.
+ */
+public class LatencyHistogram {
+    private static final long[] BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000,
+            10_000, 30_000, 60_000, 300_000};
+
+    private final String name;
+    private final String help;
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MILLIS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram(String name, String help) {
+        this.name = name;
+        this.help = help;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long elapsedNanos) {
+        final long elapsedMillis = elapsedNanos / 1_000_000L;
+        int bucket = 0;
+        while (bucket < BOUNDS_MILLIS.length && elapsedMillis > BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        sumNanos.add(elapsedNanos);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public void render(StringBuilder output) {
+        output.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        output.append("# TYPE ").append(name).append(" histogram\n");
+        long cumulative = 0;
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            cumulative += buckets[i].sum();
+            output.append(name).append("_bucket{le=\"").append(BOUNDS_MILLIS[i] / 1000.0).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        cumulative += buckets[BOUNDS_MILLIS.length].sum();
+        output.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+        output.append(name).append("_sum ").append(sumNanos.sum() / 1_000_000_000.0).append('\n');
+        output.append(name).append("_count ").append(count.sum()).append('\n');
+    }
+}
@@ -0,0 +1,52 @@
+package it.alesc.adaptiveconsistency.server;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@UtilityClass
+public class ServerExecutors {
+    private static final String VIRTUAL_THREAD_FACTORY_METHOD = "newVirtualThreadPerTaskExecutor";
+
+    /**
+     * Returns the executor of the requests: a virtual thread per request when the runtime
+     * supports them (Java 21 or later), otherwise a cached pool of daemon threads, as the
+     * project targets Java 17.
+     *
+     * @return the executor of the requests
+     */
+    public static ExecutorService requestExecutor() {
+        try {
+            final Method factory = Executors.class.getMethod(VIRTUAL_THREAD_FACTORY_METHOD);
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.info("{} - virtual threads not available, using a cached thread pool", "requestExecutor");
+            return Executors.newCachedThreadPool(threadFactory("solve-request-%d"));
+        }
+    }
+
+    /**
+     * Returns the executor of the resolutions, with the specified number of threads and
+     * a queue as long: the admission of the requests already bounds the resolutions
+     * submitted, so a task beyond the queue is rejected instead of waiting.
+     *
+     * @param threads the number of threads
+     * @return the executor of the resolutions
+     */
+    public static ExecutorService solverExecutor(int threads) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads), threadFactory("solver-%d"));
+    }
+
+    private static java.util.concurrent.ThreadFactory threadFactory(String nameFormat) {
+        return new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build();
+    }
+}
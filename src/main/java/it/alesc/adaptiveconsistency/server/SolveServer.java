@@ -0,0 +1,340 @@
+package it.alesc.adaptiveconsistency.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import it.alesc.adaptiveconsistency.logic.ProblemSolver;
+import it.alesc.adaptiveconsistency.logic.ResolutionResultMapper;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.SolverOptions;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.ResolutionStatus;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.logic.validation.ProblemSpecificationValidator;
+import it.alesc.adaptiveconsistency.specification.ErrorResult;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * It is a local HTTP server that solves problems. The endpoints are:
+ * <ul>
+ *     <li><code>POST /solve</code>: solves the problem specification in the JSON body and returns the
+ *     solution; the query parameter <code>trace=true</code> adds the trace of the resolution,
+ *     <code>timeout</code> lowers the deadline of the request (in milliseconds), <code>iBound</code>
+ *     asks for the approximated resolution with mini-buckets of that size and <code>presolve=true</code>
+ *     reduces the problem before solving it</li>
+ *     <li><code>GET /metrics</code>: the counters and the latency histograms in the Prometheus text format</li>
+ *     <li><code>GET /health</code>: the state of the server</li>
+ * </ul>
+ * The number of problems solved at the same time and the number of requests waiting for a slot
+ * are bounded: the requests beyond the bound are rejected with the status 503, the ones that
+ * exceed their deadline receive the status 504 and their resolution is stopped.
+ */
+@Slf4j
+public class SolveServer {
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final String TEXT_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    /*
+     * The time a resolution past its deadline is given to reach its next check and stop.
+     */
+    private static final long STOP_GRACE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final SolveServerConfiguration configuration;
+    private final AdmissionController admissionController;
+    private final Gson gson = new Gson();
+    private final LatencyHistogram requestLatency = new LatencyHistogram(
+            "solve_request_duration_seconds", "Duration of the solve requests");
+    private final LatencyHistogram solveLatency = new LatencyHistogram(
+            "solve_duration_seconds", "Duration of the resolutions");
+    private final LongAdder rejectedRequests = new LongAdder();
+    private final LongAdder timedOutRequests = new LongAdder();
+    private final LongAdder invalidRequests = new LongAdder();
+    private final LongAdder failedRequests = new LongAdder();
+    private HttpServer server;
+    private ExecutorService requestExecutor;
+    private ExecutorService solverExecutor;
+
+    public SolveServer(SolveServerConfiguration configuration) {
+        this.configuration = configuration;
+        this.admissionController = new AdmissionController(configuration.maxConcurrentSolves(),
+                configuration.maxQueueLength());
+    }
+
+    /**
+     * Starts the server.
+     *
+     * @return the address the server listens on
+     * @throws IOException if the server cannot be bound
+     */
+    public synchronized InetSocketAddress start() throws IOException {
+        requestExecutor = ServerExecutors.requestExecutor();
+        solverExecutor = ServerExecutors.solverExecutor(configuration.maxConcurrentSolves());
+        server = HttpServer.create(new InetSocketAddress(configuration.host(), configuration.port()), 0);
+        server.setExecutor(requestExecutor);
+        server.createContext("/solve", this::handleSolve);
+        server.createContext("/metrics", this::handleMetrics);
+        server.createContext("/health", this::handleHealth);
+        server.start();
+        log.info("{} - solve server listening on {}", "start", server.getAddress());
+        return server.getAddress();
+    }
+
+    /**
+     * Stops the server, waiting at most the specified time for the running requests.
+     *
+     * @param timeout the maximum time to wait
+     */
+    public synchronized void stop(Duration timeout) {
+        if (server == null) {
+            return;
+        }
+        server.stop((int) timeout.toSeconds());
+        solverExecutor.shutdownNow();
+        requestExecutor.shutdownNow();
+        server = null;
+    }
+
+    public synchronized InetSocketAddress address() {
+        return server == null ? null : server.getAddress();
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        final long start = System.nanoTime();
+        try (exchange) {
+            try {
+                solveRequest(exchange, start);
+            } catch (RuntimeException e) {
+                log.error("{} - request failed", "handleSolve", e);
+                failedRequests.increment();
+                sendError(exchange);
+            }
+        } finally {
+            requestLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    private void solveRequest(HttpExchange exchange, long start) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            sendJson(exchange, 405, new ErrorResult(List.of("Metodo non supportato")));
+            return;
+        }
+
+        final Map<String, String> parameters = queryParameters(exchange);
+        final long deadline = start + deadlineNanos(parameters);
+        final ProblemSpecification specification;
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            specification = gson.fromJson(reader, ProblemSpecification.class);
+        } catch (JsonParseException e) {
+            invalidRequests.increment();
+            sendJson(exchange, 400, new ErrorResult(List.of("Il corpo della richiesta non è JSON valido")));
+            return;
+        }
+
+        final var validation = specification == null
+                ? null : ProblemSpecificationValidator.validate(specification);
+        if (validation == null || validation.isInvalid()) {
+            invalidRequests.increment();
+            sendJson(exchange, 400, new ErrorResult(validation == null
+                    ? List.of("Specifica del problema non presente") : validation.getError().asJava()));
+            return;
+        }
+
+        final Optional<SolverOptions> options = options(parameters);
+        if (options.isEmpty()) {
+            invalidRequests.increment();
+            sendJson(exchange, 400, new ErrorResult(List.of("Il parametro iBound non è un numero positivo")));
+            return;
+        }
+
+        final boolean trace = Boolean.parseBoolean(parameters.get("trace"));
+        final boolean presolve = Boolean.parseBoolean(parameters.get("presolve"));
+        solve(exchange, validation.get(), options.get().withTrace(trace).withPresolve(presolve), trace, deadline);
+    }
+
+    private void solve(HttpExchange exchange, ProblemSpecification specification, SolverOptions options,
+                       boolean trace, long deadline) throws IOException {
+        final AdmissionController.Admission admission;
+        try {
+            admission = admissionController.admit(deadline - System.nanoTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (admission == AdmissionController.Admission.REJECTED) {
+            rejectedRequests.increment();
+            sendJson(exchange, 503, new ErrorResult(List.of("Troppe richieste in coda")));
+            return;
+        }
+        if (admission == AdmissionController.Admission.TIMED_OUT) {
+            timedOutRequests.increment();
+            sendJson(exchange, 504, new ErrorResult(List.of("Tempo massimo della richiesta superato")));
+            return;
+        }
+
+        final SolverControl control = SolverControl.withDeadline(deadline);
+        final Future<CSPResolutionTracker> resolution;
+        try {
+            resolution = solverExecutor.submit(() -> resolve(specification, options, control));
+        } catch (RejectedExecutionException e) {
+            admissionController.release();
+            rejectedRequests.increment();
+            sendJson(exchange, 503, new ErrorResult(List.of("Troppe richieste in coda")));
+            return;
+        }
+
+        final CSPResolutionTracker tracker;
+        try {
+            tracker = resolution.get(deadline - System.nanoTime() + STOP_GRACE_NANOS, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            control.cancel();
+            timedOutRequests.increment();
+            sendJson(exchange, 504, new ErrorResult(List.of("Tempo massimo della richiesta superato")));
+            return;
+        } catch (ExecutionException e) {
+            log.error("{} - resolution failed", "solve", e.getCause());
+            failedRequests.increment();
+            sendJson(exchange, 500, new ErrorResult(List.of("Errore durante la risoluzione del problema")));
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            control.cancel();
+            return;
+        }
+
+        if (tracker.status() == ResolutionStatus.TIMED_OUT) {
+            timedOutRequests.increment();
+            sendJson(exchange, 504, new ErrorResult(List.of("Tempo massimo della richiesta superato")));
+        } else if (tracker.status() == ResolutionStatus.CANCELLED) {
+            sendJson(exchange, 503, new ErrorResult(List.of("Risoluzione annullata")));
+        } else {
+            sendJson(exchange, 200, ResolutionResultMapper.toResult(tracker, trace));
+        }
+    }
+
+    /*
+     * Solves the problem on a thread of the solver executor. The slot is released only when
+     * the resolution ends, also when its request gave up on it, so the slots bound the
+     * resolutions actually running.
+     */
+    private CSPResolutionTracker resolve(ProblemSpecification specification, SolverOptions options,
+                                         SolverControl control) {
+        final long start = System.nanoTime();
+        try {
+            return ProblemSolver.solveProblem(StartInformation.buildStartInformation(specification), options,
+                    control);
+        } finally {
+            solveLatency.record(System.nanoTime() - start);
+            admissionController.release();
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            final var output = new StringBuilder();
+            requestLatency.render(output);
+            solveLatency.render(output);
+            appendGauge(output, "solve_requests_rejected_total", "counter", rejectedRequests.sum());
+            appendGauge(output, "solve_requests_timed_out_total", "counter", timedOutRequests.sum());
+            appendGauge(output, "solve_requests_invalid_total", "counter", invalidRequests.sum());
+            appendGauge(output, "solve_requests_failed_total", "counter", failedRequests.sum());
+            appendGauge(output, "solve_requests_queued", "gauge", admissionController.queued());
+            appendGauge(output, "solve_slots_available", "gauge", admissionController.available());
+            send(exchange, 200, TEXT_CONTENT_TYPE, output.toString());
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            send(exchange, 200, TEXT_CONTENT_TYPE, "OK\n");
+        }
+    }
+
+    private long deadlineNanos(Map<String, String> parameters) {
+        final long configured = configuration.requestDeadline().toNanos();
+        final String timeout = parameters.get("timeout");
+        if (timeout == null) {
+            return configured;
+        }
+        try {
+            return Math.min(configured, TimeUnit.MILLISECONDS.toNanos(Long.parseLong(timeout)));
+        } catch (NumberFormatException e) {
+            return configured;
+        }
+    }
+
+    /*
+     * Returns the options asked for by the parameters, or empty if the i-bound is not valid.
+     */
+    private static Optional<SolverOptions> options(Map<String, String> parameters) {
+        final String iBound = parameters.get("iBound");
+        if (iBound == null) {
+            return Optional.of(SolverOptions.exact());
+        }
+        try {
+            return Optional.of(SolverOptions.miniBuckets(Integer.parseInt(iBound)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        final String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return Map.of();
+        }
+        return Arrays.stream(query.split("&"))
+                .map(parameter -> parameter.split("=", 2))
+                .collect(Collectors.toMap(pair -> URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                        pair -> pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "",
+                        (first, second) -> second));
+    }
+
+    private static void appendGauge(StringBuilder output, String name, String type, long value) {
+        output.append("# TYPE ").append(name).append(' ').append(type).append('\n')
+                .append(name).append(' ').append(value).append('\n');
+    }
+
+    /*
+     * Sends the status 500, unless the response was already started.
+     */
+    private void sendError(HttpExchange exchange) {
+        if (exchange.getResponseCode() != -1) {
+            return;
+        }
+        try {
+            sendJson(exchange, 500, new ErrorResult(List.of("Errore durante la gestione della richiesta")));
+        } catch (IOException e) {
+            log.warn("{} - cannot send the error response", "sendError", e);
+        }
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, JSON_CONTENT_TYPE, gson.toJson(body));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package it.alesc.adaptiveconsistency.server;
+
+import java.time.Duration;
+
+/**
+ * It contains the configuration of the solve server.
+ *
+ * @param host the host name the server binds to
+ * @param port the port the server listens on, 0 to choose a free one
+ * @param maxConcurrentSolves the maximum number of problems solved at the same time
+ * @param maxQueueLength the maximum number of requests waiting for a solve slot
+ * @param requestDeadline the maximum duration of a request, including the wait for a slot
+ */
+public record SolveServerConfiguration(
+        String host,
+        int port,
+        int maxConcurrentSolves,
+        int maxQueueLength,
+        Duration requestDeadline
+) {
+    public static final String DEFAULT_HOST = "localhost";
+    public static final int DEFAULT_PORT = 8080;
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(30);
+
+    public static SolveServerConfiguration defaults() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        return new SolveServerConfiguration(DEFAULT_HOST, DEFAULT_PORT, processors, 4 * processors, DEFAULT_DEADLINE);
+    }
+
+    public SolveServerConfiguration withPort(int port) {
+        return new SolveServerConfiguration(host, port, maxConcurrentSolves, maxQueueLength, requestDeadline);
+    }
+}
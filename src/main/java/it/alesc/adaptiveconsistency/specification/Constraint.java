@@ -2,6 +2,8 @@ package it.alesc.adaptiveconsistency.specification;
 
 import lombok.*;
 
+import java.util.Map;
+
 @Getter
 @Setter
 @ToString
@@ -12,4 +14,18 @@ public class Constraint {
     private String firstVariable;
     private String secondVariable;
     private Operator operator;
+    /**
+     * The cost of violating the operator, which makes the constraint soft in the
+     * optimization: <code>null</code> for a hard constraint.
+     */
+    private Long weight;
+    /**
+     * The cost of the pairs of values, indexed by the value of the first variable and
+     * then by the one of the second variable: the pairs not in the table cost nothing.
+     */
+    private Map<String, Map<String, Long>> costTable;
+
+    public Constraint(String firstVariable, String secondVariable, Operator operator) {
+        this(firstVariable, secondVariable, operator, null, null);
+    }
 }
@@ -0,0 +1,16 @@
+package it.alesc.adaptiveconsistency.specification;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConstraintResult {
+    private List<String> variables;
+    private List<List<String>> tuples;
+}
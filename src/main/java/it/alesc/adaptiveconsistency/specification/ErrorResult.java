@@ -0,0 +1,15 @@
+package it.alesc.adaptiveconsistency.specification;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErrorResult {
+    private List<String> errors;
+}
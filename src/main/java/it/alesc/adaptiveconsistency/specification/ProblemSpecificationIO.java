@@ -0,0 +1,171 @@
+package it.alesc.adaptiveconsistency.specification;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import lombok.experimental.UtilityClass;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * It reads and writes problem specifications in JSON or in a compact binary format. The
+ * binary format stores every distinct name and value once and refers to them by index.
+ * Its first version has no weights and no cost tables.
+ */
+@UtilityClass
+public class ProblemSpecificationIO {
+    private static final int BINARY_MAGIC = 0x41435350;
+    private static final int BINARY_VERSION = 2;
+
+    public static void writeJson(ProblemSpecification specification, Path path) throws IOException {
+        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            gson.toJson(specification, writer);
+        }
+    }
+
+    public static ProblemSpecification readJson(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return new Gson().fromJson(reader, ProblemSpecification.class);
+        }
+    }
+
+    public static void writeBinary(ProblemSpecification specification, Path path) throws IOException {
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            writeBinary(specification, output);
+        }
+    }
+
+    public static ProblemSpecification readBinary(Path path) throws IOException {
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return readBinary(input);
+        }
+    }
+
+    public static void writeBinary(ProblemSpecification specification, DataOutputStream output) throws IOException {
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        specification.getVariables().forEach(variable -> {
+            strings.putIfAbsent(variable.getName(), strings.size());
+            variable.getDomainValues().forEach(value -> strings.putIfAbsent(value, strings.size()));
+        });
+        specification.getConstraints().stream()
+                .filter(constraint -> constraint.getCostTable() != null)
+                .forEach(constraint -> constraint.getCostTable().forEach((first, row) -> {
+                    strings.putIfAbsent(first, strings.size());
+                    row.keySet().forEach(second -> strings.putIfAbsent(second, strings.size()));
+                }));
+
+        output.writeInt(BINARY_MAGIC);
+        output.writeInt(BINARY_VERSION);
+        output.writeInt(strings.size());
+        for (String string : strings.keySet()) {
+            output.writeUTF(string);
+        }
+        output.writeInt(specification.getVariables().size());
+        for (Variable variable : specification.getVariables()) {
+            output.writeInt(strings.get(variable.getName()));
+            output.writeInt(variable.getDomainValues().size());
+            for (String value : variable.getDomainValues()) {
+                output.writeInt(strings.get(value));
+            }
+        }
+        output.writeInt(specification.getConstraints().size());
+        for (Constraint constraint : specification.getConstraints()) {
+            output.writeInt(index(strings, constraint.getFirstVariable()));
+            output.writeInt(index(strings, constraint.getSecondVariable()));
+            output.writeByte(constraint.getOperator().ordinal());
+            writeCosts(constraint, strings, output);
+        }
+        output.writeInt(specification.getVariableOrder().size());
+        for (String name : specification.getVariableOrder()) {
+            output.writeInt(index(strings, name));
+        }
+    }
+
+    public static ProblemSpecification readBinary(DataInputStream input) throws IOException {
+        if (input.readInt() != BINARY_MAGIC) {
+            throw new IOException("Unsupported binary problem specification");
+        }
+        final int version = input.readInt();
+        if (version < 1 || version > BINARY_VERSION) {
+            throw new IOException("Unsupported binary problem specification");
+        }
+        final String[] strings = new String[input.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = input.readUTF();
+        }
+        final int variableCount = input.readInt();
+        final List<Variable> variables = new ArrayList<>(variableCount);
+        for (int i = 0; i < variableCount; i++) {
+            final String name = strings[input.readInt()];
+            final int domainSize = input.readInt();
+            final Set<String> domain = new LinkedHashSet<>(domainSize);
+            for (int j = 0; j < domainSize; j++) {
+                domain.add(strings[input.readInt()]);
+            }
+            variables.add(new Variable(name, domain));
+        }
+        final int constraintCount = input.readInt();
+        final Operator[] operators = Operator.values();
+        final List<Constraint> constraints = new ArrayList<>(constraintCount);
+        for (int i = 0; i < constraintCount; i++) {
+            final var constraint = new Constraint(strings[input.readInt()], strings[input.readInt()],
+                    operators[input.readByte()]);
+            if (version >= 2) {
+                readCosts(constraint, strings, input);
+            }
+            constraints.add(constraint);
+        }
+        final int orderSize = input.readInt();
+        final List<String> variableOrder = new ArrayList<>(orderSize);
+        for (int i = 0; i < orderSize; i++) {
+            variableOrder.add(strings[input.readInt()]);
+        }
+        return new ProblemSpecification(variables, constraints, variableOrder);
+    }
+
+    private static void writeCosts(Constraint constraint, Map<String, Integer> strings, DataOutputStream output)
+            throws IOException {
+        output.writeBoolean(constraint.getWeight() != null);
+        if (constraint.getWeight() != null) {
+            output.writeLong(constraint.getWeight());
+        }
+        final Map<String, Map<String, Long>> costTable = constraint.getCostTable() == null
+                ? Map.of() : constraint.getCostTable();
+        output.writeInt(costTable.values().stream().mapToInt(Map::size).sum());
+        for (Map.Entry<String, Map<String, Long>> row : costTable.entrySet()) {
+            for (Map.Entry<String, Long> cost : row.getValue().entrySet()) {
+                output.writeInt(index(strings, row.getKey()));
+                output.writeInt(index(strings, cost.getKey()));
+                output.writeLong(cost.getValue());
+            }
+        }
+    }
+
+    private static void readCosts(Constraint constraint, String[] strings, DataInputStream input)
+            throws IOException {
+        if (input.readBoolean()) {
+            constraint.setWeight(input.readLong());
+        }
+        final int costCount = input.readInt();
+        if (costCount > 0) {
+            final Map<String, Map<String, Long>> costTable = new LinkedHashMap<>();
+            for (int i = 0; i < costCount; i++) {
+                costTable.computeIfAbsent(strings[input.readInt()], value -> new LinkedHashMap<>())
+                        .put(strings[input.readInt()], input.readLong());
+            }
+            constraint.setCostTable(costTable);
+        }
+    }
+
+    private static int index(Map<String, Integer> strings, String name) throws IOException {
+        final Integer index = strings.get(name);
+        if (index == null) {
+            throw new IOException("Undefined variable " + name);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,20 @@
+package it.alesc.adaptiveconsistency.specification;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResolutionResult {
+    private String status;
+    private boolean hasSolution;
+    private boolean exact;
+    private Map<String, String> solution;
+    private List<ResolutionStepResult> trace;
+}
@@ -0,0 +1,18 @@
+package it.alesc.adaptiveconsistency.specification;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResolutionStepResult {
+    private int number;
+    private String variable;
+    private List<Variable> variables;
+    private List<ConstraintResult> constraints;
+}
@@ -0,0 +1,65 @@
+package it.alesc.adaptiveconsistency.distributed;
+
+import it.alesc.adaptiveconsistency.generator.ProblemGenerator;
+import it.alesc.adaptiveconsistency.logic.BruteForce;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.ResolutionStatus;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * It checks the distributed resolution against the brute force with a worker on localhost.
+ */
+class BucketCoordinatorTest {
+    private BucketWorker worker;
+    private BucketCoordinator coordinator;
+
+    @BeforeEach
+    void startWorker() throws IOException {
+        worker = BucketWorker.start(InetAddress.getLoopbackAddress(), 0);
+        coordinator = new BucketCoordinator(List.of(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), worker.port())));
+    }
+
+    @AfterEach
+    void stopWorker() throws IOException {
+        worker.close();
+    }
+
+    @Test
+    void solutionMatchesBruteForce() throws IOException {
+        for (long seed = 0; seed < 20; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(
+                    ProblemGenerator.randomBinary(8, 3, 0.5, 0.4, seed));
+            final CSPResolutionTracker tracker = coordinator.solve(startInformation, SolverControl.unbounded());
+
+            assertEquals(!BruteForce.solutions(startInformation).isEmpty(), tracker.hasSolution(), "seed " + seed);
+            if (tracker.hasSolution()) {
+                assertTrue(BruteForce.isSolution(startInformation, tracker.solution()), "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void resolutionStopsAtTheDeadline() throws IOException {
+        final StartInformation startInformation = StartInformation.buildStartInformation(
+                ProblemGenerator.randomBinary(40, 6, 0.9, 0.1, 1));
+        final long start = System.nanoTime();
+        final CSPResolutionTracker tracker = coordinator.solve(startInformation,
+                SolverControl.withTimeout(Duration.ofMillis(200)));
+
+        assertEquals(ResolutionStatus.TIMED_OUT, tracker.status());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+    }
+}
@@ -0,0 +1,34 @@
+package it.alesc.adaptiveconsistency.generator;
+
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * It checks the parameters of the generated problems.
+ */
+class ProblemGeneratorTest {
+
+    @Test
+    void densityOutsideTheUnitIntervalIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ProblemGenerator.randomBinary(10, 3, 1.5, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> ProblemGenerator.randomBinary(10, 3, -0.1, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> ProblemGenerator.randomBinary(10, 3, Double.NaN, 0.5, 0));
+    }
+
+    @Test
+    void edgeProbabilityOutsideTheUnitIntervalIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ProblemGenerator.graphColouring(10, 3, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> ProblemGenerator.graphColouring(10, 3, -1, 0));
+    }
+
+    @Test
+    void boundsOfTheUnitIntervalAreAccepted() {
+        final ProblemSpecification complete = ProblemGenerator.graphColouring(10, 3, 1, 0);
+        final ProblemSpecification empty = ProblemGenerator.randomBinary(10, 3, 0, 0.5, 0);
+
+        assertEquals(45, complete.getConstraints().size());
+        assertTrue(empty.getConstraints().isEmpty());
+    }
+}
@@ -0,0 +1,75 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.logic.csp.Constraint;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.logic.csp.Variable;
+import lombok.experimental.UtilityClass;
+
+import java.util.*;
+
+/**
+ * It solves small problems by enumerating every assignment, to check the solvers against it.
+ */
+@UtilityClass
+public class BruteForce {
+
+    /**
+     * Returns all the solutions of the specified problem.
+     *
+     * @param startInformation the problem
+     * @return the solutions, every one over all the variables of the problem
+     */
+    public static List<Map<String, String>> solutions(StartInformation startInformation) {
+        final List<Variable> variables = startInformation.variables().stream()
+                .sorted(Comparator.comparing(Variable::getName)).toList();
+        final List<Map<String, String>> solutions = new ArrayList<>();
+        assign(startInformation, variables, 0, new TreeMap<>(), solutions);
+        return solutions;
+    }
+
+    /**
+     * Checks whether the specified assignment gives a value of its domain to every variable of
+     * the problem and satisfies all its constraints.
+     *
+     * @param startInformation the problem
+     * @param solution the assignment
+     * @return <code>true</code> if the assignment is a solution, <code>false</code> otherwise
+     */
+    public static boolean isSolution(StartInformation startInformation, Map<String, String> solution) {
+        return solution.size() == startInformation.variables().size()
+                && startInformation.variables().stream()
+                .allMatch(variable -> variable.getDomain().contains(solution.get(variable.getName())))
+                && startInformation.constraints().stream().allMatch(constraint -> satisfies(constraint, solution));
+    }
+
+    private static void assign(StartInformation startInformation, List<Variable> variables, int index,
+                               Map<String, String> assignment, List<Map<String, String>> solutions) {
+        if (index == variables.size()) {
+            solutions.add(new TreeMap<>(assignment));
+            return;
+        }
+        final Variable variable = variables.get(index);
+        for (String value : variable.getDomain()) {
+            assignment.put(variable.getName(), value);
+            if (startInformation.constraints().stream().allMatch(constraint -> satisfies(constraint, assignment))) {
+                assign(startInformation, variables, index + 1, assignment, solutions);
+            }
+        }
+        assignment.remove(variable.getName());
+    }
+
+    /*
+     * Checks the constraint if all its variables are assigned.
+     */
+    private static boolean satisfies(Constraint constraint, Map<String, String> assignment) {
+        final List<String> tuple = new ArrayList<>();
+        for (String variable : constraint.getVariables()) {
+            final String value = assignment.get(variable);
+            if (value == null) {
+                return true;
+            }
+            tuple.add(value);
+        }
+        return constraint.getCompTuples().contains(tuple);
+    }
+}
@@ -0,0 +1,103 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.generator.ProblemGenerator;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.logic.csp.Variable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * It checks the assumption queries of compiled networks against the brute force on small random problems.
+ */
+class CompiledNetworkTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void assumptionQueriesMatchBruteForce() {
+        for (long seed = 0; seed < 20; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(
+                    ProblemGenerator.randomBinary(8, 3, 0.4, 0.4, seed));
+            final List<Map<String, String>> solutions = BruteForce.solutions(startInformation);
+            final CompiledNetwork network = CompiledNetwork.compile(startInformation, SolverControl.unbounded());
+            final Random random = new Random(seed);
+
+            assertEquals(!solutions.isEmpty(), network.satisfiable(), "seed " + seed);
+            for (int query = 0; query < 20; query++) {
+                final Map<String, Set<String>> assumptions = randomAssumptions(startInformation, random);
+                final Optional<Map<String, String>> solution = network.solve(assumptions);
+
+                assertEquals(solutions.stream().anyMatch(candidate -> satisfies(candidate, assumptions)),
+                        solution.isPresent(), "seed " + seed + " assumptions " + assumptions);
+                if (solution.isPresent()) {
+                    assertTrue(BruteForce.isSolution(startInformation, solution.get()), "seed " + seed);
+                    assertTrue(satisfies(solution.get(), assumptions), "seed " + seed);
+                }
+            }
+        }
+    }
+
+    @Test
+    void readNetworkAnswersLikeTheWrittenOne() throws IOException {
+        final StartInformation startInformation = StartInformation.buildStartInformation(
+                ProblemGenerator.grid(3, 3, 3, 0.4, 1));
+        final CompiledNetwork network = CompiledNetwork.compile(startInformation, SolverControl.unbounded());
+        final Path path = directory.resolve("network");
+
+        network.write(path);
+        final CompiledNetwork read = CompiledNetwork.read(path);
+
+        final Random random = new Random(1);
+        assertEquals(network.variableOrder(), read.variableOrder());
+        for (int query = 0; query < 20; query++) {
+            final Map<String, Set<String>> assumptions = randomAssumptions(startInformation, random);
+            final Optional<Map<String, String>> solution = read.solve(assumptions);
+
+            // the tuples may be read in another order, so the solutions found may differ
+            assertEquals(network.satisfiable(assumptions), solution.isPresent(), "assumptions " + assumptions);
+            if (solution.isPresent()) {
+                assertTrue(BruteForce.isSolution(startInformation, solution.get()), "assumptions " + assumptions);
+                assertTrue(satisfies(solution.get(), assumptions), "assumptions " + assumptions);
+            }
+        }
+    }
+
+    @Test
+    void unknownVariableIsRejected() {
+        final CompiledNetwork network = CompiledNetwork.compile(
+                StartInformation.buildStartInformation(ProblemGenerator.queens(4)), SolverControl.unbounded());
+
+        assertThrows(IllegalArgumentException.class, () -> network.solve(Map.of("unknown", Set.of("v0"))));
+    }
+
+    /*
+     * Allows a random subset of the values of one or two random variables.
+     */
+    private static Map<String, Set<String>> randomAssumptions(StartInformation startInformation, Random random) {
+        final List<Variable> variables = startInformation.variables().stream()
+                .sorted(Comparator.comparing(Variable::getName)).toList();
+        final Map<String, Set<String>> assumptions = new HashMap<>();
+        for (int i = 0; i <= random.nextInt(2); i++) {
+            final Variable variable = variables.get(random.nextInt(variables.size()));
+            final Set<String> values = new HashSet<>();
+            variable.getDomain().stream().sorted().forEach(value -> {
+                if (random.nextBoolean()) {
+                    values.add(value);
+                }
+            });
+            assumptions.put(variable.getName(), values);
+        }
+        return assumptions;
+    }
+
+    private static boolean satisfies(Map<String, String> solution, Map<String, Set<String>> assumptions) {
+        return assumptions.entrySet().stream()
+                .allMatch(assumption -> assumption.getValue().contains(solution.get(assumption.getKey())));
+    }
+}
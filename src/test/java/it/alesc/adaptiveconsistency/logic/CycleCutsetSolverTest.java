@@ -0,0 +1,67 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.generator.ProblemGenerator;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.logic.ordering.ConstraintGraph;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * It checks the conditioning on the cycle cutset against the brute force on small random problems.
+ */
+class CycleCutsetSolverTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void solutionMatchesBruteForce() {
+        for (long seed = 0; seed < 30; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(randomProblem(seed));
+            final CSPResolutionTracker tracker = new CycleCutsetSolver(executor, 2)
+                    .solve(startInformation, SolverControl.unbounded());
+
+            assertEquals(!BruteForce.solutions(startInformation).isEmpty(), tracker.hasSolution(), "seed " + seed);
+            if (tracker.hasSolution()) {
+                assertTrue(BruteForce.isSolution(startInformation, tracker.solution()), "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void removingTheCutsetLeavesAForest() {
+        for (long seed = 0; seed < 30; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(randomProblem(seed));
+            final Set<String> cutset = new HashSet<>(CycleCutsetSolver.cutset(startInformation).orElseThrow());
+            final var forest = new StartInformation(
+                    startInformation.variables().stream()
+                            .filter(variable -> !cutset.contains(variable.getName()))
+                            .collect(Collectors.toSet()),
+                    startInformation.constraints().stream()
+                            .filter(constraint -> constraint.getVariables().stream().noneMatch(cutset::contains))
+                            .collect(Collectors.toSet()),
+                    startInformation.variableOrder().stream().filter(name -> !cutset.contains(name)).toList());
+
+            assertTrue(ConstraintGraph.of(forest).isForest(), "seed " + seed);
+        }
+    }
+
+    private static ProblemSpecification randomProblem(long seed) {
+        return seed % 2 == 0
+                ? ProblemGenerator.randomBinary(8, 3, 0.4, 0.4, seed)
+                : ProblemGenerator.grid(3, 3, 3, 0.4, seed);
+    }
+}
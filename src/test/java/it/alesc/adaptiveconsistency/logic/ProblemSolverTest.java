@@ -0,0 +1,141 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.generator.ProblemGenerator;
+import it.alesc.adaptiveconsistency.logic.csp.*;
+import it.alesc.adaptiveconsistency.logic.mdd.MddRelation;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * It checks the bucket elimination against the brute force on small random problems.
+ */
+class ProblemSolverTest {
+
+    @Test
+    void decisionDiagramsMatchBruteForce() {
+        for (long seed = 0; seed < 30; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(randomProblem(seed));
+            final CSPResolutionTracker tracker = ProblemSolver.solveProblem(startInformation,
+                    SolverOptions.exact().withRelations(RelationFormat.DECISION_DIAGRAM), SolverControl.unbounded());
+
+            assertEquals(!BruteForce.solutions(startInformation).isEmpty(), tracker.hasSolution(), "seed " + seed);
+            if (tracker.hasSolution()) {
+                assertTrue(BruteForce.isSolution(startInformation, tracker.solution()), "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void miniBucketsNeverLoseSolutions() {
+        for (long seed = 0; seed < 30; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(randomProblem(seed));
+            final boolean satisfiable = !BruteForce.solutions(startInformation).isEmpty();
+            for (int iBound = 1; iBound <= 3; iBound++) {
+                final CSPResolutionTracker tracker = ProblemSolver.solveProblem(startInformation,
+                        SolverOptions.miniBuckets(iBound), SolverControl.unbounded());
+
+                // a problem found unsatisfiable has no solution, a solution found is a solution
+                if (!tracker.hasSolution()) {
+                    assertFalse(satisfiable, "seed " + seed + " i-bound " + iBound);
+                } else if (tracker.solution() != null) {
+                    assertTrue(BruteForce.isSolution(startInformation, tracker.solution()),
+                            "seed " + seed + " i-bound " + iBound);
+                }
+                if (tracker.exact()) {
+                    assertEquals(satisfiable, tracker.solution() != null, "seed " + seed + " i-bound " + iBound);
+                }
+            }
+        }
+    }
+
+    @Test
+    void decisionDiagramBucketsReceiveDiagramProjections() {
+        final StartInformation startInformation = StartInformation.buildStartInformation(ProblemGenerator.queens(8));
+        final CSPResolutionTracker tracker = ProblemSolver.solveProblem(startInformation,
+                SolverOptions.exact().withRelations(RelationFormat.DECISION_DIAGRAM), SolverControl.unbounded());
+
+        assertTrue(BruteForce.isSolution(startInformation, tracker.solution()));
+        final List<Constraint> projections = tracker.iterations().get(0).updatedCSP().constraints().stream()
+                .filter(constraint -> constraint.getVariables().size() > 2).toList();
+        assertFalse(projections.isEmpty());
+        projections.forEach(projection -> assertInstanceOf(MddRelation.class, projection.getCompTuples()));
+    }
+
+    @Test
+    void optimizationMatchesBruteForce() {
+        for (long seed = 0; seed < 30; seed++) {
+            final WeightedCSP problem = WeightedCSP.of(randomWeightedProblem(seed));
+            final OptimizationResult result = ProblemSolver.optimize(problem);
+
+            final Long minimum = minimumCost(problem, new ArrayList<>(problem.variables()), 0, new HashMap<>());
+            assertEquals(minimum, result.cost(), "seed " + seed);
+            if (result.hasSolution()) {
+                assertEquals(result.cost(), cost(problem, result.solution()), "seed " + seed);
+            }
+        }
+    }
+
+    private static ProblemSpecification randomProblem(long seed) {
+        return switch ((int) (seed % 3)) {
+            case 0 -> ProblemGenerator.randomBinary(8, 3, 0.5, 0.4, seed);
+            case 1 -> ProblemGenerator.graphColouring(8, 3, 0.4, seed);
+            default -> ProblemGenerator.grid(3, 3, 3, 0.4, seed);
+        };
+    }
+
+    /*
+     * Makes some constraints soft and gives random costs to some pairs of values.
+     */
+    private static ProblemSpecification randomWeightedProblem(long seed) {
+        final ProblemSpecification specification = ProblemGenerator.randomBinary(7, 3, 0.5, 0.4, seed);
+        final Random random = new Random(seed);
+        for (var constraint : specification.getConstraints()) {
+            if (random.nextBoolean()) {
+                constraint.setWeight((long) random.nextInt(5));
+            }
+            final Map<String, Map<String, Long>> costTable = new HashMap<>();
+            for (int i = 0; i < 3; i++) {
+                costTable.computeIfAbsent("v" + random.nextInt(3), value -> new HashMap<>())
+                        .put("v" + random.nextInt(3), (long) random.nextInt(4));
+            }
+            constraint.setCostTable(costTable);
+        }
+        return specification;
+    }
+
+    private static Long minimumCost(WeightedCSP problem, List<Variable> variables, int index,
+                                    Map<String, String> assignment) {
+        if (index == variables.size()) {
+            return cost(problem, assignment);
+        }
+        Long minimum = null;
+        for (String value : variables.get(index).getDomain()) {
+            assignment.put(variables.get(index).getName(), value);
+            final Long cost = minimumCost(problem, variables, index + 1, assignment);
+            if (cost != null && (minimum == null || cost < minimum)) {
+                minimum = cost;
+            }
+        }
+        assignment.remove(variables.get(index).getName());
+        return minimum;
+    }
+
+    /*
+     * Returns the cost of the assignment or null if a function does not allow it.
+     */
+    private static Long cost(WeightedCSP problem, Map<String, String> assignment) {
+        long total = 0;
+        for (CostFunction function : problem.functions()) {
+            final Long cost = function.costs().get(function.variables().stream().map(assignment::get).toList());
+            if (cost == null) {
+                return null;
+            }
+            total += cost;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,78 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.generator.ProblemGenerator;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * It checks the counts and the samples of the solutions against the brute force on small random problems.
+ */
+class SolutionSamplerTest {
+
+    @Test
+    void solutionCountMatchesBruteForce() {
+        for (long seed = 0; seed < 20; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(randomProblem(seed));
+            final SolutionSampler sampler = SolutionSampler.of(
+                    CompiledNetwork.compile(startInformation, SolverControl.unbounded()));
+
+            assertEquals(BigInteger.valueOf(BruteForce.solutions(startInformation).size()), sampler.solutionCount(),
+                    "seed " + seed);
+        }
+    }
+
+    @Test
+    void samplesAreUniformOverTheSolutions() {
+        for (long seed = 0; seed < 20; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(randomProblem(seed));
+            final List<Map<String, String>> solutions = BruteForce.solutions(startInformation);
+            if (solutions.isEmpty() || solutions.size() > 50) {
+                continue;
+            }
+            final int sampleCount = 1000 * solutions.size();
+            final Map<Map<String, String>, Long> frequencies = SolutionSampler.of(
+                            CompiledNetwork.compile(startInformation, SolverControl.unbounded()))
+                    .samples(sampleCount, seed).stream()
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+            // about 1000 draws each, whose standard deviation is about 32
+            assertEquals(new HashSet<>(solutions), frequencies.keySet(), "seed " + seed);
+            for (long frequency : frequencies.values()) {
+                assertTrue(frequency > 800 && frequency < 1200, "seed " + seed + " frequency " + frequency);
+            }
+        }
+    }
+
+    @Test
+    void samplesDependOnlyOnTheSeed() {
+        final SolutionSampler sampler = SolutionSampler.of(CompiledNetwork.compile(
+                StartInformation.buildStartInformation(ProblemGenerator.queens(5)), SolverControl.unbounded()));
+
+        assertEquals(sampler.samples(100, 7), sampler.samples(100, 7));
+    }
+
+    @Test
+    void unsatisfiableProblemHasNoSample() {
+        final SolutionSampler sampler = SolutionSampler.of(CompiledNetwork.compile(
+                StartInformation.buildStartInformation(ProblemGenerator.graphColouring(5, 2, 1, 0)),
+                SolverControl.unbounded()));
+
+        assertEquals(BigInteger.ZERO, sampler.solutionCount());
+        assertEquals(Optional.empty(), sampler.sample(new Random(0)));
+        assertTrue(sampler.samples(10, 0).isEmpty());
+    }
+
+    private static ProblemSpecification randomProblem(long seed) {
+        return seed % 2 == 0
+                ? ProblemGenerator.randomBinary(7, 3, 0.4, 0.4, seed)
+                : ProblemGenerator.tree(7, 3, 0.5, seed);
+    }
+}
@@ -0,0 +1,62 @@
+package it.alesc.adaptiveconsistency.logic;
+
+import it.alesc.adaptiveconsistency.generator.ProblemGenerator;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * It checks the tree engine against the brute force on small random trees.
+ */
+class TreeSolverTest {
+
+    @Test
+    void solutionMatchesBruteForce() {
+        for (long seed = 0; seed < 30; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(
+                    ProblemGenerator.tree(9, 3, 0.5, seed));
+            final List<String> ordering = TreeSolver.treeOrdering(startInformation).orElseThrow();
+            final CSPResolutionTracker tracker = TreeSolver.solve(startInformation, ordering,
+                    SolverControl.unbounded());
+
+            assertEquals(!BruteForce.solutions(startInformation).isEmpty(), tracker.hasSolution(), "seed " + seed);
+            if (tracker.hasSolution()) {
+                assertTrue(BruteForce.isSolution(startInformation, tracker.solution()), "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void shuffledTreeIsReordered() {
+        for (long seed = 0; seed < 10; seed++) {
+            final StartInformation tree = StartInformation.buildStartInformation(
+                    ProblemGenerator.tree(9, 3, 0.5, seed));
+            final List<String> shuffled = new ArrayList<>(tree.variableOrder());
+            Collections.shuffle(shuffled, new Random(seed));
+            final var startInformation = new StartInformation(tree.variables(), tree.constraints(), shuffled);
+            final List<String> ordering = TreeSolver.treeOrdering(startInformation).orElseThrow();
+            final CSPResolutionTracker tracker = TreeSolver.solve(startInformation, ordering,
+                    SolverControl.unbounded());
+
+            assertEquals(!BruteForce.solutions(startInformation).isEmpty(), tracker.hasSolution(), "seed " + seed);
+            if (tracker.hasSolution()) {
+                assertTrue(BruteForce.isSolution(startInformation, tracker.solution()), "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void graphWithCyclesHasNoTreeOrdering() {
+        final StartInformation startInformation = StartInformation.buildStartInformation(ProblemGenerator.queens(4));
+
+        assertEquals(Optional.empty(), TreeSolver.treeOrdering(startInformation));
+    }
+}
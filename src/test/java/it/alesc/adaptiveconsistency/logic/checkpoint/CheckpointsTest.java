@@ -0,0 +1,55 @@
+package it.alesc.adaptiveconsistency.logic.checkpoint;
+
+import it.alesc.adaptiveconsistency.generator.ProblemGenerator;
+import it.alesc.adaptiveconsistency.logic.BruteForce;
+import it.alesc.adaptiveconsistency.logic.ProblemSolver;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.ResolutionStatus;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * It checks the resolutions resumed from their checkpoints against the brute force.
+ */
+class CheckpointsTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void resumedResolutionMatchesBruteForce() throws IOException {
+        for (long seed = 0; seed < 10; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(
+                    ProblemGenerator.grid(3, 3, 3, 0.4, seed));
+            final Path checkpoint = directory.resolve("resolution-" + seed);
+            final SolverControl control = SolverControl.unbounded();
+            control.onStep((previous, current) -> control.cancel());
+
+            final CSPResolutionTracker stopped = Checkpoints.solve(startInformation, checkpoint, control);
+            final CSPResolutionTracker tracker = Checkpoints.resume(checkpoint, SolverControl.unbounded());
+
+            assertEquals(ResolutionStatus.CANCELLED, stopped.status(), "seed " + seed);
+            assertEquals(!BruteForce.solutions(startInformation).isEmpty(), tracker.hasSolution(), "seed " + seed);
+            if (tracker.hasSolution()) {
+                assertTrue(BruteForce.isSolution(startInformation, tracker.solution()), "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void controlIsReusableAfterTheResolution() throws IOException {
+        final StartInformation startInformation = StartInformation.buildStartInformation(ProblemGenerator.queens(5));
+        final SolverControl control = SolverControl.unbounded();
+
+        Checkpoints.solve(startInformation, directory.resolve("resolution"), control);
+        final CSPResolutionTracker tracker = ProblemSolver.solveProblem(startInformation, control);
+
+        assertTrue(BruteForce.isSolution(startInformation, tracker.solution()));
+    }
+}
@@ -0,0 +1,141 @@
+package it.alesc.adaptiveconsistency.logic.mdd;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * It checks the operations on decision diagrams against the same operations on sets of tuples.
+ */
+class MddRelationTest {
+
+    @Test
+    void operationsMatchSets() {
+        final var random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            final int arity = 1 + random.nextInt(4);
+            final int domainSize = 1 + random.nextInt(3);
+            final Set<List<String>> first = randomTuples(random, arity, domainSize);
+            final Set<List<String>> second = randomTuples(random, arity, domainSize);
+            final MddRelation firstDiagram = MddRelation.of(first, arity);
+            final MddRelation secondDiagram = MddRelation.of(second, arity);
+
+            final Set<List<String>> and = new HashSet<>(first);
+            and.retainAll(second);
+            final Set<List<String>> or = new HashSet<>(first);
+            or.addAll(second);
+            final int position = random.nextInt(arity);
+            final Set<List<String>> projection = new HashSet<>();
+            first.forEach(tuple -> {
+                final List<String> projected = new ArrayList<>(tuple);
+                projected.remove(position);
+                projection.add(projected);
+            });
+
+            assertEquals(first, new HashSet<>(firstDiagram));
+            assertEquals(and, new HashSet<>(firstDiagram.and(secondDiagram)));
+            assertEquals(or, new HashSet<>(firstDiagram.or(secondDiagram)));
+            assertEquals(projection, new HashSet<>(firstDiagram.project(position)));
+        }
+    }
+
+    @Test
+    void hashCodeAndEqualsMatchSets() {
+        final var random = new Random(2);
+        for (int i = 0; i < 200; i++) {
+            final int arity = random.nextInt(4);
+            final Set<List<String>> tuples = randomTuples(random, arity, 1 + random.nextInt(3));
+            final MddRelation diagram = MddRelation.of(tuples, arity);
+            final MddRelation other = MddRelation.of(new ArrayList<>(tuples), arity);
+
+            assertEquals(tuples.hashCode(), diagram.hashCode());
+            assertEquals(tuples, diagram);
+            assertEquals(diagram, tuples);
+            assertEquals(diagram, other);
+            if (!tuples.isEmpty()) {
+                final Set<List<String>> fewer = new HashSet<>(tuples);
+                fewer.remove(tuples.iterator().next());
+                assertNotEquals(diagram, MddRelation.of(fewer, arity));
+            }
+        }
+    }
+
+    @Test
+    void extendedDiagramMatchesExtendedTuples() {
+        final var random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            final int arity = 1 + random.nextInt(3);
+            final int domainSize = 1 + random.nextInt(3);
+            final Set<List<String>> tuples = randomTuples(random, arity, domainSize);
+            final List<String> scope = IntStream.range(0, arity).mapToObj(index -> "x" + index).toList();
+            final List<String> variables = new ArrayList<>(scope);
+            variables.add(random.nextInt(variables.size() + 1), "y");
+            final List<Set<String>> domains = variables.stream()
+                    .map(variable -> randomDomain(random, domainSize)).toList();
+
+            final MddRelation fromDiagram = MddRelation.extend(MddRelation.of(tuples, arity), scope, variables,
+                    domains);
+            final MddRelation fromTuples = MddRelation.extend(tuples, scope, variables, domains);
+
+            assertEquals(new HashSet<>(fromTuples), new HashSet<>(fromDiagram));
+            assertEquals(fromTuples, fromDiagram);
+        }
+    }
+
+    @Test
+    void largeDiagramsAreNeverEnumerated() {
+        final List<String> values = IntStream.range(0, 10).mapToObj(value -> "v" + value).toList();
+        final List<String> variables = IntStream.range(0, 17).mapToObj(index -> "x" + index).toList();
+        final List<Set<String>> domains = variables.stream().map(variable -> Set.copyOf(values)).toList();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            // 10^15 tuples over the 17 variables
+            final MddRelation diagram = MddRelation.extend(Set.of(List.of("v0", "v1")), List.of("x0", "x1"),
+                    variables, domains);
+            final List<String> wider = new ArrayList<>(variables);
+            wider.add("y");
+            final MddRelation extended = MddRelation.extend(diagram, variables, wider,
+                    withDomain(domains, Set.of("a", "b")));
+            final MddRelation same = MddRelation.extend(Set.of(List.of("v0", "v1")), List.of("x0", "x1"), wider,
+                    withDomain(domains, Set.of("a", "b")));
+
+            assertEquals(18, extended.nodeCount());
+            assertEquals(same, extended);
+            assertEquals(same.hashCode(), extended.hashCode());
+            assertEquals(1, new HashSet<>(List.of(same, extended)).size());
+        });
+    }
+
+    private static Set<List<String>> randomTuples(Random random, int arity, int domainSize) {
+        final Set<List<String>> tuples = new HashSet<>();
+        final int count = (int) Math.pow(domainSize, arity);
+        for (int index = 0; index < count; index++) {
+            if (random.nextBoolean()) {
+                final List<String> tuple = new ArrayList<>();
+                int rest = index;
+                for (int position = 0; position < arity; position++) {
+                    tuple.add("v" + rest % domainSize);
+                    rest /= domainSize;
+                }
+                tuples.add(tuple);
+            }
+        }
+        return tuples;
+    }
+
+    private static List<Set<String>> withDomain(List<Set<String>> domains, Set<String> domain) {
+        final List<Set<String>> extended = new ArrayList<>(domains);
+        extended.add(domain);
+        return extended;
+    }
+
+    private static Set<String> randomDomain(Random random, int domainSize) {
+        final Set<String> domain = new HashSet<>();
+        IntStream.range(0, domainSize).filter(value -> random.nextInt(5) > 0).forEach(value -> domain.add("v" + value));
+        return domain;
+    }
+}
@@ -0,0 +1,51 @@
+package it.alesc.adaptiveconsistency.logic.portfolio;
+
+import it.alesc.adaptiveconsistency.generator.ProblemGenerator;
+import it.alesc.adaptiveconsistency.logic.BruteForce;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * It checks the race of the orderings against the brute force on small random problems.
+ */
+class PortfolioSolverTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void solutionMatchesBruteForce() {
+        for (long seed = 0; seed < 20; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(
+                    ProblemGenerator.randomBinary(8, 3, 0.5, 0.4, seed));
+            final CSPResolutionTracker tracker = new PortfolioSolver(executor, PortfolioSolver.UNLIMITED_MEMORY)
+                    .solve(startInformation, SolverControl.unbounded()).tracker();
+
+            assertEquals(!BruteForce.solutions(startInformation).isEmpty(), tracker.hasSolution(), "seed " + seed);
+            if (tracker.hasSolution()) {
+                assertTrue(BruteForce.isSolution(startInformation, tracker.solution()), "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void emptyPortfolioIsRejected() {
+        final StartInformation startInformation = StartInformation.buildStartInformation(ProblemGenerator.queens(4));
+        final var solver = new PortfolioSolver(executor, PortfolioSolver.UNLIMITED_MEMORY);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> solver.solveAsync(startInformation, List.of(), SolverControl.unbounded()));
+    }
+}
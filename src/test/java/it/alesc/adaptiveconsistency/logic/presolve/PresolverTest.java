@@ -0,0 +1,141 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import it.alesc.adaptiveconsistency.logic.BruteForce;
+import it.alesc.adaptiveconsistency.logic.ProblemSolver;
+import it.alesc.adaptiveconsistency.logic.SolverControl;
+import it.alesc.adaptiveconsistency.logic.SolverOptions;
+import it.alesc.adaptiveconsistency.logic.csp.CSPResolutionTracker;
+import it.alesc.adaptiveconsistency.logic.csp.StartInformation;
+import it.alesc.adaptiveconsistency.specification.Constraint;
+import it.alesc.adaptiveconsistency.specification.Operator;
+import it.alesc.adaptiveconsistency.specification.ProblemSpecification;
+import it.alesc.adaptiveconsistency.specification.Variable;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * It checks the presolved resolution against the brute force on small random problems.
+ */
+class PresolverTest {
+
+    @Test
+    void solutionMatchesBruteForce() {
+        for (long seed = 0; seed < 50; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(randomProblem(seed));
+            final CSPResolutionTracker tracker = Presolver.defaults().solve(startInformation, SolverControl.unbounded());
+
+            assertEquals(!BruteForce.solutions(startInformation).isEmpty(), tracker.solution() != null, "seed " + seed);
+            if (tracker.solution() != null) {
+                assertTrue(BruteForce.isSolution(startInformation, tracker.solution()), "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void expandedSolutionsAreDistinctSolutions() {
+        for (long seed = 0; seed < 50; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(randomProblem(seed));
+            final List<Map<String, String>> solutions = Presolver.defaults()
+                    .solutions(startInformation, SolverControl.unbounded()).toList();
+
+            final Set<Map<String, String>> expected = new HashSet<>(BruteForce.solutions(startInformation));
+            assertEquals(solutions.size(), new HashSet<>(solutions).size(), "seed " + seed);
+            assertTrue(expected.containsAll(solutions), "seed " + seed);
+        }
+    }
+
+    @Test
+    void presolveOptionMatchesBruteForce() {
+        for (long seed = 0; seed < 50; seed++) {
+            final StartInformation startInformation = StartInformation.buildStartInformation(randomProblem(seed));
+            final CSPResolutionTracker tracker = ProblemSolver.solveProblem(startInformation,
+                    SolverOptions.exact().withPresolve(true), SolverControl.unbounded());
+
+            assertEquals(!BruteForce.solutions(startInformation).isEmpty(), tracker.solution() != null, "seed " + seed);
+            if (tracker.solution() != null) {
+                assertTrue(BruteForce.isSolution(startInformation, tracker.solution()), "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void longChainOfSingletonsIsPropagated() {
+        final List<Variable> variables = new ArrayList<>();
+        final List<Constraint> constraints = new ArrayList<>();
+        final List<String> order = new ArrayList<>();
+        variables.add(new Variable("x0", Set.of("a")));
+        order.add("x0");
+        for (int i = 1; i < 20_000; i++) {
+            variables.add(new Variable("x" + i, Set.of("a", "b")));
+            constraints.add(new Constraint("x" + (i - 1), "x" + i, Operator.NOT_EQUALS));
+            order.add("x" + i);
+        }
+        final StartInformation startInformation = StartInformation.buildStartInformation(
+                new ProblemSpecification(variables, constraints, order));
+
+        final PresolveResult result = new SingletonPropagation().apply(startInformation);
+
+        assertTrue(result.reduced().variables().isEmpty());
+        assertTrue(result.reduced().constraints().isEmpty());
+        final Map<String, String> solution = result.mapper().map(Map.of());
+        assertTrue(BruteForce.isSolution(startInformation, solution));
+    }
+
+    @Test
+    void manyInterchangeableVariablesAreSolved() {
+        final List<Variable> variables = new ArrayList<>();
+        final List<Constraint> constraints = new ArrayList<>();
+        final List<String> order = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            variables.add(new Variable("x" + i, Set.of("a", "b")));
+            variables.add(new Variable("y" + i, Set.of("c", "d", "e")));
+            constraints.add(new Constraint("x" + i, "y" + i, Operator.NOT_EQUALS));
+            order.addAll(List.of("x" + i, "y" + i));
+        }
+        final StartInformation startInformation = StartInformation.buildStartInformation(
+                new ProblemSpecification(variables, constraints, order));
+
+        final CSPResolutionTracker tracker = Presolver.defaults().solve(startInformation, SolverControl.unbounded());
+        final List<Map<String, String>> solutions = Presolver.defaults()
+                .solutions(startInformation, SolverControl.unbounded()).limit(10).toList();
+
+        assertTrue(BruteForce.isSolution(startInformation, tracker.solution()));
+        assertEquals(10, solutions.size());
+        solutions.forEach(solution -> assertTrue(BruteForce.isSolution(startInformation, solution)));
+    }
+
+    /*
+     * Mixes equalities, differences, single-valued and disjoint domains, so that every step of the
+     * presolver has something to reduce.
+     */
+    private static ProblemSpecification randomProblem(long seed) {
+        final Random random = new Random(seed);
+        final List<String> values = List.of("a", "b", "c", "d");
+        final List<Variable> variables = new ArrayList<>();
+        final List<String> order = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            final Set<String> domain = new TreeSet<>();
+            values.forEach(value -> {
+                if (random.nextDouble() < 0.6) {
+                    domain.add(value);
+                }
+            });
+            domain.add(values.get(random.nextInt(values.size())));
+            variables.add(new Variable("v" + i, domain));
+            order.add("v" + i);
+        }
+        final List<Constraint> constraints = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            for (int j = i + 1; j < 7; j++) {
+                if (random.nextDouble() < 0.3) {
+                    constraints.add(new Constraint("v" + i, "v" + j,
+                            random.nextDouble() < 0.3 ? Operator.EQUALS : Operator.NOT_EQUALS));
+                }
+            }
+        }
+        return new ProblemSpecification(variables, constraints, order);
+    }
+}
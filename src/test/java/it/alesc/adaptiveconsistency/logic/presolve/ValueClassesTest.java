@@ -0,0 +1,55 @@
+package it.alesc.adaptiveconsistency.logic.presolve;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * It checks the enumeration of the solutions represented by the classes of interchangeable values.
+ */
+class ValueClassesTest {
+
+    @Test
+    void solutionsAreEveryCombinationOfTheClasses() {
+        final ValueClasses classes = new ValueClasses(Map.of(
+                "x", Map.of("a", new LinkedHashSet<>(List.of("a", "b"))),
+                "y", Map.of("c", new LinkedHashSet<>(List.of("c", "d", "e")))));
+
+        final Set<Map<String, String>> solutions = classes.solutions(Map.of("x", "a", "y", "c", "z", "f"))
+                .collect(Collectors.toSet());
+
+        final Set<Map<String, String>> expected = new HashSet<>();
+        for (String x : List.of("a", "b")) {
+            for (String y : List.of("c", "d", "e")) {
+                expected.add(Map.of("x", x, "y", y, "z", "f"));
+            }
+        }
+        assertEquals(expected, solutions);
+    }
+
+    @Test
+    void solutionWithoutClassesIsItself() {
+        assertEquals(List.of(Map.of("x", "a")), ValueClasses.NONE.solutions(Map.of("x", "a")).toList());
+    }
+
+    @Test
+    void manyClassesAreEnumeratedLazily() {
+        final Map<String, Map<String, Set<String>>> variableClasses = new HashMap<>();
+        final Map<String, String> solution = new HashMap<>();
+        IntStream.range(0, 4000).forEach(i -> {
+            variableClasses.put("x" + i, Map.of("a", new LinkedHashSet<>(List.of("a", "b"))));
+            solution.put("x" + i, "a");
+        });
+
+        final List<Map<String, String>> solutions = new ValueClasses(variableClasses).solutions(solution)
+                .limit(100).toList();
+
+        assertEquals(100, solutions.size());
+        assertEquals(100, new HashSet<>(solutions).size());
+        assertEquals(solution, solutions.get(0));
+    }
+}
@@ -0,0 +1,134 @@
+package it.alesc.adaptiveconsistency.server;
+
+import com.google.gson.Gson;
+import it.alesc.adaptiveconsistency.generator.ProblemGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * It checks the responses of the solve server on localhost, with a single solve slot
+ * and no queue.
+ */
+class SolveServerTest {
+    private static final String SMALL_PROBLEM = new Gson().toJson(ProblemGenerator.queens(4));
+    private static final String LARGE_PROBLEM = new Gson().toJson(ProblemGenerator.queens(10));
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private SolveServer server;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new SolveServer(new SolveServerConfiguration("localhost", 0, 1, 0, Duration.ofSeconds(2)));
+        address = server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(Duration.ZERO);
+    }
+
+    @Test
+    void solvesValidProblem() throws Exception {
+        final HttpResponse<String> response = post("", SMALL_PROBLEM);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"solution\""), response.body());
+    }
+
+    @Test
+    void solvesPresolvedProblem() throws Exception {
+        final HttpResponse<String> response = post("?presolve=true", SMALL_PROBLEM);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"solution\""), response.body());
+    }
+
+    @Test
+    void rejectsInvalidJson() throws Exception {
+        assertEquals(400, post("", "{").statusCode());
+    }
+
+    @Test
+    void rejectsVariableWithoutDomain() throws Exception {
+        final String body = """
+                {"variables": [{"name": "x"}, {"name": "y", "domainValues": ["a"]}],
+                 "constraints": [{"firstVariable": "x", "secondVariable": "y", "operator": "EQUALS"}],
+                 "variableOrder": ["x", "y"]}""";
+
+        final HttpResponse<String> response = post("", body);
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("x"), response.body());
+    }
+
+    @Test
+    void rejectsConstraintWithoutOperator() throws Exception {
+        final String body = """
+                {"variables": [{"name": "x", "domainValues": ["a"]}, {"name": "y", "domainValues": ["a"]}],
+                 "constraints": [{"firstVariable": "x", "secondVariable": "y", "operator": null}],
+                 "variableOrder": ["x", "y"]}""";
+
+        assertEquals(400, post("", body).statusCode());
+    }
+
+    @Test
+    void rejectsInvalidIBound() throws Exception {
+        assertEquals(400, post("?iBound=0", SMALL_PROBLEM).statusCode());
+        assertEquals(400, post("?iBound=two", SMALL_PROBLEM).statusCode());
+    }
+
+    @Test
+    void rejectsRequestsBeyondTheSlotsAndTimesOutTheLongOnes() throws Exception {
+        final CompletableFuture<HttpResponse<String>> longRequest = client.sendAsync(
+                request("", LARGE_PROBLEM), HttpResponse.BodyHandlers.ofString());
+        awaitMetric("solve_slots_available 0");
+
+        assertEquals(503, post("", SMALL_PROBLEM).statusCode());
+        assertEquals(504, longRequest.get().statusCode());
+
+        // the slot is given back only when the stopped resolution ends
+        awaitMetric("solve_slots_available 1");
+        assertEquals(200, post("", SMALL_PROBLEM).statusCode());
+    }
+
+    private HttpResponse<String> post(String query, String body) throws IOException, InterruptedException {
+        return client.send(request(query, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request(String query, String body) {
+        return HttpRequest.newBuilder(uri("/solve" + query))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void awaitMetric(String line) throws IOException, InterruptedException {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            final String metrics = client.send(HttpRequest.newBuilder(uri("/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            if (metrics.contains(line + "\n")) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("The metrics never reported " + line);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + path);
+    }
+}